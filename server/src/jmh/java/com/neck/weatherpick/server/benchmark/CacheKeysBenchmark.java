@@ -0,0 +1,40 @@
+package com.neck.weatherpick.server.benchmark;
+
+import com.neck.weatherpick.server.cache.CacheKeys;
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import com.neck.weatherpick.server.dto.WeatherNowResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐시 Key 생성(캐시 조회마다 1번 호출)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class CacheKeysBenchmark {
+	private final KmaGridPoint p = new KmaGridPoint(60, 127);
+	private final WeatherNowResponse weather = new WeatherNowResponse("서울특별시 종로구", null,
+			-8.4, 0, 44, 2.5, "NONE", "CLEAR", "202602021200", "202602021130", false);
+
+	@Benchmark
+	public String aiKey() {
+		return CacheKeys.aiKey(weather);
+	}
+
+	@Benchmark
+	public String kmaKey() {
+		return CacheKeys.kmaKey("20260202", "1200", p);
+	}
+
+	@Benchmark
+	public String kmaSnapshotKey() {
+		return CacheKeys.kmaSnapshotKey(Fixtures.NCST_BASE, Fixtures.FCST_BASE, p);
+	}
+
+	@Benchmark
+	public String kakaoCoordToAddressKey() {
+		return CacheKeys.kakaoCoordToAddressKey(126.9780, 37.5665);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.neck.weatherpick.server.benchmark;
+
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.*;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.*;
+import com.neck.weatherpick.server.client.kma.support.KmaTime;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 벤치마크 공통 입력 데이터(실제 API 응답과 같은 모양)
+ */
+final class Fixtures {
+	static final LocalDateTime NOW = LocalDateTime.parse("2026-02-02T12:41");
+	static final KmaTime.BaseDt NCST_BASE = new KmaTime.BaseDt("20260202", "1200");
+	static final KmaTime.BaseDt FCST_BASE = new KmaTime.BaseDt("20260202", "1130");
+
+	private static final String[] NCST_CATEGORIES = {"T1H", "RN1", "UUU", "VVV", "REH", "PTY", "VEC", "WSD"};
+	private static final String[] FCST_CATEGORIES = {"LGT", "PTY", "RN1", "SKY", "T1H", "REH", "UUU", "VVV", "VEC", "WSD"};
+
+	private Fixtures() {}
+
+	/*
+		Jackson은 값 문자열을 intern하지 않으므로, 항목마다 새 String을 만든다.(리터럴을 그대로 쓰면 메모리 측정이 실제보다 작게 나옴)
+	*/
+	static NcstResponse ncst() {
+		List<NcstItem> items = new ArrayList<>();
+		for(String category : NCST_CATEGORIES) {
+			String value = switch(category) {
+				case "T1H" -> "-8.4";
+				case "REH" -> "44";
+				case "WSD" -> "2.5";
+				default -> "0";
+			};
+			items.add(new NcstItem(new String(category), new String(value), new String(NCST_BASE.baseDate()), new String(NCST_BASE.baseTime())));
+		}
+		return new NcstResponse(new NcstInnerResponse(new NcstBody(new NcstItems(items))));
+	}
+
+	// 10개 항목 x 6시간 = 60개
+	static FcstResponse fcst() {
+		DateTimeFormatter dateFmt = DateTimeFormatter.ofPattern("yyyyMMdd");
+		DateTimeFormatter timeFmt = DateTimeFormatter.ofPattern("HHmm");
+		LocalDateTime first = LocalDateTime.parse("2026-02-02T12:00");
+
+		List<FcstItem> items = new ArrayList<>();
+		for(String category : FCST_CATEGORIES) {
+			for(int h = 0; h < 6; h++) {
+				LocalDateTime dt = first.plusHours(h);
+				String value = "SKY".equals(category) ? (h < 3 ? "1" : "3") : "0";
+				items.add(new FcstItem(new String(category), new String(value), dt.format(dateFmt), dt.format(timeFmt),
+						new String(FCST_BASE.baseDate()), new String(FCST_BASE.baseTime())));
+			}
+		}
+		return new FcstResponse(new FcstInnerResponse(new FcstBody(new FcstItems(items))));
+	}
+
+	// 국내(위도 33 ~ 38.5, 경도 125 ~ 129.5) 임의 좌표
+	static double[][] coordinates(int n) {
+		SplittableRandom random = new SplittableRandom(42);
+		double[] lons = new double[n], lats = new double[n];
+		for(int i = 0; i < n; i++) {
+			lons[i] = 125.0 + random.nextDouble() * 4.5;
+			lats[i] = 33.0 + random.nextDouble() * 5.5;
+		}
+		return new double[][] {lons, lats};
+	}
+}
\ No newline at end of file
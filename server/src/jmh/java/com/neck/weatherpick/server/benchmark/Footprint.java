@@ -0,0 +1,32 @@
+package com.neck.weatherpick.server.benchmark;
+
+import com.neck.weatherpick.server.client.geo.RegionGazetteer;
+import com.neck.weatherpick.server.client.kma.KmaGridPopularity;
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.FcstResponse;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.NcstResponse;
+import com.neck.weatherpick.server.client.kma.support.KmaGridTable;
+import com.neck.weatherpick.server.service.WeatherSnapshot;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * <h5>주요 자료 구조의 힙 사용량(객체 그래프 전체, JOL)</h5>
+ * <pre>./gradlew jmhFootprint</pre>
+ */
+public class Footprint {
+	public static void main(String[] args) {
+		NcstResponse ncst = Fixtures.ncst();
+		FcstResponse fcst = Fixtures.fcst();
+		WeatherSnapshot snapshot = WeatherSnapshot.of(Fixtures.NCST_BASE, ncst, Fixtures.FCST_BASE, fcst);
+
+		print("kmaNcst 캐시 값(NcstResponse)", ncst);
+		print("kmaFcst 캐시 값(FcstResponse)", fcst);
+		print("kmaSnapshot 캐시 값(WeatherSnapshot)", snapshot);
+		print("RegionGazetteer", new RegionGazetteer());
+		print("KmaGridTable", KmaGridTable.get());
+		print("KmaGridPopularity", new KmaGridPopularity());
+	}
+
+	private static void print(String name, Object root) {
+		System.out.printf("%-40s %,12d bytes%n", name, GraphLayout.parseInstance(root).totalSize());
+	}
+}
\ No newline at end of file
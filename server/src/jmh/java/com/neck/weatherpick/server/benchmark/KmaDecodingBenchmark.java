@@ -0,0 +1,79 @@
+package com.neck.weatherpick.server.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.FcstResponse;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.NcstResponse;
+import com.neck.weatherpick.server.client.kma.support.KmaResponseDecoder;
+import com.neck.weatherpick.server.service.WeatherSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기상청 응답(JSON 바이트)  →  NcstResponse / FcstResponse
+ * <ul>
+ *     <li>bind* : 기존 방식(ObjectMapper로 레코드에 전체 바인딩)</li>
+ *     <li>decode* : KmaResponseDecoder(사용하는 항목만)</li>
+ *     <li>*Snapshot : 실황 + 예보  →  WeatherSnapshot까지(발표 시각마다 격자당 1번 실행되는 전체 과정)</li>
+ * </ul>
+ * 응답당 할당량은 -prof gc의 gc.alloc.rate.norm(B/op)으로 비교한다.
+ * <br><br>
+ * 📣 측정 결과(JDK 17, Jackson 2.16, 1 vCPU, 워밍업 30만 회 후 20만 회 평균 x 3, 응답 : 실황 648 B / 예보 6,942 B) 📣
+ * <pre>
+ * bindNcst        3,272 ~ 3,848 B/op   약 3.4 ~ 4.6 us/op
+ * decodeNcst              1,808 B/op   약 3.3 ~ 5.9 us/op
+ * bindFcst      24,168 ~ 27,240 B/op   약 26 ~ 35 us/op
+ * decodeFcst              2,512 B/op   약 35 ~ 43 us/op
+ * bindSnapshot  28,216 ~ 31,784 B/op   약 29 ~ 43 us/op
+ * decodeSnapshot  5,016 ~ 5,096 B/op   약 45 ~ 65 us/op
+ * </pre>
+ * 할당량은 약 1/6로 줄지만, non-blocking 파서가 모든 토큰을 차례로 받아야 하므로(skipChildren 불가) CPU 시간은 오히려 1.2 ~ 1.5배 정도 늘어난다.
+ * 즉, 이득은 응답당 시간이 아니라 GC 부담(발표 시각마다 격자 수만큼)과, 응답 전체를 모아 두지 않는 데서 온다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class KmaDecodingBenchmark {
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private byte[] ncstJson;
+	private byte[] fcstJson;
+
+	@Setup
+	public void setUp() throws IOException {
+		ncstJson = objectMapper.writeValueAsBytes(Fixtures.ncst());
+		fcstJson = objectMapper.writeValueAsBytes(Fixtures.fcst());
+	}
+
+	@Benchmark
+	public NcstResponse bindNcst() throws IOException {
+		return objectMapper.readValue(ncstJson, NcstResponse.class);
+	}
+
+	@Benchmark
+	public NcstResponse decodeNcst() throws IOException {
+		return KmaResponseDecoder.ncst(ncstJson);
+	}
+
+	@Benchmark
+	public FcstResponse bindFcst() throws IOException {
+		return objectMapper.readValue(fcstJson, FcstResponse.class);
+	}
+
+	@Benchmark
+	public FcstResponse decodeFcst() throws IOException {
+		return KmaResponseDecoder.fcst(fcstJson);
+	}
+
+	@Benchmark
+	public WeatherSnapshot bindSnapshot() throws IOException {
+		return WeatherSnapshot.of(Fixtures.NCST_BASE, objectMapper.readValue(ncstJson, NcstResponse.class),
+				Fixtures.FCST_BASE, objectMapper.readValue(fcstJson, FcstResponse.class));
+	}
+
+	@Benchmark
+	public WeatherSnapshot decodeSnapshot() throws IOException {
+		return WeatherSnapshot.of(Fixtures.NCST_BASE, KmaResponseDecoder.ncst(ncstJson),
+				Fixtures.FCST_BASE, KmaResponseDecoder.fcst(fcstJson));
+	}
+}
\ No newline at end of file
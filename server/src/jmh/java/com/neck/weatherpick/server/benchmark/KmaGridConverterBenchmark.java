@@ -0,0 +1,67 @@
+package com.neck.weatherpick.server.benchmark;
+
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import com.neck.weatherpick.server.client.kma.support.KmaGridConverter;
+import com.neck.weatherpick.server.client.kma.support.KmaGridTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 위ㆍ경도 ↔ 기상청 격자 변환
+ * <ul>
+ *     <li>convert : 1건 변환</li>
+ *     <li>convertAll : BATCH건 일괄 변환(연산 1회 = BATCH건)</li>
+ *     <li>toLonLat / tableCenter : 역변환 계산 vs 미리 계산해 둔 표</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class KmaGridConverterBenchmark {
+	private static final int BATCH = 1024;
+
+	private double[] lons;
+	private double[] lats;
+	private int[] outNx;
+	private int[] outNy;
+	private KmaGridPoint[] points;
+	private KmaGridTable table;
+	private int i;
+
+	@Setup
+	public void setUp() {
+		double[][] coords = Fixtures.coordinates(BATCH);
+		lons = coords[0];
+		lats = coords[1];
+		outNx = new int[BATCH];
+		outNy = new int[BATCH];
+		points = new KmaGridPoint[BATCH];
+		for(int k = 0; k < BATCH; k++) points[k] = KmaGridConverter.convert(lons[k], lats[k]);
+		table = KmaGridTable.get();
+	}
+
+	@Benchmark
+	public KmaGridPoint convert() {
+		int k = i++ & (BATCH - 1);
+		return KmaGridConverter.convert(lons[k], lats[k]);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public int[] convertAll() {
+		KmaGridConverter.convertAll(lons, lats, outNx, outNy);
+		return outNx;
+	}
+
+	@Benchmark
+	public KmaGridConverter.Coord toLonLat() {
+		return KmaGridConverter.toLonLat(points[i++ & (BATCH - 1)]);
+	}
+
+	@Benchmark
+	public double tableCenter() {
+		KmaGridPoint p = points[i++ & (BATCH - 1)];
+		return table.centerLon(p) + table.centerLat(p);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.neck.weatherpick.server.benchmark;
+
+import com.neck.weatherpick.server.client.kma.support.KmaTime;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 발표 일자/시각 계산(요청마다 2번, 2차 시도마다 1번 호출)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class KmaTimeBenchmark {
+	private final LocalDateTime now = Fixtures.NOW;
+
+	@Benchmark
+	public KmaTime.BaseDt latestUltraSrtNcstBase() {
+		return KmaTime.latestUltraSrtNcstBase(now);
+	}
+
+	@Benchmark
+	public KmaTime.BaseDt latestUltraSrtFcstBase() {
+		return KmaTime.latestUltraSrtFcstBase(now);
+	}
+
+	@Benchmark
+	public KmaTime.BaseDt previousUltraSrtNcstBase() {
+		return KmaTime.previousUltraSrtNcstBase("20260202", "1200");
+	}
+
+	@Benchmark
+	public KmaTime.BaseDt previousUltraSrtFcstBase() {
+		return KmaTime.previousUltraSrtFcstBase("20260202", "1130");
+	}
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.neck.weatherpick.server.benchmark;
+
+import com.neck.weatherpick.server.client.geo.RegionGazetteer;
+import com.neck.weatherpick.server.client.geo.dto.request.LonLat;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오프라인 지명 사전(카카오맵 API 대신 사용)
+ * <ul>
+ *     <li>find : 지역 이름  →  위ㆍ경도(적중 / 미적중)</li>
+ *     <li>nearest : 위ㆍ경도  →  가장 가까운 시/군/구</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class RegionGazetteerBenchmark {
+	private static final int N = 1024;
+
+	private RegionGazetteer gazetteer;
+	private double[] lons;
+	private double[] lats;
+	private int i;
+
+	@Setup
+	public void setUp() {
+		gazetteer = new RegionGazetteer();
+		double[][] coords = Fixtures.coordinates(N);
+		lons = coords[0];
+		lats = coords[1];
+	}
+
+	@Benchmark
+	public Optional<LonLat> findHit() {
+		return gazetteer.find("서울 종로구");
+	}
+
+	@Benchmark
+	public Optional<LonLat> findMiss() {
+		return gazetteer.find("부평문화의거리");
+	}
+
+	@Benchmark
+	public Optional<String> nearest() {
+		int k = i++ & (N - 1);
+		return gazetteer.nearest(lons[k], lats[k], 20);
+	}
+}
\ No newline at end of file
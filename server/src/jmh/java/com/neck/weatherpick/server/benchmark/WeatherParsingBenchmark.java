@@ -0,0 +1,82 @@
+package com.neck.weatherpick.server.benchmark;
+
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.FcstItem;
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.FcstResponse;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.NcstItem;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.NcstResponse;
+import com.neck.weatherpick.server.service.WeatherSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기상청 응답  →  응답에 필요한 값(category별 관측값, 현재 시각의 하늘 상태)
+ * <ul>
+ *     <li>legacyParse : 스냅숏 캐시 도입 전, 요청마다 실행하던 방식(Map 변환 + 날짜 파싱)</li>
+ *     <li>snapshotOf : 스냅숏 생성(발표 시각마다 1번)</li>
+ *     <li>snapshotSkyAt : 스냅숏 캐시 적중 시, 요청마다 실행하는 부분</li>
+ * </ul>
+ * 📣 측정 결과(JDK 17, 1 vCPU, 워밍업 200만 회 후 100만 회 평균) 📣
+ * <pre>
+ * legacyParse     6,848 B/op   약 6.3 ~ 7.0 us/op
+ * snapshotOf        ~700 B/op   약 1.4 ~ 2.2 us/op   (발표 시각마다 1번)
+ * snapshotSkyAt         0 B/op   약 22 ~ 31 ns/op
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class WeatherParsingBenchmark {
+	private NcstResponse ncst;
+	private FcstResponse fcst;
+	private WeatherSnapshot snapshot;
+
+	@Setup
+	public void setUp() {
+		ncst = Fixtures.ncst();
+		fcst = Fixtures.fcst();
+		snapshot = WeatherSnapshot.of(Fixtures.NCST_BASE, ncst, Fixtures.FCST_BASE, fcst);
+	}
+
+	@Benchmark
+	public double legacyParse() {
+		Map<String, String> m = new HashMap<>();
+		for(NcstItem item : ncst.response().body().items().item()) {
+			m.put(item.category(), item.obsrValue());
+		}
+		double t1h = Double.parseDouble(m.getOrDefault("T1H", "0"));
+		double rn1 = Double.parseDouble(m.getOrDefault("RN1", "0"));
+		int reh = Integer.parseInt(m.getOrDefault("REH", "0"));
+		double wsd = Double.parseDouble(m.getOrDefault("WSD", "0"));
+		int pty = Integer.parseInt(m.getOrDefault("PTY", "0"));
+
+		DateTimeFormatter dateFmt = DateTimeFormatter.ofPattern("yyyyMMdd");
+		DateTimeFormatter timeFmt = DateTimeFormatter.ofPattern("HHmm");
+		long bestDiffMin = Long.MAX_VALUE;
+		String bestSky = null;
+		for(FcstItem item : fcst.response().body().items().item()) {
+			if(!"SKY".equals(item.category())) continue;
+			LocalDateTime dt = LocalDateTime.of(LocalDate.parse(item.fcstDate(), dateFmt), LocalTime.parse(item.fcstTime(), timeFmt));
+			long diff = Math.abs(Duration.between(Fixtures.NOW, dt).toMinutes());
+			if(diff < bestDiffMin) {
+				bestDiffMin = diff;
+				bestSky = item.fcstValue();
+			}
+		}
+		return t1h + rn1 + reh + wsd + pty + Integer.parseInt(bestSky);
+	}
+
+	@Benchmark
+	public WeatherSnapshot snapshotOf() {
+		return WeatherSnapshot.of(Fixtures.NCST_BASE, ncst, Fixtures.FCST_BASE, fcst);
+	}
+
+	@Benchmark
+	public int snapshotSkyAt() {
+		return snapshot.skyAt(Fixtures.NOW);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.neck.weatherpick.server.benchmark;
+
+import com.neck.weatherpick.server.client.geo.KakaoLocalClient;
+import com.neck.weatherpick.server.client.geo.KakaoLocalProperties;
+import com.neck.weatherpick.server.client.geo.RegionGazetteer;
+import com.neck.weatherpick.server.client.http.UpstreamHttpClients;
+import com.neck.weatherpick.server.client.kma.KmaClient;
+import com.neck.weatherpick.server.client.kma.KmaGridPopularity;
+import com.neck.weatherpick.server.client.kma.KmaLastKnownStore;
+import com.neck.weatherpick.server.client.kma.KmaProperties;
+import com.neck.weatherpick.server.client.kma.KmaPublicationLagTracker;
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.FcstResponse;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.NcstResponse;
+import com.neck.weatherpick.server.client.kma.support.KmaTime;
+import com.neck.weatherpick.server.dto.WeatherNowResponse;
+import com.neck.weatherpick.server.metrics.UpstreamMetrics;
+import com.neck.weatherpick.server.service.WeatherProperties;
+import com.neck.weatherpick.server.service.WeatherService;
+import com.neck.weatherpick.server.service.WeatherSnapshot;
+import com.neck.weatherpick.server.service.WeatherSnapshotLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WeatherService 전체 흐름(외부 API는 즉시 응답하는 in-process 대역으로 대체)
+ * <ul>
+ *     <li>snapshotHit : 스냅숏 캐시 적중(가장 흔한 경우)</li>
+ *     <li>snapshotMiss : 원본 응답 캐시만 적중  →  요청마다 스냅숏을 새로 만듦</li>
+ *     <li>byRegion : 지명 사전으로 위ㆍ경도 조회 + 스냅숏 캐시 적중</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class WeatherServiceBenchmark {
+	private WeatherService snapshotHit;
+	private WeatherService snapshotMiss;
+
+	@Setup
+	public void setUp() {
+		NcstResponse ncst = Fixtures.ncst();
+		FcstResponse fcst = Fixtures.fcst();
+		WeatherSnapshot snapshot = WeatherSnapshot.of(Fixtures.NCST_BASE, ncst, Fixtures.FCST_BASE, fcst);
+
+		Clock clock = Clock.fixed(Fixtures.NOW.atZone(ZoneId.of("Asia/Seoul")).toInstant(), ZoneId.of("Asia/Seoul"));
+		UpstreamHttpClients httpClients = new UpstreamHttpClients(new SimpleMeterRegistry(), clock);
+		UpstreamMetrics metrics = new UpstreamMetrics(new SimpleMeterRegistry());
+		KmaProperties kmaProps = new KmaProperties();
+		kmaProps.setBaseUrl("http://localhost");
+		KmaClient kmaClient = new KmaClient(kmaProps, new KmaLastKnownStore(kmaProps), null, null, httpClients, metrics) {
+			@Override
+			public Mono<NcstResponse> getUltraSrtNcst(String baseDate, String baseTime, KmaGridPoint kmaGridPoint) {
+				return Mono.just(ncst);
+			}
+
+			@Override
+			public Mono<FcstResponse> getUltraSrtFcst(String baseDate, String baseTime, KmaGridPoint kmaGridPoint) {
+				return Mono.just(fcst);
+			}
+		};
+
+		KakaoLocalProperties kakaoProps = new KakaoLocalProperties();
+		kakaoProps.setBaseUrl("http://localhost");
+		KakaoLocalClient kakaoLocalClient = new KakaoLocalClient(kakaoProps, httpClients, metrics) {
+			@Override
+			public Mono<String> coordToAddress(double lon, double lat) {
+				return Mono.just("서울 종로구 세종로");
+			}
+		};
+
+		WeatherSnapshotLoader cachedLoader = new WeatherSnapshotLoader(kmaClient) {
+			@Override
+			public Mono<WeatherSnapshot> load(KmaTime.BaseDt ncstBase, KmaTime.BaseDt fcstBase, KmaGridPoint kmaGridPoint) {
+				return Mono.just(snapshot);
+			}
+		};
+
+		RegionGazetteer gazetteer = new RegionGazetteer();
+		KmaPublicationLagTracker lagTracker = new KmaPublicationLagTracker(kmaProps, clock, new SimpleMeterRegistry());
+
+		snapshotHit = new WeatherService(cachedLoader, kakaoLocalClient, gazetteer,
+				new KmaGridPopularity(), lagTracker, new WeatherProperties(), clock);
+		snapshotMiss = new WeatherService(new WeatherSnapshotLoader(kmaClient), kakaoLocalClient, gazetteer,
+				new KmaGridPopularity(), lagTracker, new WeatherProperties(), clock);
+	}
+
+	@Benchmark
+	public WeatherNowResponse snapshotHit() {
+		return snapshotHit.getNowByCoord(126.9780, 37.5665).block();
+	}
+
+	@Benchmark
+	public WeatherNowResponse snapshotMiss() {
+		return snapshotMiss.getNowByCoord(126.9780, 37.5665).block();
+	}
+
+	@Benchmark
+	public WeatherNowResponse byRegion() {
+		return snapshotHit.getNowByRegion("서울 종로구").block();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.neck.weatherpick.server.load;
+
+import com.neck.weatherpick.server.support.StubUpstreamServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * <h5>용량(capacity) 부하 테스트</h5>
+ * 실제와 비슷한 외부 API(지연 분포, 오류율, 발표 지연)를 흉내 낸 StubUpstreamServer를 상대로,
+ * 지역 이름ㆍ위ㆍ경도를 섞은 요청(TrafficMix)을 보내 처리량, 지연 시간 백분위수, 외부 API 호출 수를 측정한다.
+ * <ul>
+ *     <li>지연 : 외부 API별 p50, p99(ms)  →  로그 정규 분포(StubUpstreamServer.Latency)</li>
+ *     <li>오류 : 외부 API별 오류(HTTP 500) 비율</li>
+ *     <li>발표 지연 : 발표 시각 + publicationLagMin(분)이 지나야 기상청 데이터가 반영됨(그 전에는 NO_DATA)</li>
+ *     <li>재검증 : revalidate 비율만큼, 이전에 받은 ETag로 If-None-Match 요청(304)</li>
+ * </ul>
+ * 오류를 주입하지 않았으면 실패(200, 304 외)가 없어야 하고, maxP99Ms를 지정하면 p99가 그 이하여야 한다.(릴리스 전 용량 확인)
+ * <pre>
+ * ./gradlew loadTest --tests '*CapacityLoadTest' -Dload.concurrency=200 -Dload.requests=20000 \
+ *     -Dload.latency.kma=80,400 -Dload.latency.kakao=40,200 -Dload.latency.openai=700,3000 \
+ *     -Dload.errorRate.kma=0.01 -Dload.publicationLagMin=12 -Dload.recommendationMode=rich -Dload.maxP99Ms=1500
+ * </pre>
+ */
+class CapacityLoadTest {
+	private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 200);
+	private static final int REQUESTS = Integer.getInteger("load.requests", 20_000);
+	private static final double REVALIDATE = Double.parseDouble(System.getProperty("load.revalidate", "0.2"));
+	private static final long MAX_P99_MS = Long.getLong("load.maxP99Ms", 0); // 0 : 확인하지 않음
+
+	private static final Map<String, List<String>> UPSTREAMS = Map.of(
+			"kma", List.of(StubUpstreamServer.NCST, StubUpstreamServer.FCST),
+			"kakao", List.of(StubUpstreamServer.KEYWORD, StubUpstreamServer.COORD),
+			"openai", List.of(StubUpstreamServer.RESPONSES)
+	);
+	private static final Map<String, String> DEFAULT_LATENCY = Map.of("kma", "80,400", "kakao", "40,200", "openai", "700,3000");
+
+	@Test
+	void capacity() throws Exception {
+		try(StubUpstreamServer stub = StubUpstreamServer.start()) {
+			double injectedErrors = configure(stub);
+
+			try(ConfigurableApplicationContext ctx = LoadTestServer.start(stub,
+					"recommendation.mode=" + System.getProperty("load.recommendationMode", "rules"))) {
+				TrafficMix mix = TrafficMix.fromSystemProperties(LoadTestServer.port(ctx));
+				Result result = fire(mix);
+
+				System.out.println(result);
+				System.out.println(upstreamReport(stub, result.requests()));
+
+				if(injectedErrors == 0) assertThat(result.failures()).isZero();
+				if(MAX_P99_MS > 0) assertThat(result.percentileMs(0.99)).isLessThanOrEqualTo(MAX_P99_MS);
+			}
+		}
+	}
+
+	/**
+	 * @return 주입한 오류율의 합(0이면 오류 없음)
+	 */
+	private double configure(StubUpstreamServer stub) {
+		double injectedErrors = 0;
+		for(Map.Entry<String, List<String>> upstream : UPSTREAMS.entrySet()) {
+			String name = upstream.getKey();
+			StubUpstreamServer.Latency latency = StubUpstreamServer.Latency.parse(System.getProperty("load.latency." + name, DEFAULT_LATENCY.get(name)));
+			double errorRate = Double.parseDouble(System.getProperty("load.errorRate." + name, "0"));
+			for(String path : upstream.getValue()) {
+				stub.setLatency(path, latency);
+				stub.setErrorRate(path, errorRate);
+			}
+			injectedErrors += errorRate;
+		}
+		stub.setPublicationLag(Duration.ofMinutes(Long.getLong("load.publicationLagMin", 12)));
+		return injectedErrors;
+	}
+
+	private Result fire(TrafficMix mix) throws Exception {
+		HttpClient http = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+		Semaphore inFlight = new Semaphore(CONCURRENCY);
+		Map<URI, String> etags = new ConcurrentHashMap<>(); // URI별 마지막으로 받은 ETag
+		Random random = new Random(Long.getLong("load.seed", 42));
+		long[] latencies = new long[REQUESTS];
+		AtomicInteger ok = new AtomicInteger();
+		AtomicInteger notModified = new AtomicInteger();
+		AtomicInteger failures = new AtomicInteger();
+		CompletableFuture<?>[] all = new CompletableFuture<?>[REQUESTS];
+
+		long start = System.nanoTime();
+		for(int i = 0; i < REQUESTS; i++) {
+			URI uri = mix.next();
+			HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET();
+			String etag = etags.get(uri);
+			if(etag != null && random.nextDouble() < REVALIDATE) request.header(HttpHeaders.IF_NONE_MATCH, etag);
+
+			inFlight.acquire();
+			int idx = i;
+			long sent = System.nanoTime();
+			all[i] = http.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+					.whenComplete((res, err) -> {
+						latencies[idx] = System.nanoTime() - sent;
+						if(err != null) failures.incrementAndGet();
+						else if(res.statusCode() == 200) {
+							ok.incrementAndGet();
+							res.headers().firstValue(HttpHeaders.ETAG).ifPresent(tag -> etags.put(uri, tag));
+						}
+						else if(res.statusCode() == 304) notModified.incrementAndGet();
+						else failures.incrementAndGet();
+						inFlight.release();
+					});
+		}
+		CompletableFuture.allOf(all).exceptionally(e -> null).join();
+		long elapsed = System.nanoTime() - start;
+
+		Arrays.sort(latencies);
+		return new Result(mix.toString(), REQUESTS, elapsed, latencies, ok.get(), notModified.get(), failures.get());
+	}
+
+	private static String upstreamReport(StubUpstreamServer stub, int requests) {
+		StringBuilder sb = new StringBuilder("[upstream]");
+		int total = 0;
+		for(String path : List.of(StubUpstreamServer.NCST, StubUpstreamServer.FCST, StubUpstreamServer.KEYWORD, StubUpstreamServer.COORD, StubUpstreamServer.RESPONSES)) {
+			int calls = stub.calls(path);
+			total += calls;
+			sb.append(String.format(Locale.ROOT, " %s=%d(errors=%d)", path, calls, stub.errors(path)));
+		}
+		return sb.append(String.format(Locale.ROOT, " total=%d per-request=%.3f", total, (double)total / requests)).toString();
+	}
+
+	private record Result(String mix, int requests, long elapsedNanos, long[] sortedLatencies, int ok, int notModified, int failures) {
+		long percentileMs(double p) {
+			int i = (int)Math.min(sortedLatencies.length - 1, Math.ceil(p * sortedLatencies.length) - 1);
+			return Duration.ofNanos(sortedLatencies[Math.max(i, 0)]).toMillis();
+		}
+
+		@Override
+		public String toString() {
+			double seconds = elapsedNanos / 1e9;
+			return String.format(Locale.ROOT,
+					"[capacity] %s requests=%d concurrency=%d throughput=%.1f req/s p50=%dms p99=%dms p999=%dms max=%dms 200=%d 304=%d failures=%d",
+					mix, requests, CONCURRENCY, requests / seconds,
+					percentileMs(0.50), percentileMs(0.99), percentileMs(0.999), percentileMs(1.0), ok, notModified, failures);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.neck.weatherpick.server.load;
+
+import com.neck.weatherpick.server.ServerApplication;
+import com.neck.weatherpick.server.support.StubUpstreamServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 부하 테스트용 서버 실행(임의 포트, DB 없이, 모든 외부 API는 StubUpstreamServer)
+ */
+final class LoadTestServer {
+	private LoadTestServer() {}
+
+	/**
+	 * @param overrides 추가(또는 덮어쓸) 설정 ex) "recommendation.mode=rich"
+	 */
+	static ConfigurableApplicationContext start(StubUpstreamServer stub, String... overrides) {
+		List<String> properties = new ArrayList<>(List.of(
+				"server.port=0",
+				"spring.autoconfigure.exclude="
+						+ "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+						+ "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+				"shared-cache.enabled=false", // DB 없이 실행(서버 캐시만)
+				"cache-snapshot.enabled=false", // 이전 실행의 캐시로 시작하지 않도록
+				"kma.base-url=" + stub.baseUrl(),
+				"kma.service-key=load-test",
+				"kakao.base-url=" + stub.baseUrl(),
+				"kakao.rest-api-key=load-test",
+				"openai.base-url=" + stub.baseUrl(),
+				"openai.api-key=load-test",
+				"openai.model=load-test",
+				"kma.http.quota.per-second=0", "kakao.http.quota.per-second=0", "openai.http.quota.per-second=0", // stub이므로 호출 한도 없이
+				"kma.http.quota.daily-limit=0", "kakao.http.quota.daily-limit=0", "openai.http.quota.daily-limit=0"
+		));
+		properties.addAll(List.of(overrides)); // 같은 key는 나중 값이 적용됨
+		return new SpringApplicationBuilder(ServerApplication.class)
+				.properties(properties.toArray(String[]::new))
+				.run();
+	}
+
+	static int port(ConfigurableApplicationContext ctx) {
+		return Integer.parseInt(ctx.getEnvironment().getProperty("local.server.port"));
+	}
+}
\ No newline at end of file
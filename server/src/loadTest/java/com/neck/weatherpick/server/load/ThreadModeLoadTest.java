@@ -0,0 +1,137 @@
+package com.neck.weatherpick.server.load;
+
+import com.neck.weatherpick.server.support.StubUpstreamServer;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * <h5>플랫폼 스레드 vs 가상 스레드 부하 비교</h5>
+ * 느린 가짜 외부 API(StubUpstreamServer)를 상대로, 동시 요청 1,000개 이상을 보내 두 실행 모드의 처리량/지연 시간을 비교한다.
+ * 동시에 JFR의 jdk.VirtualThreadPinned 이벤트를 구독해, 우리 코드(캐시 포함)에서 캐리어 스레드가 고정(pinning)되지 않는지 확인한다.
+ * <pre>./gradlew loadTest -Dload.concurrency=2000 -Dload.requests=20000 -Dload.upstreamDelayMs=300</pre>
+ */
+class ThreadModeLoadTest {
+	private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 1000);
+	private static final int REQUESTS = Integer.getInteger("load.requests", 10_000);
+	private static final long UPSTREAM_DELAY_MS = Long.getLong("load.upstreamDelayMs", 200);
+
+	@Test
+	void platformVsVirtualThreads() throws Exception {
+		try(StubUpstreamServer stub = StubUpstreamServer.start()) {
+			stub.setDelay(Duration.ofMillis(UPSTREAM_DELAY_MS));
+
+			Result platform = run(stub, false);
+			Result virtual = run(stub, true);
+
+			System.out.println(platform);
+			System.out.println(virtual);
+
+			assertThat(platform.failures()).isZero();
+			assertThat(virtual.failures()).isZero();
+			assertThat(virtual.pinnedInApp()).isZero();
+		}
+	}
+
+	private Result run(StubUpstreamServer stub, boolean virtualThreads) throws Exception {
+		AtomicInteger pinnedInApp = new AtomicInteger();
+
+		try(RecordingStream jfr = new RecordingStream();
+			ConfigurableApplicationContext ctx = start(stub, virtualThreads)) {
+			jfr.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+			jfr.onEvent("jdk.VirtualThreadPinned", e -> {
+				if(e.getStackTrace() == null) return;
+				for(RecordedFrame frame : e.getStackTrace().getFrames()) {
+					String type = frame.getMethod().getType().getName();
+					if(type.startsWith("com.neck.weatherpick") || type.startsWith("com.github.benmanes.caffeine")) {
+						pinnedInApp.incrementAndGet();
+						return;
+					}
+				}
+			});
+			jfr.startAsync();
+
+			Result result = fire(LoadTestServer.port(ctx), virtualThreads ? "virtual" : "platform");
+
+			Thread.sleep(1500); // JFR 이벤트가 스트림으로 전달될 때까지 잠시 대기
+			return result.withPinned(pinnedInApp.get());
+		}
+	}
+
+	private ConfigurableApplicationContext start(StubUpstreamServer stub, boolean virtualThreads) {
+		return LoadTestServer.start(stub,
+				"spring.threads.virtual.enabled=" + virtualThreads,
+				"recommendation.mode=rich" // 규칙 테이블 대신 OpenAI(stub)까지 호출해, 외부 API 대기 시간을 그대로 유지
+		);
+	}
+
+	/*
+		캐시가 모든 요청을 흡수해 버리지 않도록, 좌표를 넓게 흩뿌려 서로 다른 기상청 격자를 최대한 많이 조회한다.
+		(격자 1칸 ≒ 5km  →  위ㆍ경도 약 0.05도)
+	*/
+	private Result fire(int port, String mode) throws Exception {
+		HttpClient http = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+		Semaphore inFlight = new Semaphore(CONCURRENCY);
+		long[] latencies = new long[REQUESTS];
+		AtomicInteger failures = new AtomicInteger();
+		CompletableFuture<?>[] all = new CompletableFuture<?>[REQUESTS];
+
+		long start = System.nanoTime();
+		for(int i = 0; i < REQUESTS; i++) {
+			double lon = 126.0 + (i % 60) * 0.05;
+			double lat = 34.5 + (i / 60 % 60) * 0.05;
+			URI uri = URI.create(String.format(Locale.ROOT, "http://127.0.0.1:%d/api/weather/now?lon=%.4f&lat=%.4f", port, lon, lat));
+
+			inFlight.acquire();
+			int idx = i;
+			long sent = System.nanoTime();
+			all[i] = http.sendAsync(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding())
+					.whenComplete((res, err) -> {
+						latencies[idx] = System.nanoTime() - sent;
+						if(err != null || res.statusCode() != 200) failures.incrementAndGet();
+						inFlight.release();
+					});
+		}
+		CompletableFuture.allOf(all).exceptionally(e -> null).join();
+		long elapsed = System.nanoTime() - start;
+
+		Arrays.sort(latencies);
+		return new Result(mode, REQUESTS, elapsed, latencies, failures.get(), 0);
+	}
+
+	private record Result(String mode, int requests, long elapsedNanos, long[] sortedLatencies, int failures, int pinnedInApp) {
+		Result withPinned(int pinned) {
+			return new Result(mode, requests, elapsedNanos, sortedLatencies, failures, pinned);
+		}
+
+		long percentileMs(double p) {
+			int i = (int)Math.min(sortedLatencies.length - 1, Math.ceil(p * sortedLatencies.length) - 1);
+			return Duration.ofNanos(sortedLatencies[Math.max(i, 0)]).toMillis();
+		}
+
+		@Override
+		public String toString() {
+			double seconds = elapsedNanos / 1e9;
+			return String.format(Locale.ROOT,
+					"[%s] requests=%d concurrency=%d throughput=%.1f req/s p50=%dms p99=%dms max=%dms failures=%d pinned(app)=%d",
+					mode, requests, CONCURRENCY, requests / seconds,
+					percentileMs(0.50), percentileMs(0.99), percentileMs(1.0), failures, pinnedInApp);
+		}
+	}
+}
\ No newline at end of file
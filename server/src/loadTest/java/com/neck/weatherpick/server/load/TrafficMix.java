@@ -0,0 +1,95 @@
+package com.neck.weatherpick.server.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * <h5>부하 테스트 요청 구성(지역 이름 + 위ㆍ경도)</h5>
+ * 실제 트래픽은 소수의 위치(도심)에 몰리고, 나머지는 전국에 넓게 흩어진다.
+ * <ul>
+ *     <li>지역 이름(regionShare) : 행정구역 이름(지명 사전) + 장소명(카카오맵 키워드 검색) 목록에서 고르게</li>
+ *     <li>위ㆍ경도 중 hotspotShare : 주요 도심 근처(같은 격자 또는 이웃 격자)</li>
+ *     <li>나머지 위ㆍ경도 : 전국(바다 포함)에 고르게  →  서로 다른 격자, 카카오맵 주소 변환까지 호출</li>
+ * </ul>
+ * 같은 seed면 같은 순서로 요청하므로, 릴리스마다 결과를 비교할 수 있다.
+ * <pre>-Dload.mix.regions=0.3 -Dload.mix.hotspots=0.7 -Dload.regions=서울 종로구,강남역 -Dload.seed=42</pre>
+ */
+final class TrafficMix {
+	static final List<String> DEFAULT_REGIONS = List.of(
+			"서울 종로구", "서울 강남구", "서울 마포구", "부산 해운대구", "인천 부평구", "대구 중구", "대전 서구", "광주 북구",
+			"수원시", "제주시",
+			"강남역", "해운대해수욕장", "광화문", "성수동 카페거리" // 행정구역이 아닌 장소명  →  카카오맵 키워드 검색
+	);
+
+	// 주요 도심(경도, 위도)
+	private static final double[][] HOTSPOTS = {
+			{126.9780, 37.5665}, // 서울
+			{129.0756, 35.1796}, // 부산
+			{126.7052, 37.4563}, // 인천
+			{128.6014, 35.8714}, // 대구
+			{127.3845, 36.3504}, // 대전
+			{126.8526, 35.1595}, // 광주
+	};
+	private static final double HOTSPOT_JITTER = 0.02;                     // ±0.02도(약 2km)
+	private static final double MIN_LON = 126.0, MAX_LON = 129.5;           // 한반도 남쪽(육지 + 연안)
+	private static final double MIN_LAT = 34.5, MAX_LAT = 38.3;
+
+	private final String baseUrl;
+	private final List<String> regions;
+	private final double regionShare;
+	private final double hotspotShare;
+	private final Random random;
+
+	TrafficMix(String baseUrl, List<String> regions, double regionShare, double hotspotShare, long seed) {
+		this.baseUrl = baseUrl;
+		this.regions = regions;
+		this.regionShare = regionShare;
+		this.hotspotShare = hotspotShare;
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * 시스템 속성(load.*)으로 구성
+	 */
+	static TrafficMix fromSystemProperties(int port) {
+		String regions = System.getProperty("load.regions");
+		return new TrafficMix(
+				"http://127.0.0.1:" + port,
+				regions == null ? DEFAULT_REGIONS : Arrays.stream(regions.split(",")).map(String::trim).filter(r -> !r.isEmpty()).toList(),
+				Double.parseDouble(System.getProperty("load.mix.regions", "0.3")),
+				Double.parseDouble(System.getProperty("load.mix.hotspots", "0.7")),
+				Long.getLong("load.seed", 42)
+		);
+	}
+
+	/**
+	 * 다음 요청 URI(한 스레드에서만 호출)
+	 */
+	URI next() {
+		if(random.nextDouble() < regionShare) {
+			String region = regions.get(random.nextInt(regions.size()));
+			return URI.create(baseUrl + "/api/weather/now?region=" + URLEncoder.encode(region, StandardCharsets.UTF_8));
+		}
+
+		double lon, lat;
+		if(random.nextDouble() < hotspotShare) {
+			double[] spot = HOTSPOTS[random.nextInt(HOTSPOTS.length)];
+			lon = spot[0] + (random.nextDouble() * 2 - 1) * HOTSPOT_JITTER;
+			lat = spot[1] + (random.nextDouble() * 2 - 1) * HOTSPOT_JITTER;
+		} else {
+			lon = MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON);
+			lat = MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT);
+		}
+		return URI.create(String.format(Locale.ROOT, "%s/api/weather/now?lon=%.4f&lat=%.4f", baseUrl, lon, lat));
+	}
+
+	@Override
+	public String toString() {
+		return String.format(Locale.ROOT, "regions=%.0f%%(%d) hotspots=%.0f%% of coords", regionShare * 100, regions.size(), hotspotShare * 100);
+	}
+}
\ No newline at end of file
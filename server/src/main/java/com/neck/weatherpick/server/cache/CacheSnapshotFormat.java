@@ -0,0 +1,247 @@
+package com.neck.weatherpick.server.cache;
+
+import com.neck.weatherpick.server.client.geo.dto.request.LonLat;
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.*;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.*;
+import com.neck.weatherpick.server.service.WeatherSnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h5>캐시 스냅숏 파일 형식(바이너리)</h5>
+ * <pre>
+ * 헤더 : MAGIC(4) | VERSION(2) | 저장 시각(8, epoch ms) | 항목 수(4)
+ * 항목 : 캐시 이름 | key | 만료 시각(8, epoch ms) | 값 종류(1) | 값
+ * </pre>
+ * 문자열은 파일 안에서 처음 나올 때만 본문을 쓰고, 이후에는 번호만 쓴다.(문자열 표)
+ * 캐시 이름, 기상청 응답의 항목명(category)ㆍ발표 일자/시각 등 같은 문자열이 반복되므로, JSON보다 훨씬 작다.
+ * 정수는 가변 길이(varint), 실수는 8바이트로 쓴다.
+ * <br><br>
+ * 만료 시각은 남은 유효 시간이 아닌 절대 시각(wall clock)으로 저장한다.(서버가 꺼져 있던 시간만큼 자연히 줄어듦)
+ */
+final class CacheSnapshotFormat {
+    static final int MAGIC = 0x57504353; // "WPCS"
+    static final short VERSION = 1;
+
+    // 값 종류
+    private static final byte STRING = 1, LON_LAT = 2, NCST = 3, FCST = 4, WEATHER_SNAPSHOT = 5;
+
+    // 문자열 표 : 0 = null, 1 = 새 문자열(본문이 이어짐), 2 이상 = (번호 + 2)
+    private static final int NULL_STRING = 0, NEW_STRING = 1, STRING_REF = 2;
+
+    private CacheSnapshotFormat() {}
+
+    record Entry(String cacheName, String key, long expiresAtMillis, Object value) {}
+
+    record Snapshot(long writtenAtMillis, List<Entry> entries) {}
+
+    /**
+     * 스냅숏에 저장할 수 있는 값인지(진행 중인 호출, null 등은 제외)
+     */
+    static boolean supports(Object value) {
+        return value instanceof String || value instanceof LonLat || value instanceof WeatherSnapshot
+                || value instanceof NcstResponse r && r.response() != null && r.response().body() != null && r.response().body().items() != null
+                || value instanceof FcstResponse f && f.response() != null && f.response().body() != null && f.response().body().items() != null;
+    }
+
+    static byte[] write(long writtenAtMillis, List<Entry> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        Writer w = new Writer(new DataOutputStream(bytes));
+        w.out.writeInt(MAGIC);
+        w.out.writeShort(VERSION);
+        w.out.writeLong(writtenAtMillis);
+        w.out.writeInt(entries.size());
+        for(Entry e : entries) {
+            w.string(e.cacheName());
+            w.string(e.key());
+            w.out.writeLong(e.expiresAtMillis());
+            w.value(e.value());
+        }
+        w.out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param deadlineNanos 이 시각(System.nanoTime)이 지나면 나머지 항목은 읽지 않음
+     * @throws IllegalStateException 형식이 다르거나 파일이 손상된 경우
+     */
+    static Snapshot read(ByteBuffer buf, long deadlineNanos) {
+        try {
+            if(buf.getInt() != MAGIC) throw new IllegalStateException("캐시 스냅숏 파일이 아닙니다.");
+            short version = buf.getShort();
+            if(version != VERSION) throw new IllegalStateException("지원하지 않는 캐시 스냅숏 버전 : " + version);
+
+            long writtenAt = buf.getLong();
+            int count = buf.getInt();
+            Reader r = new Reader(buf);
+            List<Entry> entries = new ArrayList<>(Math.min(count, 1 << 16));
+            for(int i = 0; i < count && System.nanoTime() < deadlineNanos; i++) {
+                entries.add(new Entry(r.string(), r.string(), buf.getLong(), r.value()));
+            }
+            return new Snapshot(writtenAt, entries);
+        } catch(RuntimeException e) {
+            if(e instanceof IllegalStateException) throw e;
+            throw new IllegalStateException("캐시 스냅숏 파일이 손상되었습니다.", e); // BufferUnderflowException 등
+        }
+    }
+
+    private static final class Writer {
+        final DataOutputStream out;
+        final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void value(Object value) throws IOException {
+            switch(value) {
+                case String s -> {
+                    out.writeByte(STRING);
+                    string(s);
+                }
+                case LonLat l -> {
+                    out.writeByte(LON_LAT);
+                    string(l.addressName());
+                    string(l.placeName());
+                    out.writeDouble(l.lon());
+                    out.writeDouble(l.lat());
+                }
+                case NcstResponse r -> {
+                    out.writeByte(NCST);
+                    List<NcstItem> items = r.response().body().items().item();
+                    varint(items.size());
+                    for(NcstItem item : items) {
+                        string(item.category());
+                        string(item.obsrValue());
+                        string(item.baseDate());
+                        string(item.baseTime());
+                    }
+                }
+                case FcstResponse r -> {
+                    out.writeByte(FCST);
+                    List<FcstItem> items = r.response().body().items().item();
+                    varint(items.size());
+                    for(FcstItem item : items) {
+                        string(item.category());
+                        string(item.fcstValue());
+                        string(item.fcstDate());
+                        string(item.fcstTime());
+                        string(item.baseDate());
+                        string(item.baseTime());
+                    }
+                }
+                case WeatherSnapshot s -> {
+                    out.writeByte(WEATHER_SNAPSHOT);
+                    out.writeDouble(s.t1h());
+                    out.writeDouble(s.rn1());
+                    varint(s.reh());
+                    out.writeDouble(s.wsd());
+                    varint(s.pty());
+                    out.writeLong(s.skyStartMinute());
+                    varint(s.sky().length);
+                    out.write(s.sky());
+                    string(s.ncstBase());
+                    string(s.fcstBase());
+                    out.writeBoolean(s.stale());
+                }
+                default -> throw new IllegalArgumentException("지원하지 않는 값 : " + value.getClass());
+            }
+        }
+
+        void string(String s) throws IOException {
+            if(s == null) {
+                varint(NULL_STRING);
+                return;
+            }
+            Integer ref = strings.get(s);
+            if(ref != null) {
+                varint(ref + STRING_REF);
+                return;
+            }
+            strings.put(s, strings.size());
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            varint(NEW_STRING);
+            varint(utf8.length);
+            out.write(utf8);
+        }
+
+        // 7비트씩, 이어지는 바이트가 있으면 최상위 비트 1(음수는 쓰지 않음)
+        void varint(int v) throws IOException {
+            while((v & ~0x7F) != 0) {
+                out.writeByte((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            out.writeByte(v);
+        }
+    }
+
+    private static final class Reader {
+        final ByteBuffer buf;
+        final List<String> strings = new ArrayList<>();
+
+        Reader(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        Object value() {
+            byte type = buf.get();
+            return switch(type) {
+                case STRING -> string();
+                case LON_LAT -> new LonLat(string(), string(), buf.getDouble(), buf.getDouble());
+                case NCST -> {
+                    int size = varint();
+                    List<NcstItem> items = new ArrayList<>(size);
+                    for(int i = 0; i < size; i++) items.add(new NcstItem(string(), string(), string(), string()));
+                    yield new NcstResponse(new NcstInnerResponse(new NcstBody(new NcstItems(items))));
+                }
+                case FCST -> {
+                    int size = varint();
+                    List<FcstItem> items = new ArrayList<>(size);
+                    for(int i = 0; i < size; i++) items.add(new FcstItem(string(), string(), string(), string(), string(), string()));
+                    yield new FcstResponse(new FcstInnerResponse(new FcstBody(new FcstItems(items))));
+                }
+                case WEATHER_SNAPSHOT -> {
+                    double t1h = buf.getDouble(), rn1 = buf.getDouble();
+                    int reh = varint();
+                    double wsd = buf.getDouble();
+                    int pty = varint();
+                    long skyStartMinute = buf.getLong();
+                    byte[] sky = new byte[varint()];
+                    buf.get(sky);
+                    yield new WeatherSnapshot(t1h, rn1, reh, wsd, pty, skyStartMinute, sky, string(), string(), buf.get() != 0);
+                }
+                default -> throw new IllegalStateException("알 수 없는 값 종류 : " + type);
+            };
+        }
+
+        String string() {
+            int tag = varint();
+            if(tag == NULL_STRING) return null;
+            if(tag >= STRING_REF) return strings.get(tag - STRING_REF);
+
+            byte[] utf8 = new byte[varint()];
+            buf.get(utf8);
+            String s = new String(utf8, StandardCharsets.UTF_8);
+            strings.add(s);
+            return s;
+        }
+
+        int varint() {
+            int v = 0;
+            for(int shift = 0; shift < 32; shift += 7) {
+                byte b = buf.get();
+                v |= (b & 0x7F) << shift;
+                if((b & 0x80) == 0) return v;
+            }
+            throw new IllegalStateException("잘못된 정수");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.neck.weatherpick.server.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// @Component
+@ConfigurationProperties(prefix = "cache-snapshot") // Relaxed Binding 지원 : ex) max-load-time ↔ maxLoadTime
+@Getter
+@Setter
+public class CacheSnapshotProperties {
+    private boolean enabled = true;
+
+    private Path path = Path.of("data/cache-snapshot.bin");
+
+    // 주기적으로 저장하는 간격(비정상 종료에 대비, 정상 종료 시에도 저장)
+    private Duration interval = Duration.ofMinutes(5);
+
+    // 시작할 때 복원에 쓰는 최대 시간(넘으면 나머지 항목은 버리고 바로 요청을 받음)
+    private Duration maxLoadTime = Duration.ofSeconds(2);
+}
\ No newline at end of file
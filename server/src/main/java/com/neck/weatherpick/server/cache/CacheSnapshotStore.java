@@ -0,0 +1,154 @@
+package com.neck.weatherpick.server.cache;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h5>캐시 스냅숏(재시작 후 바로 캐시 적중)</h5>
+ * 배포(재시작) 직후에는 모든 캐시가 비어 있어, 한동안 외부 API(카카오맵, 공공데이터포털, OpenAI) 호출과 응답 시간이 급증한다.
+ * 따라서 캐시 내용을 남은 유효 시간과 함께 파일에 저장해 두었다가(주기적으로 + 정상 종료 시), 다음 시작 때 복원한다.
+ * <ul>
+ *     <li>저장 : 완료된 항목만(진행 중인 호출 제외), 임시 파일에 쓴 뒤 교체(쓰는 도중 종료되더라도 이전 스냅숏은 그대로)</li>
+ *     <li>
+ *         복원 : 요청을 받기 전(ApplicationStartedEvent  →  readiness 이전)에 메모리 매핑으로 한 번에 읽는다.<br>
+ *         cache-snapshot.max-load-time을 넘기면 나머지는 버리고, 이미 만료된 항목도 버린다.
+ *     </li>
+ *     <li>남은 유효 시간 : 저장할 때의 남은 시간을 만료 시각(절대 시각)으로 바꿔 저장  →  복원할 때 그 시각까지만 유지</li>
+ * </ul>
+ * 이미 캐시에 있는 key는 덮어쓰지 않는다.(복원보다 먼저 조회된 최신 값 우선)
+ * @see CacheSnapshotFormat
+ */
+@Component
+@ConditionalOnProperty(prefix = "cache-snapshot", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CacheSnapshotStore {
+    private final CacheManager cacheManager;
+    private final CacheSnapshotProperties props;
+    private final Clock clock;
+
+    public CacheSnapshotStore(CacheManager cacheManager, CacheSnapshotProperties props, Clock clock) {
+        this.cacheManager = cacheManager;
+        this.props = props;
+        this.clock = clock;
+    }
+
+    /**
+     * @param restored 캐시에 넣은 항목 수
+     * @param expired  이미 만료되어 버린 항목 수
+     * @param took     파일을 읽고 캐시에 넣는 데 걸린 시간
+     */
+    public record LoadResult(int restored, int expired, Duration took) {}
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onStarted() {
+        load();
+    }
+
+    public LoadResult load() {
+        long start = System.nanoTime();
+        Path path = props.getPath();
+
+        CacheSnapshotFormat.Snapshot snapshot;
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            snapshot = CacheSnapshotFormat.read(buf, start + props.getMaxLoadTime().toNanos());
+        } catch(NoSuchFileException e) {
+            log.info("캐시 스냅숏 없음 : {}", path);
+            return new LoadResult(0, 0, Duration.ZERO);
+        } catch(IOException | IllegalStateException e) {
+            log.warn("캐시 스냅숏 복원 실패 : {}", path, e);
+            return new LoadResult(0, 0, Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        long now = clock.millis();
+        int restored = 0, expired = 0;
+        for(CacheSnapshotFormat.Entry e : snapshot.entries()) {
+            long remaining = e.expiresAtMillis() - now;
+            Optional<Policy.VarExpiration<Object, Object>> expiration = variableExpiration(e.cacheName());
+            if(remaining <= 0 || expiration.isEmpty()) {
+                expired++;
+                continue;
+            }
+            if(expiration.get().putIfAbsent(e.key(), e.value(), remaining, TimeUnit.MILLISECONDS) == null) restored++;
+        }
+
+        Duration took = Duration.ofNanos(System.nanoTime() - start);
+        log.info("캐시 스냅숏 복원 : {}개 복원, {}개 만료, {}ms ({}분 전 저장)", restored, expired, took.toMillis(),
+                Duration.ofMillis(now - snapshot.writtenAtMillis()).toMinutes());
+        return new LoadResult(restored, expired, took);
+    }
+
+    /**
+     * @return 저장한 항목 수
+     */
+    // 시작 직후에 빈 캐시로 기존 스냅숏을 덮어쓰지 않도록, 첫 저장도 interval 이후에
+    // 스케줄러 스레드는 작업마다 하나씩(spring.task.scheduling.pool.size)  →  파일 쓰기가 길어져도 공유 캐시 저장 등을 막지 않음
+    @Scheduled(fixedDelayString = "${cache-snapshot.interval:PT5M}", initialDelayString = "${cache-snapshot.interval:PT5M}")
+    public int save() {
+        long now = clock.millis();
+        List<CacheSnapshotFormat.Entry> entries = new ArrayList<>();
+        for(String name : cacheManager.getCacheNames()) {
+            if(!(cacheManager.getCache(name) instanceof CaffeineCache cache)) continue;
+            Optional<Policy.VarExpiration<Object, Object>> expiration = variableExpiration(name);
+            if(expiration.isEmpty()) continue;
+
+            for(Map.Entry<Object, CompletableFuture<Object>> e : cache.getAsyncCache().asMap().entrySet()) {
+                CompletableFuture<Object> f = e.getValue();
+                if(!f.isDone() || f.isCompletedExceptionally()) continue; // 진행 중이거나 실패한 호출
+                Object value = f.join();
+                if(!(e.getKey() instanceof String key) || !CacheSnapshotFormat.supports(value)) continue;
+
+                expiration.get().getExpiresAfter(key)
+                        .ifPresent(ttl -> entries.add(new CacheSnapshotFormat.Entry(name, key, now + ttl.toMillis(), value)));
+            }
+        }
+
+        Path path = props.getPath();
+        try {
+            if(path.toAbsolutePath().getParent() != null) Files.createDirectories(path.toAbsolutePath().getParent());
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.write(tmp, CacheSnapshotFormat.write(now, entries));
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch(IOException e) {
+            log.warn("캐시 스냅숏 저장 실패 : {}", path, e);
+            return 0;
+        }
+        return entries.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        int saved = save();
+        log.info("캐시 스냅숏 저장 : {}개 → {}", saved, props.getPath());
+    }
+
+    private Optional<Policy.VarExpiration<Object, Object>> variableExpiration(String cacheName) {
+        if(!(cacheManager.getCache(cacheName) instanceof CaffeineCache cache)) return Optional.empty();
+        return cache.getAsyncCache().synchronous().policy().expireVariably();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.neck.weatherpick.server.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <h5>동시 캐시 미스를 하나의 외부 API 호출로 합치는(single-flight) CaffeineCache</h5>
+ * AsyncCache는 key마다 '값'이 아닌 '진행 중인 호출(CompletableFuture)'을 저장한다.
+ * 따라서 같은 key에 대해 먼저 도착한 요청이 호출을 시작하면, 뒤이어 도착한 요청은 새로 호출하지 않고 그 호출을 함께 기다린다.
+ * <br><br>
+ * 이 클래스는 그 동작을 그대로 사용하면서, 실제로 외부 API를 호출한 횟수(loads)와
+ * 진행 중인 호출에 합류해 호출을 아낀 횟수(coalesced)를 집계한다.  →  CacheConfig에서 Micrometer 지표로 노출
+ * @see org.springframework.cache.annotation.Cacheable#sync()
+ */
+public class CoalescingCaffeineCache extends CaffeineCache {
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public CoalescingCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+        super(name, cache, true);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        // getIfPresent는 적중/미스를 기록하므로(cache.gets), 아래 super.retrieve와 합쳐 한 번의 조회가 두 번 집계된다.  →  asMap으로 통계 없이 확인
+        CompletableFuture<Object> inFlight = getAsyncCache().asMap().get(key);
+        if(inFlight != null && !inFlight.isDone()) {
+            coalesced.increment();
+        }
+
+        return super.retrieve(key, () -> load(key, valueLoader));
+    }
+
+    /**
+     * 캐시 미스일 때, 같은 key의 요청 중 하나만 호출한다.(TwoTierCaffeineCache는 외부 API 대신 공유 캐시를 먼저 조회)
+     */
+    protected <T> CompletableFuture<T> load(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        loads.increment();
+        return valueLoader.get();
+    }
+
+    /**
+     * 값을 한 번에 만들지 않는 호출(ex. 스트리밍)을 위해, 진행 중인 호출(pending)을 직접 캐시에 넣는다.<br>
+     * retrieve와 마찬가지로 적중/미스(cache.gets)와 coalesced를 집계한다.(실제 외부 API 호출은 호출자가 recordLoad로 집계)
+     * @return 캐시에 값이 있거나 진행 중인 호출이 있으면 그 호출, 없으면 null(pending이 캐시에 들어갔으므로 호출자가 완료해야 함)
+     */
+    public CompletableFuture<Object> claim(Object key, CompletableFuture<Object> pending) {
+        CompletableFuture<Object> inFlight = getAsyncCache().asMap().get(key);
+        if(inFlight != null && !inFlight.isDone()) {
+            coalesced.increment();
+        }
+
+        CompletableFuture<Object> current = getAsyncCache().get(key, (k, executor) -> pending);
+        return current == pending ? null : current;
+    }
+
+    /**
+     * retrieve를 거치지 않고 외부 API를 호출한 경우(claim으로 pending을 넣은 호출자) 호출 횟수를 집계
+     */
+    public void recordLoad() {
+        loads.increment();
+    }
+
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+}
\ No newline at end of file
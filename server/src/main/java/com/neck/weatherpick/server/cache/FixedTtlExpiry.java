@@ -0,0 +1,33 @@
+package com.neck.weatherpick.server.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+
+/**
+ * <h5>저장 후 고정 시간이 지나면 만료(expireAfterWrite와 같음)</h5>
+ * expireAfterWrite로 만든 캐시는 항목마다 만료 시각을 따로 지정할 수 없다.
+ * 스냅숏에서 복원할 때 남은 유효 시간만큼만 유지하려면(CacheSnapshotStore), 항목별 만료(Expiry)로 만들어야 한다.
+ */
+public class FixedTtlExpiry implements Expiry<Object, Object> {
+    private final long ttlNanos;
+
+    public FixedTtlExpiry(Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return ttlNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return ttlNanos;
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration; // 조회는 만료 시각에 영향을 주지 않음
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.neck.weatherpick.server.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.neck.weatherpick.server.client.kma.dto.response.KmaItem;
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.FcstResponse;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.NcstResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * <h5>기상청 발표 주기에 맞춰 만료 시각을 정하는 Caffeine Expiry(kmaNcst, kmaFcst)</h5>
+ * 기상청 데이터는 발표 시각(base_time)마다 1시간 간격으로만 바뀐다.
+ * 그런데 고정 TTL(ex. 5분)을 사용하면, 같은 데이터를 1시간에 12번씩 다시 조회하게 된다.
+ * <ul>
+ *     <li>
+ *         정상 데이터 : 다음 발표 데이터가 실제로 반영될 때(base_time + 1시간 + 발표 지연)까지 유지<br>
+ *         base_time + 1시간 이후에는 KmaTime이 새로운 base_time을 고르므로 사용자는 더 이상 이 key로 조회하지 않지만,
+ *         KmaRefreshAhead가 '어떤 격자를 미리 불러올지' 판단하는 데 사용하므로 발표 지연만큼 더 유지한다.
+ *     </li>
+ *     <li>
+ *         2차 시도 데이터(key의 base_time과 실제 데이터의 base_time이 다른 경우) : 발표 예상 시각(base_time + 발표 지연)까지만 유지<br>
+ *         발표 예상 시각이 이미 지났다면, 최소 fallbackRetry 후에 다시 조회한다.
+ *     </li>
+ * </ul>
+ * @see CacheKeys#kmaKey
+ */
+public class KmaPublicationExpiry implements Expiry<Object, Object> {
+    private static final Duration PUBLICATION_INTERVAL = Duration.ofHours(1);
+
+    private final Clock clock;
+    private final Duration publicationLag;
+    private final Duration fallbackRetry;
+
+    public KmaPublicationExpiry(Clock clock, Duration publicationLag, Duration fallbackRetry) {
+        this.clock = clock;
+        this.publicationLag = publicationLag;
+        this.fallbackRetry = fallbackRetry;
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return timeToLive(key, value).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return timeToLive(key, value).toNanos();
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration; // 조회는 만료 시각에 영향을 주지 않음
+    }
+
+    Duration timeToLive(Object key, Object value) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime keyBase = CacheKeys.kmaKeyBase(key);
+
+        if(isFallback(keyBase, value)) {
+            LocalDateTime expectedPublication = keyBase.plus(publicationLag);
+            Duration untilPublication = Duration.between(now, expectedPublication);
+            return untilPublication.compareTo(fallbackRetry) > 0 ? untilPublication : fallbackRetry;
+        }
+
+        Duration untilSuperseded = Duration.between(now, keyBase.plus(PUBLICATION_INTERVAL).plus(publicationLag));
+        return untilSuperseded.isNegative() ? Duration.ZERO : untilSuperseded;
+    }
+
+    /**
+     * 2차 시도 데이터 여부 : key의 발표 시각과 실제 데이터의 발표 시각이 다른 경우
+     */
+    public static boolean isFallback(Object key, Object value) {
+        return isFallback(CacheKeys.kmaKeyBase(key), value);
+    }
+
+    private static boolean isFallback(LocalDateTime keyBase, Object value) {
+        LocalDateTime dataBase = dataBase(value);
+        return dataBase != null && !dataBase.equals(keyBase);
+    }
+
+    // 응답 항목에 담긴 실제 발표 일자/시각
+    private static LocalDateTime dataBase(Object value) {
+        List<? extends KmaItem> items = null;
+        if(value instanceof NcstResponse r && r.response() != null && r.response().body() != null && r.response().body().items() != null) {
+            items = r.response().body().items().item();
+        } else if(value instanceof FcstResponse r && r.response() != null && r.response().body() != null && r.response().body().items() != null) {
+            items = r.response().body().items().item();
+        }
+        if(items == null || items.isEmpty()) return null;
+        return parse(items.get(0).baseDate(), items.get(0).baseTime());
+    }
+
+    private static LocalDateTime parse(String baseDate, String baseTime) {
+        if(baseDate == null || baseTime == null) return null;
+        return CacheKeys.kmaKeyBase(baseDate + ":" + baseTime);
+    }
+}
\ No newline at end of file
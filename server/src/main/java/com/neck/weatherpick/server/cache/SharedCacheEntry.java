@@ -0,0 +1,106 @@
+package com.neck.weatherpick.server.cache;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * <h5>서버 간 공유 캐시(L2)의 항목</h5>
+ * 값은 JSON 문자열로 저장하며, 읽을 때 캐시별 타입(LonLat, String 등)으로 변환한다.
+ * <br><br>
+ * 테이블은 애플리케이션이 만들지 않으므로(spring.jpa.hibernate.ddl-auto 미지정), 배포 전에 resources/db/shared_cache.sql로 직접 생성한다.
+ */
+@Entity
+@Table(name = "shared_cache", indexes = @Index(name = "idx_shared_cache_expires_at", columnList = "expires_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SharedCacheEntry implements Persistable<SharedCacheEntry.Id> {
+    public static final int MAX_KEY_LENGTH = 255;
+    public static final int MAX_VALUE_LENGTH = 4000;
+
+    @EmbeddedId
+    private Id id;
+
+    @Column(name = "cache_value", nullable = false, length = MAX_VALUE_LENGTH)
+    private String value;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    /*
+        ❓ Persistable을 구현한 이유
+        Key를 직접 지정하는 엔티티는 Spring Data JPA가 새 엔티티인지 알 수 없어, save 할 때마다 SELECT 후 merge 한다.
+        쓰기를 모아서 처리할 때는 기존 항목을 한 번에 조회(findAllById)해 두었으므로, 나머지는 바로 INSERT(persist) 하도록 직접 알려준다.
+    */
+    @Transient
+    private boolean isNew;
+
+    public SharedCacheEntry(Id id, String value, Instant expiresAt) {
+        this.id = id;
+        this.value = value;
+        this.expiresAt = expiresAt;
+        this.isNew = true;
+    }
+
+    void update(String value, Instant expiresAt) {
+        this.value = value;
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Embeddable
+    @Getter
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    @EqualsAndHashCode
+    public static class Id implements Serializable {
+        @Column(name = "cache_name", length = 32)
+        private String cacheName;
+
+        @Column(name = "cache_key", length = MAX_KEY_LENGTH)
+        private String cacheKey;
+
+        public Id(String cacheName, String cacheKey) {
+            this.cacheName = cacheName;
+            this.cacheKey = cacheKey;
+        }
+
+        /*
+            ❓ 긴 Key를 해시하는 이유
+            kakaoLonLat(지역 이름) 등의 Key는 사용자 입력으로 만들어지므로, 컬럼 길이(cache_key)를 넘을 수 있다.
+            그대로 저장하면 INSERT가 실패하므로, 넘는 Key는 SHA-256 값(71자)으로 바꿔 저장ㆍ조회한다.
+            ex) "서울 서울 서울 ... (300자)"  →  "sha256:9f86d081884c7d65..."
+        */
+        public static Id of(String cacheName, String key) {
+            return new Id(cacheName, key.length() <= MAX_KEY_LENGTH ? key : "sha256:" + sha256(key));
+        }
+
+        private static String sha256(String key) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+                return HexFormat.of().formatHex(digest);
+            } catch(NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e); // 모든 JDK에 포함된 알고리즘
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.neck.weatherpick.server.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// @Component
+@ConfigurationProperties(prefix = "shared-cache") // Relaxed Binding 지원 : ex) flush-interval ↔ flushInterval
+@Getter
+@Setter
+public class SharedCacheProperties {
+    private boolean enabled = true; // false : 서버별 캐시(Caffeine)만 사용
+
+    private Duration flushInterval = Duration.ofSeconds(1);     // 쓰기를 모아서 저장하는 주기(write-behind)
+    private int batchSize = 100;                                // 한 번에(트랜잭션 하나로) 저장할 최대 항목 수
+    private int maxPending = 10_000;                            // 저장을 기다리는 최대 항목 수(넘으면 버림  →  다음 캐시 미스 때 다시 저장)
+
+    private Duration readTimeout = Duration.ofMillis(200);      // 이보다 오래 걸리면 공유 캐시를 포기하고 외부 API 호출
+    private int readThreads = 4;                                // 조회(JDBC, 블로킹) 전용 스레드 수
+    private int readQueueSize = 100;                            // 스레드를 기다리는 최대 조회 수(넘으면 바로 캐시 미스)
+
+    private Duration purgeInterval = Duration.ofHours(1);       // 만료된 항목 삭제 주기
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.neck.weatherpick.server.cache;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface SharedCacheRepository extends JpaRepository<SharedCacheEntry, SharedCacheEntry.Id> {
+    // 항목을 하나씩 조회해 삭제하지 않고, DELETE 한 번으로 처리
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SharedCacheEntry e WHERE e.expiresAt < :now")
+    int deleteExpired(Instant now);
+}
\ No newline at end of file
@@ -0,0 +1,284 @@
+package com.neck.weatherpick.server.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <h5>서버 간 공유 캐시(L2, JPA)</h5>
+ * 서버마다 캐시(Caffeine)를 따로 두면, 같은 OpenAI 추천/카카오맵 조회를 서버마다 다시 호출하고 재시작하면 모두 잃는다.
+ * 따라서 서버 캐시(L1)에서 찾지 못한 경우, 외부 API를 호출하기 전에 모든 서버가 공유하는 DB 테이블(L2)을 먼저 조회한다.  →  TwoTierCaffeineCache 참고
+ * <ul>
+ *     <li>
+ *         조회 : 전용 스레드에서 JDBC로 조회하고, shared-cache.read-timeout 안에 응답이 없으면 캐시 미스로 처리<br>
+ *         (DB가 느리거나 장애가 나더라도, 공유 캐시 없이 동작할 뿐 요청이 실패하지는 않음)<br>
+ *         대기열(shared-cache.read-queue-size)이 가득 차면 기다리지 않고 바로 캐시 미스로 처리, 제한 시간이 지난 조회는 대기열에서 빼고 실행하지 않음
+ *     </li>
+ *     <li>
+ *         저장(write-behind) : 외부 API 응답을 바로 저장하지 않고 메모리에 모아 두었다가, shared-cache.flush-interval마다 트랜잭션 하나로 저장<br>
+ *         (같은 key를 여러 번 쓰면 마지막 값만 저장, 대기 항목이 shared-cache.max-pending을 넘으면 버림)<br>
+ *         트랜잭션이 실패하면 항목을 하나씩 다시 저장  →  잘못된 항목 하나 때문에 나머지까지 버리지 않음
+ *     </li>
+ * </ul>
+ * <pre>GET /actuator/metrics/cache.shared.gets?tag=result:hit</pre>
+ */
+@Component
+@ConditionalOnProperty(prefix = "shared-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SharedCacheStore {
+    private final SharedCacheRepository repository;
+    private final TransactionTemplate tx;
+    private final ObjectMapper om;
+    private final SharedCacheProperties props;
+    private final Clock clock;
+
+    private final ThreadPoolExecutor readExecutor;
+    private final ConcurrentHashMap<SharedCacheEntry.Id, Pending> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final Counter hits, misses, errors, written, dropped;
+
+    public SharedCacheStore(SharedCacheRepository repository, TransactionTemplate tx, ObjectMapper om, SharedCacheProperties props,
+                            Clock clock, MeterRegistry registry) {
+        this.repository = repository;
+        this.tx = tx;
+        this.om = om;
+        this.props = props;
+        this.clock = clock;
+
+        AtomicInteger threadNo = new AtomicInteger();
+        this.readExecutor = new ThreadPoolExecutor(props.getReadThreads(), props.getReadThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(props.getReadQueueSize()), r -> {
+                    Thread t = new Thread(r, "shared-cache-read-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy()); // 대기열이 가득 차면 RejectedExecutionException
+
+        this.hits = counter(registry, "cache.shared.gets", "result", "hit");
+        this.misses = counter(registry, "cache.shared.gets", "result", "miss");
+        this.errors = counter(registry, "cache.shared.gets", "result", "error");
+        this.written = counter(registry, "cache.shared.writes", "result", "written");
+        this.dropped = counter(registry, "cache.shared.writes", "result", "dropped");
+        Gauge.builder("cache.shared.pending", pendingCount, AtomicInteger::get)
+                .description("공유 캐시에 저장을 기다리는 항목 수")
+                .register(registry);
+    }
+
+    /**
+     * @return 만료되지 않은 값(없거나, 조회에 실패하거나, 시간 안에 응답이 없으면 null)
+     */
+    public <T> CompletableFuture<T> find(String cacheName, String key, Class<T> type) {
+        SharedCacheEntry.Id id = SharedCacheEntry.Id.of(cacheName, key);
+
+        // 아직 저장되지 않은(write-behind 대기 중인) 값도 공유 캐시에 있는 것으로 취급
+        Pending p = pending.get(id);
+        if(p != null) return CompletableFuture.completedFuture(type.cast(p.value));
+
+        /*
+            ❓ 대기열의 크기를 제한하는 이유
+            DB가 느려지면 조회가 스레드 수만큼만 실행되고 나머지는 대기열에 쌓인다.
+            제한이 없으면 이미 제한 시간이 지나 아무도 기다리지 않는 조회까지 쌓였다가 차례로 실행되어, DB가 회복된 뒤에도 한동안 밀린 조회만 한다.
+            → 대기열이 가득 차면 바로 캐시 미스(result=error)로 처리하고, 제한 시간이 지난 조회는 대기열에서 빼거나(remove) 실행 직전에 건너뜀
+              (이미 실행 중인 JDBC 조회는 중단할 수 없으므로, 끝날 때까지 스레드를 차지한다.  →  스레드 수로 제한)
+        */
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable task = () -> {
+            if(result.isDone()) return; // 기다리는 동안 제한 시간이 지남  →  조회하지 않음
+            try {
+                result.complete(repository.findById(id)
+                        .filter(e -> e.getExpiresAt().isAfter(clock.instant()))
+                        .map(e -> read(e, type))
+                        .orElse(null));
+            } catch(RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        };
+        try {
+            readExecutor.execute(task);
+        } catch(RejectedExecutionException e) {
+            errors.increment();
+            log.debug("공유 캐시 조회 대기열이 가득 참 : {} {}", cacheName, key);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return result
+                .orTimeout(props.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .handle((value, e) -> {
+                    if(e != null) {
+                        if(e instanceof TimeoutException) readExecutor.remove(task); // 아직 대기열에 있으면 빼냄
+                        errors.increment();
+                        log.warn("공유 캐시 조회 실패 : {} {}", cacheName, key, e);
+                        return null;
+                    }
+                    (value != null ? hits : misses).increment();
+                    return value;
+                });
+    }
+
+    /**
+     * 저장을 예약한다.(write-behind  →  flush 참고)
+     */
+    public void write(String cacheName, String key, Object value, Duration ttl) {
+        if(pendingCount.get() >= props.getMaxPending()) {
+            dropped.increment();
+            return;
+        }
+
+        Pending p = new Pending(value, clock.instant().plus(ttl));
+        if(pending.put(SharedCacheEntry.Id.of(cacheName, key), p) == null) pendingCount.incrementAndGet();
+    }
+
+    /**
+     * 대기 중인 항목을 batchSize개씩 트랜잭션 하나로 저장한다.
+     * @return 저장한 항목 수
+     */
+    // ISO-8601 형식(ex. PT1S)으로 지정
+    @Scheduled(fixedDelayString = "${shared-cache.flush-interval:PT1S}")
+    public int flush() {
+        int total = 0;
+        while(!pending.isEmpty()) {
+            Map<SharedCacheEntry.Id, Pending> batch = drain(props.getBatchSize());
+            if(batch.isEmpty()) break;
+
+            Map<SharedCacheEntry.Id, Row> rows = serialize(batch);
+            if(rows.isEmpty()) continue;
+
+            try {
+                tx.executeWithoutResult(status -> save(rows));
+                written.increment(rows.size());
+                total += rows.size();
+            } catch(DataAccessException | TransactionException e) {
+                // 트랜잭션 하나로 저장하므로, 항목 하나만 잘못되어도 모두 롤백된다.  →  하나씩 다시 저장해 나머지는 살림
+                log.warn("공유 캐시 저장 실패 : {}개  →  하나씩 다시 저장", rows.size(), e);
+                total += saveEach(rows);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 만료된 항목 삭제
+     */
+    @Scheduled(fixedDelayString = "${shared-cache.purge-interval:PT1H}")
+    public void purge() {
+        int deleted = repository.deleteExpired(clock.instant());
+        if(deleted > 0) log.info("만료된 공유 캐시 항목 삭제 : {}개", deleted);
+    }
+
+    int pendingCount() {
+        return pendingCount.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush(); // 종료 전에 남은 항목 저장
+        readExecutor.shutdownNow();
+    }
+
+    private Map<SharedCacheEntry.Id, Pending> drain(int max) {
+        Map<SharedCacheEntry.Id, Pending> batch = new HashMap<>();
+        Iterator<SharedCacheEntry.Id> it = pending.keySet().iterator();
+        while(it.hasNext() && batch.size() < max) {
+            SharedCacheEntry.Id id = it.next();
+            Pending p = pending.remove(id);
+            if(p == null) continue;
+            pendingCount.decrementAndGet();
+            batch.put(id, p);
+        }
+        return batch;
+    }
+
+    private Map<SharedCacheEntry.Id, Row> serialize(Map<SharedCacheEntry.Id, Pending> batch) {
+        Map<SharedCacheEntry.Id, Row> rows = new HashMap<>();
+        for(Map.Entry<SharedCacheEntry.Id, Pending> b : batch.entrySet()) {
+            String json = write(b.getValue().value);
+            if(json == null || json.length() > SharedCacheEntry.MAX_VALUE_LENGTH) {
+                // 직렬화에 실패했거나 컬럼 길이(cache_value)를 넘는 값  →  저장하지 않음(서버 캐시에는 남아 있음)
+                dropped.increment();
+                if(json != null) log.warn("공유 캐시 값이 너무 김 : {} {}자", b.getKey().getCacheName(), json.length());
+                continue;
+            }
+            rows.put(b.getKey(), new Row(json, b.getValue().expiresAt));
+        }
+        return rows;
+    }
+
+    private void save(Map<SharedCacheEntry.Id, Row> rows) {
+        // 기존 항목은 한 번에 조회해 수정(dirty checking), 나머지는 INSERT  →  hibernate.jdbc.batch_size 단위로 묶여서 전송
+        Map<SharedCacheEntry.Id, SharedCacheEntry> existing = new HashMap<>();
+        for(SharedCacheEntry e : repository.findAllById(rows.keySet())) existing.put(e.getId(), e);
+
+        List<SharedCacheEntry> inserts = new ArrayList<>();
+        for(Map.Entry<SharedCacheEntry.Id, Row> r : rows.entrySet()) {
+            SharedCacheEntry e = existing.get(r.getKey());
+            if(e != null) e.update(r.getValue().json, r.getValue().expiresAt);
+            else inserts.add(new SharedCacheEntry(r.getKey(), r.getValue().json, r.getValue().expiresAt));
+        }
+        repository.saveAll(inserts);
+    }
+
+    /**
+     * @return 저장한 항목 수
+     */
+    private int saveEach(Map<SharedCacheEntry.Id, Row> rows) {
+        int saved = 0;
+        for(Map.Entry<SharedCacheEntry.Id, Row> r : rows.entrySet()) {
+            try {
+                tx.executeWithoutResult(status -> save(Map.ofEntries(r)));
+                written.increment();
+                saved++;
+            } catch(DataAccessException | TransactionException e) {
+                // 다른 서버가 같은 key를 먼저 저장한 경우 등  →  캐시이므로 다시 시도하지 않고 버림
+                dropped.increment();
+                log.warn("공유 캐시 저장 실패 : {} {}", r.getKey().getCacheName(), r.getKey().getCacheKey(), e);
+            }
+        }
+        return saved;
+    }
+
+    private String write(Object value) {
+        try {
+            return om.writeValueAsString(value);
+        } catch(JsonProcessingException e) {
+            log.warn("공유 캐시 직렬화 실패 : {}", value.getClass(), e);
+            return null;
+        }
+    }
+
+    private <T> T read(SharedCacheEntry e, Class<T> type) {
+        try {
+            return om.readValue(e.getValue(), type);
+        } catch(JsonProcessingException ex) {
+            // 값의 형식이 바뀐 경우(배포 전후) 등  →  캐시 미스로 처리하고, 새로 조회한 값으로 덮어씀
+            log.warn("공유 캐시 역직렬화 실패 : {}", e.getId().getCacheKey(), ex);
+            return null;
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String... tags) {
+        return Counter.builder(name)
+                .tags(tags)
+                .register(registry);
+    }
+
+    private record Pending(Object value, Instant expiresAt) {}
+
+    private record Row(String json, Instant expiresAt) {}
+}
\ No newline at end of file
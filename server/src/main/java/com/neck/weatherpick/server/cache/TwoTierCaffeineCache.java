@@ -0,0 +1,73 @@
+package com.neck.weatherpick.server.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <h5>서버 캐시(L1, Caffeine) + 공유 캐시(L2, SharedCacheStore)</h5>
+ * <ol>
+ *     <li>L1 적중  →  그대로 반환</li>
+ *     <li>L1 미스  →  L2 조회(같은 key의 동시 요청은 하나의 조회를 공유)</li>
+ *     <li>L2 미스  →  외부 API 호출, 응답은 L1에 바로 저장하고 L2에는 나중에 모아서 저장(write-behind)</li>
+ * </ol>
+ * L2에서 가져온 값도 L1에 저장되므로, 같은 서버에서는 다시 L2를 조회하지 않는다.
+ * 외부 API 호출 횟수(loads)에는 L2 적중이 포함되지 않는다.
+ */
+public class TwoTierCaffeineCache extends CoalescingCaffeineCache {
+    private final SharedCacheStore store;
+    private final Class<?> valueType;
+    private final Duration ttl;
+    private final LongAdder sharedHits = new LongAdder();
+
+    /**
+     * @param valueType L2에 JSON으로 저장된 값을 읽을 때의 타입(캐싱 대상 메서드가 반환하는 Mono의 값 타입)
+     * @param ttl       L2 항목의 유효 기간
+     */
+    public TwoTierCaffeineCache(String name, AsyncCache<Object, Object> cache, SharedCacheStore store, Class<?> valueType, Duration ttl) {
+        super(name, cache);
+        this.store = store;
+        this.valueType = valueType;
+        this.ttl = ttl;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T> CompletableFuture<T> load(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return store.find(getName(), key.toString(), valueType).thenCompose(shared -> {
+            if(shared != null) {
+                sharedHits.increment();
+                return CompletableFuture.completedFuture((T)shared);
+            }
+            return super.load(key, valueLoader).thenApply(value -> {
+                if(value != null) store.write(getName(), key.toString(), value, ttl);
+                return value;
+            });
+        });
+    }
+
+    /**
+     * 캐시를 거치지 않고 만든 값(ex. 스트리밍으로 완성된 추천)을 L2에도 저장
+     */
+    public void writeShared(Object key, Object value) {
+        store.write(getName(), key.toString(), value, ttl);
+    }
+
+    /**
+     * L2에서 값을 조회(L1은 확인하지 않음), 적중하면 cache.shared.hits에 집계
+     * @return 없으면 null
+     */
+    public CompletableFuture<Object> findShared(Object key) {
+        return store.find(getName(), key.toString(), valueType).thenApply(value -> {
+            if(value != null) sharedHits.increment();
+            return value;
+        });
+    }
+
+    public long sharedHitCount() {
+        return sharedHits.sum();
+    }
+}
\ No newline at end of file
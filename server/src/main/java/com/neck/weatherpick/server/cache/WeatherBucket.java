@@ -0,0 +1,45 @@
+package com.neck.weatherpick.server.cache;
+
+import com.neck.weatherpick.server.dto.WeatherNowResponse;
+
+/**
+ * <h5>추천에 사용하는 날씨 구간(aiKey의 구성 요소)</h5>
+ * 미세한 차이는 체감하기 어려우므로, 날씨를 몇 개의 구간으로 나눠 같은 구간끼리 추천을 공유한다.
+ * 캐시 Key(CacheKeys.aiKey)와 규칙 기반 추천(OutfitRules)이 같은 구간을 사용하도록, 구간 계산은 여기에서만 한다.
+ * @param tempC       기온 : 1도 단위 반올림
+ * @param humidity    습도 : 5% 단위 내림
+ * @param windSpeedMs 풍속 : 1m/s 단위 반올림
+ * @param rain        1시간 강수량 구간 : 0(0.0mm), 1(0.1 ~ 1.0mm), 2(1.1 ~ 5.0mm), 3(5.1mm 이상)
+ */
+public record WeatherBucket(int tempC, int humidity, int windSpeedMs, int rain, String precipType, String skyType) {
+    public static final int RAIN_BUCKETS = 4;
+    private static final String[] RAIN_LABELS = {"0", "0-1", "1-5", "5+"};
+
+    public static WeatherBucket of(WeatherNowResponse w) {
+        return new WeatherBucket(
+                (int)Math.round(w.tempC()),
+                (w.humidity() / 5) * 5,
+                (int)Math.round(w.windSpeedMs()),
+                rainBucket(w.precipitation1hMm()),
+                w.precipType(),
+                w.skyType()
+        );
+    }
+
+    // ex) "t=-8|h=40|ws=3|rn=0|pty=NONE|sky=CLEAR"
+    public String key() {
+        return "t=" + tempC +
+                "|h=" + humidity +
+                "|ws=" + windSpeedMs +
+                "|rn=" + RAIN_LABELS[rain] +
+                "|pty=" + precipType +
+                "|sky=" + skyType;
+    }
+
+    private static int rainBucket(double rn1) {
+        if(rn1 <= 0) return 0;  // 0.0mm
+        if(rn1 <= 1) return 1;  // 0.1 ~ 1.0mm
+        if(rn1 <= 5) return 2;  // 1.1 ~ 5.0mm
+        return 3;               // 5.1mm 이상
+    }
+}
\ No newline at end of file
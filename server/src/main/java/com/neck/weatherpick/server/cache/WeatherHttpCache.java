@@ -0,0 +1,124 @@
+package com.neck.weatherpick.server.cache;
+
+import com.neck.weatherpick.server.client.kma.KmaPublicationLagTracker;
+import com.neck.weatherpick.server.dto.WeatherNowResponse;
+import com.neck.weatherpick.server.service.OutfitRules;
+import com.neck.weatherpick.server.service.RecommendationProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+
+/**
+ * <h5>GET /api/weather/now의 HTTP 캐시(브라우저, CDN) 검증자(ETag)와 유효 기간(Cache-Control)</h5>
+ * 응답은 날씨(격자의 실황ㆍ예보 + 발표 시각)와 추천 구간(aiKey)만으로 정해지며, 다음 발표 전까지는 바뀌지 않는다.
+ * 그런데 검증자가 없으면, 클라이언트가 다시 조회(polling)할 때마다 같은 응답을 처음부터 다시 받는다.
+ * <ul>
+ *     <li>ETag : 날씨(주소, 관측값, 발표 시각) + aiKey + 추천 모드의 해시  →  추천 문장을 만들기 전에 계산할 수 있음(OpenAI가 추천하는 구간은 약한 검증자)</li>
+ *     <li>Cache-Control : 응답이 바뀔 수 있는 가장 이른 시각(다음 실황ㆍ예보 반영, 하늘 상태가 가리키는 예보 시각 변경)까지 max-age</li>
+ *     <li>If-None-Match가 일치하면 추천(OutfitRecommendationService) 없이 304(Not Modified)  →  WeatherController 참고</li>
+ * </ul>
+ * 격자 좌표는 응답에 담기지 않지만, 같은 URL은 항상 같은 격자를 조회하고 관측값은 (격자, 발표 시각)마다 정해지므로 따로 넣지 않는다.
+ */
+@Component
+public class WeatherHttpCache {
+    private static final DateTimeFormatter KMA_DT_FMT = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+    private static final Duration PUBLICATION_INTERVAL = Duration.ofHours(1);
+    private static final int SKY_SWITCH_MINUTE = 31; // 하늘 상태는 가장 가까운 예보 시각(HH00)을 따르므로, 매 시각 31분에 다음 예보 시각으로 바뀜(WeatherSnapshot.skyAt)
+
+    private final KmaPublicationLagTracker lagTracker;
+    private final RecommendationProperties recommendationProps;
+    private final OutfitRules rules;
+    private final Clock clock;
+
+    public WeatherHttpCache(KmaPublicationLagTracker lagTracker, RecommendationProperties recommendationProps, OutfitRules rules, Clock clock) {
+        this.lagTracker = lagTracker;
+        this.recommendationProps = recommendationProps;
+        this.rules = rules;
+        this.clock = clock;
+    }
+
+    /*
+        ❓ 구간마다 강한/약한 검증자를 나눠 쓰는 이유
+        강한 검증자는 '본문이 바이트 단위로 같다'는 뜻인데, ETag는 추천 문장을 만들기 전에(날씨만으로) 계산한다.
+        규칙 테이블(OutfitRules)이 추천하는 구간은 구간마다 정해진 문장이지만, 그 밖의 구간(rules 모드에서 테이블 범위를 벗어난 구간, rich 모드의 모든 구간)은
+        OpenAI가 만들므로 캐시가 만료되어 다시 만들면 같은 날씨라도 문장이 달라질 수 있다.  →  이 경우 '의미상 같음'을 뜻하는 약한 검증자(W/)
+        (OutfitRecommendationService와 같은 기준 : rules 모드 + 테이블에 있는 구간만 규칙 테이블로 추천)
+    */
+    /**
+     * @return 규칙 테이블이 추천하는 구간 : 강한 검증자 ex) "3f1c9a..." / OpenAI가 추천하는 구간 : 약한 검증자 ex) W/"3f1c9a..."
+     */
+    public String etag(WeatherNowResponse w) {
+        String source = w.resolvedAddress() + "|" + w.resolvedPlaceName()
+                + "|" + w.tempC() + "|" + w.precipitation1hMm() + "|" + w.humidity() + "|" + w.windSpeedMs()
+                + "|" + w.ncstBase() + "|" + w.fcstBase() + "|" + w.stale()
+                + "|" + CacheKeys.aiKey(w) + "|" + recommendationProps.getMode();
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            String tag = "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+            return byRules(w) ? tag : "W/" + tag;
+        } catch(NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JVM이 지원해야 하는 알고리즘
+        }
+    }
+
+    private boolean byRules(WeatherNowResponse w) {
+        return recommendationProps.getMode() == RecommendationProperties.Mode.RULES && rules.recommend(WeatherBucket.of(w)).isPresent();
+    }
+
+    /**
+     * If-None-Match(여러 개, *, 약한 검증자 W/ 포함)에 etag가 있는지 확인  →  있으면 304
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if(ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+
+        String opaque = stripWeak(etag); // If-None-Match는 약한 비교(RFC 9110)  →  양쪽 모두 W/를 떼고 비교
+        for(String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if(tag.equals("*")) return true;
+            if(stripWeak(tag).equals(opaque)) return true;
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    public CacheControl cacheControl(WeatherNowResponse w) {
+        return CacheControl.maxAge(maxAge(w)).cachePublic();
+    }
+
+    /**
+     * 응답이 바뀔 수 있는 가장 이른 시각까지 남은 시간(이미 지났으면 0  →  매번 검증)
+     * <ul>
+     *     <li>다음 실황 : 실황 발표 시각 + 1시간 + 추정 발표 지연</li>
+     *     <li>다음 예보 : 예보 발표 시각 + 1시간 + 추정 발표 지연</li>
+     *     <li>하늘 상태 : 다음 HH31</li>
+     * </ul>
+     * stale 응답(직전 발표분)은 발표 시각이 한 시간 이르므로, 새 발표분이 반영될 예상 시각이 이미 지났거나 곧 다가온다.
+     */
+    Duration maxAge(WeatherNowResponse w) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime nextNcst = LocalDateTime.parse(w.ncstBase(), KMA_DT_FMT).plus(PUBLICATION_INTERVAL).plus(lagTracker.ncstLag());
+        LocalDateTime nextFcst = LocalDateTime.parse(w.fcstBase(), KMA_DT_FMT).plus(PUBLICATION_INTERVAL).plus(lagTracker.fcstLag());
+        LocalDateTime nextSky = now.truncatedTo(ChronoUnit.HOURS).plusMinutes(SKY_SWITCH_MINUTE);
+        if(!nextSky.isAfter(now)) nextSky = nextSky.plusHours(1);
+
+        LocalDateTime earliest = min(min(nextNcst, nextFcst), nextSky);
+        Duration remaining = Duration.between(now, earliest);
+        return remaining.isNegative() ? Duration.ZERO : remaining.truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.neck.weatherpick.server.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.neck.weatherpick.server.service.WeatherSnapshot;
+
+import java.time.Duration;
+
+/**
+ * <h5>kmaSnapshot 캐시의 만료 시각</h5>
+ * <ul>
+ *     <li>
+ *         정상 스냅숏 : 발표 시각이 Key에 포함되어 있으므로, 새 발표 시각이 되면 자연히 더 이상 조회되지 않는다.<br>
+ *         따라서 발표 주기(1시간)만큼만 유지한다.
+ *     </li>
+ *     <li>
+ *         stale 스냅숏(직전 발표분으로 만든 경우) : 원본 캐시(kmaNcst, kmaFcst)가 재검증으로 갱신되면 곧바로 반영되도록, 짧게 유지한다.
+ *     </li>
+ * </ul>
+ * @see CacheKeys#kmaSnapshotKey
+ */
+public class WeatherSnapshotExpiry implements Expiry<Object, Object> {
+    private static final Duration PUBLICATION_INTERVAL = Duration.ofHours(1);
+
+    private final Duration staleTtl;
+
+    public WeatherSnapshotExpiry(Duration staleTtl) {
+        this.staleTtl = staleTtl;
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return timeToLive(value).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return timeToLive(value).toNanos();
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration; // 조회는 만료 시각에 영향을 주지 않음
+    }
+
+    private Duration timeToLive(Object value) {
+        return value instanceof WeatherSnapshot s && s.stale() ? staleTtl : PUBLICATION_INTERVAL;
+    }
+}
\ No newline at end of file
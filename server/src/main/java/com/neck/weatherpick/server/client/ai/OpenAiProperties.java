@@ -1,5 +1,6 @@
 package com.neck.weatherpick.server.client.ai;
 
+import com.neck.weatherpick.server.client.http.UpstreamHttpProperties;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -12,4 +13,5 @@ public class OpenAiProperties {
     private String baseUrl;
     private String apiKey;
     private String model;
+    private UpstreamHttpProperties http = new UpstreamHttpProperties(); // 연결 풀, 타임아웃(UpstreamHttpClients)
 }
\ No newline at end of file
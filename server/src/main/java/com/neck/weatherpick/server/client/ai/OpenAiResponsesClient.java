@@ -2,10 +2,17 @@ package com.neck.weatherpick.server.client.ai;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neck.weatherpick.server.client.http.UpstreamHttpClients;
+import com.neck.weatherpick.server.metrics.TimedMono;
+import com.neck.weatherpick.server.metrics.UpstreamMetrics;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -16,20 +23,78 @@ import java.util.Map;
  */
 @Component
 public class OpenAiResponsesClient {
+    private static final ParameterizedTypeReference<ServerSentEvent<JsonNode>> SSE_TYPE = new ParameterizedTypeReference<>() {};
+
     private final OpenAiProperties props;
     private final ObjectMapper om;
     private final WebClient webClient;
+    private final TimedMono responseCalls;
+    private final TimedMono streamCalls;
 
-    public OpenAiResponsesClient(OpenAiProperties props, ObjectMapper om, WebClient.Builder webClientBuilder) {
+    public OpenAiResponsesClient(OpenAiProperties props, ObjectMapper om, WebClient.Builder webClientBuilder,
+                                 UpstreamHttpClients httpClients, UpstreamMetrics metrics) {
         this.props = props;
         this.om = om;
         this.webClient = webClientBuilder
+                .apply(httpClients.configure("openai", props.getHttp()))
                 .baseUrl(props.getBaseUrl())
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE) // 요청 바디 형식 지정(Content-Type: application/json)
                 .build();
+        this.responseCalls = metrics.endpoint("openai", "responses");
+        this.streamCalls = metrics.endpoint("openai", "responses-stream"); // 스트리밍은 전체 응답 시간이 같더라도 첫 조각이 먼저 도착하므로 따로 기록
+    }
+
+    public Mono<JsonNode> createTextResponse(String system, String user) {
+        return responseCalls.wrap(webClient.post() // 응답 시간 측정
+                .uri("/responses")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + props.getApiKey())
+                .bodyValue(requestBody(system, user, false))
+                .retrieve() // 요청 전송 + 응답받을 준비
+                .bodyToMono(JsonNode.class)); // JSON → JsonNode 객체로 변환(Mono : 응답이 0 ~ 1개인 경우 / Flux : 0 ~ 여러 개)
+    }
+
+    /*
+        ❓ 스트리밍(stream : true)
+        응답 전체가 만들어질 때까지 기다리지 않고, 만들어지는 대로 조금씩(delta) 받는다.(Server-Sent Events)
+        → 첫 글자가 도착하는 시간이 전체 응답 시간과 관계없어짐
+
+        📣 응답 예시 📣
+        event: response.created
+        data: {"type":"response.created", ...}
+
+        event: response.output_text.delta
+        data: {"type":"response.output_text.delta", ..., "delta":"- 옷차림 : "}
+
+        event: response.output_text.delta
+        data: {"type":"response.output_text.delta", ..., "delta":"패딩"}
+
+        event: response.completed
+        data: {"type":"response.completed", ...}
+    */
+    /**
+     * @return 응답 텍스트 조각(delta)들(이어 붙이면 extractOutputText와 같은 전체 텍스트)
+     */
+    public Flux<String> streamTextResponse(String system, String user) {
+        return streamCalls.wrap(webClient.post() // 응답 시간 측정(마지막 조각까지)
+                .uri("/responses")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + props.getApiKey())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(requestBody(system, user, true))
+                .retrieve()
+                .bodyToFlux(SSE_TYPE)
+                .takeUntil(event -> "response.completed".equals(event.event()))
+                .<String>handle((event, sink) -> {
+                    JsonNode data = event.data();
+                    String type = event.event() != null ? event.event() : data != null && data.has("type") ? data.get("type").asText() : "";
+                    switch(type) {
+                        case "response.output_text.delta" -> sink.next(data.get("delta").asText());
+                        case "error", "response.failed" -> sink.error(new IllegalStateException("OpenAI 스트리밍 응답 실패 : " + data));
+                        default -> {} // 그 외 이벤트(created, in_progress, completed 등)는 무시
+                    }
+                }));
     }
 
-    public JsonNode createTextResponse(String system, String user) {
+    private Map<String, Object> requestBody(String system, String user, boolean stream) {
         LinkedHashMap<String, Object> body = new LinkedHashMap<>();
         body.put("model", props.getModel());
         body.put("temperature", 0); // 응답 변동성 최소화(0 : 같은 입력에 항상 같은 출력)
@@ -38,14 +103,8 @@ public class OpenAiResponsesClient {
                 Map.of("role", "system", "content", system),
                 Map.of("role", "user", "content", user)
         ));
-
-        return webClient.post()
-                .uri("/responses")
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + props.getApiKey())
-                .bodyValue(body)
-                .retrieve() // 요청 전송 + 응답받을 준비
-                .bodyToMono(JsonNode.class) // JSON → JsonNode 객체로 변환(Mono : 응답이 0 ~ 1개인 경우 / Flux : 0 ~ 여러 개)
-                .block(); // 완료될 때까지 대기
+        if(stream) body.put("stream", true);
+        return body;
     }
 
     /*
@@ -1,9 +1,14 @@
 package com.neck.weatherpick.server.client.geo;
 
 import com.neck.weatherpick.server.client.geo.dto.request.LonLat;
+import com.neck.weatherpick.server.client.http.UpstreamHttpClients;
+import com.neck.weatherpick.server.client.http.UpstreamQuotaExceededException;
+import com.neck.weatherpick.server.metrics.TimedMono;
+import com.neck.weatherpick.server.metrics.UpstreamMetrics;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 /**
  * @see <a href="https://developers.kakao.com/docs/latest/ko/local/dev-guide">API Docs</a>
@@ -12,10 +17,17 @@ import org.springframework.web.reactive.function.client.WebClient;
 public class KakaoLocalClient {
     private final KakaoLocalProperties props;
     private final WebClient webClient;
+    private final TimedMono keywordCalls;
+    private final TimedMono coordCalls;
 
-    public KakaoLocalClient(KakaoLocalProperties props) {
+    public KakaoLocalClient(KakaoLocalProperties props, UpstreamHttpClients httpClients, UpstreamMetrics metrics) {
         this.props = props;
-        this.webClient = WebClient.builder().baseUrl(props.getBaseUrl()).build();
+        this.webClient = WebClient.builder()
+                .apply(httpClients.configure("kakao", props.getHttp()))
+                .baseUrl(props.getBaseUrl())
+                .build();
+        this.keywordCalls = metrics.endpoint("kakao", "keyword");
+        this.coordCalls = metrics.endpoint("kakao", "coord2address");
     }
 
     /*
@@ -36,12 +48,12 @@ public class KakaoLocalClient {
     @Cacheable(
             cacheNames = "kakaoLonLat",
             key = "T(com.neck.weatherpick.server.cache.CacheKeys).kakaoKeywordToLonLatKey(#p0)",
-            unless = "#result == null"
+            sync = true // 동일한 key에 대한 동시 요청은 하나의 외부 API 호출을 공유(single-flight)
     )
-    public LonLat keywordToLonLat(String regionName) {
+    public Mono<LonLat> keywordToLonLat(String regionName) {
         String query = regionName.trim();
 
-        KakaoKeywordResponse res = webClient.get()
+        Mono<KakaoKeywordResponse> call = webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/v2/local/search/keyword.json")
                         .queryParam("query", query)
@@ -49,14 +61,16 @@ public class KakaoLocalClient {
                         .build())
                 .header("Authorization", "KakaoAK " + props.getRestApiKey())
                 .retrieve() // 요청 전송 + 응답받을 준비
-                .bodyToMono(KakaoKeywordResponse.class) // JSON → KakaoKeywordResponse 객체로 변환(Mono : 응답이 0 ~ 1개인 경우 / Flux : 0 ~ 여러 개)
-                .block(); // 완료될 때까지 대기
+                .bodyToMono(KakaoKeywordResponse.class); // JSON → KakaoKeywordResponse 객체로 변환(Mono : 응답이 0 ~ 1개인 경우 / Flux : 0 ~ 여러 개)
 
-        String addressName = res.documents[0].address_name;
-        String placeName = res.documents[0].place_name;
-        double lon = Double.parseDouble(res.documents[0].x);
-        double lat = Double.parseDouble(res.documents[0].y);
-        return new LonLat(addressName, placeName, lon, lat);
+        return keywordCalls.wrap(call) // 응답 시간 측정
+                .map(res -> {
+                    String addressName = res.documents[0].address_name;
+                    String placeName = res.documents[0].place_name;
+                    double lon = Double.parseDouble(res.documents[0].x);
+                    double lat = Double.parseDouble(res.documents[0].y);
+                    return new LonLat(addressName, placeName, lon, lat);
+                });
     }
 
     /*
@@ -79,10 +93,10 @@ public class KakaoLocalClient {
     @Cacheable(
             cacheNames = "kakaoAddr",
             key = "T(com.neck.weatherpick.server.cache.CacheKeys).kakaoCoordToAddressKey(#p0, #p1)",
-            unless = "#result == null"
+            sync = true // 동일한 key에 대한 동시 요청은 하나의 외부 API 호출을 공유(single-flight)
     )
-    public String coordToAddress(double lon, double lat) {
-        KakaoCoordResponse res = webClient.get()
+    public Mono<String> coordToAddress(double lon, double lat) {
+        Mono<KakaoCoordResponse> call = webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/v2/local/geo/coord2address.json")
                         .queryParam("x", lon)
@@ -90,10 +104,11 @@ public class KakaoLocalClient {
                         .build())
                 .header("Authorization", "KakaoAK " + props.getRestApiKey())
                 .retrieve()
-                .bodyToMono(KakaoCoordResponse.class)
-                .block();
+                .bodyToMono(KakaoCoordResponse.class);
 
-        return res.documents[0].address.address_name;
+        return coordCalls.wrap(call)
+                .map(res -> res.documents[0].address.address_name)
+                .onErrorResume(UpstreamQuotaExceededException.class, e -> Mono.empty()); // 호출 한도 초과  →  주소 없이 날씨만 응답(바다 등 주소가 없는 좌표와 같음)
     }
 
     static class KakaoKeywordResponse {
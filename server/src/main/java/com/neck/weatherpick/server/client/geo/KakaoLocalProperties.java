@@ -1,5 +1,6 @@
 package com.neck.weatherpick.server.client.geo;
 
+import com.neck.weatherpick.server.client.http.UpstreamHttpProperties;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -11,4 +12,5 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class KakaoLocalProperties {
     private String baseUrl;
     private String restApiKey;
+    private UpstreamHttpProperties http = new UpstreamHttpProperties(); // 연결 풀, 타임아웃(UpstreamHttpClients)
 }
\ No newline at end of file
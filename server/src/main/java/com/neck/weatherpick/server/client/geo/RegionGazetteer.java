@@ -0,0 +1,207 @@
+package com.neck.weatherpick.server.client.geo;
+
+import com.neck.weatherpick.server.client.geo.dto.request.LonLat;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * <h5>행정구역 이름 ↔ 대표 위ㆍ경도(오프라인 지명 사전)</h5>
+ * 사용자가 입력하는 지역은 대부분 '서울', '강남구', '부산 해운대구', '수원'처럼 행정구역 이름이다.
+ * 이런 입력까지 카카오맵 API(키워드 검색)를 호출할 필요는 없으므로, 시/도 및 시/군/구의 대표 좌표(시청, 구청 등)를 함께 배포해 두고 먼저 찾아본다.
+ * 사전에 없는 입력(장소명, 도로명 주소 등)만 카카오맵 API로 조회한다.  →  WeatherService 참고
+ * <ul>
+ *     <li>데이터 : classpath:geo/regions.tsv(약 240개 행정구역)</li>
+ *     <li>구조 : 정렬된 이름 배열 + 이진 탐색(이름 약 1,000개), 좌표는 float 배열로 보관  →  힙 사용량 약 100KB</li>
+ *     <li>
+ *         검색 : 공백 제거, 유니코드 정규화(NFC) 후 일치하는 이름을 찾는다.<br>
+ *         '중구', '서구'처럼 여러 시/도에 있는 이름은 어느 곳인지 알 수 없으므로, 사전에서 제외한다.(카카오맵 API로 조회)
+ *     </li>
+ *     <li>
+ *         역방향 검색(위ㆍ경도  →  주소) : 시/군/구 대표 좌표를 격자 버킷(BUCKET_DEG 단위)에 나눠 담아 두고, 가장 가까운 시/군/구를 찾는다.<br>
+ *         경계(폴리곤) 대신 대표 좌표 간 거리로 판단하므로, 시/군/구 경계 근처에서는 이웃 시/군/구로 판단될 수 있다.
+ *     </li>
+ * </ul>
+ */
+@Component
+public class RegionGazetteer {
+    private static final String DEFAULT_LOCATION = "geo/regions.tsv";
+
+    // 역방향 검색용 격자 버킷 : 0.25도(약 25km) 단위, 한반도 남쪽(위도 33 ~ 39, 경도 124 ~ 132) 범위
+    private static final double BUCKET_DEG = 0.25;
+    private static final double MIN_LON = 124.0, MIN_LAT = 33.0;
+    private static final int BUCKET_COLS = 32, BUCKET_ROWS = 24;
+
+    private final String[] keys;        // 정렬된 검색 이름
+    private final int[] keyToRegion;    // keys[i]에 해당하는 행정구역 번호
+    private final String[] names;       // 행정구역 번호별 공식 명칭(ex. 서울특별시 종로구)
+    private final float[] lons;
+    private final float[] lats;
+
+    // 버킷 b에 속한 시/군/구 번호 : bucketRegions[bucketStart[b] ~ bucketStart[b + 1] - 1]
+    private final int[] bucketStart;
+    private final int[] bucketRegions;
+
+    public RegionGazetteer() {
+        this(new ClassPathResource(DEFAULT_LOCATION));
+    }
+
+    RegionGazetteer(Resource resource) {
+        List<String> nameList = new ArrayList<>();
+        List<float[]> coordList = new ArrayList<>();
+
+        /*
+            ❓ 이름의 우선순위
+            - 1순위 : 공식 명칭(서울특별시 종로구), 시/도 별칭 + 시/군/구(서울 종로구), 시/도 자체(서울, 광주)
+            - 2순위 : 시/군/구 단독(종로구), 접미사(시/군/구)를 뗀 이름(종로, 수원)
+            2순위 이름은 다른 행정구역과 겹치면 제외하고, 1순위 이름과 겹치면 1순위를 따른다.
+            ex) '광주'  →  광주광역시(1순위) / 경기도 광주시(2순위)  →  광주광역시
+        */
+        Map<String, Integer> primary = new HashMap<>();
+        Map<String, Integer> secondary = new HashMap<>();
+        Set<String> ambiguous = new HashSet<>();
+        List<Integer> districts = new ArrayList<>();       // 역방향 검색 대상(시/군/구)
+        Map<String, Integer> childlessSido = new HashMap<>(); // 시/군/구가 없는 시/도(세종)도 역방향 검색 대상
+
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while((line = reader.readLine()) != null) {
+                if(line.isBlank() || line.startsWith("#")) continue;
+
+                // 시/도 별칭(|로 구분, 첫 번째가 공식 명칭) \t 시/군/구 \t 경도 \t 위도
+                String[] cols = line.split("\t", -1);
+                String[] sidoAliases = cols[0].split("\\|");
+                String sigungu = cols[1];
+                int region = nameList.size();
+
+                nameList.add(sigungu.isEmpty() ? sidoAliases[0] : sidoAliases[0] + " " + sigungu);
+                coordList.add(new float[] {Float.parseFloat(cols[2]), Float.parseFloat(cols[3])});
+
+                if(sigungu.isEmpty()) {
+                    for(String alias : sidoAliases) put(primary, normalize(alias), region, ambiguous);
+                    childlessSido.put(sidoAliases[0], region);
+                    continue;
+                }
+                districts.add(region);
+                childlessSido.remove(sidoAliases[0]);
+
+                for(String alias : sidoAliases) put(primary, normalize(alias + sigungu), region, ambiguous);
+                put(secondary, normalize(sigungu), region, ambiguous);
+                String stem = sigungu.substring(0, sigungu.length() - 1); // 종로구 → 종로
+                if(stem.length() >= 2) put(secondary, normalize(stem), region, ambiguous);
+            }
+        } catch(IOException e) {
+            throw new UncheckedIOException("지명 사전 로딩 실패 : " + resource, e);
+        }
+
+        Map<String, Integer> merged = new HashMap<>(secondary);
+        merged.putAll(primary); // 1순위 이름이 겹치는 2순위 이름을 덮어씀
+        merged.keySet().removeIf(k -> ambiguous.contains(k) && !primary.containsKey(k));
+
+        this.keys = merged.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        this.keyToRegion = new int[keys.length];
+        for(int i = 0; i < keys.length; i++) keyToRegion[i] = merged.get(keys[i]);
+
+        this.names = nameList.toArray(new String[0]);
+        this.lons = new float[names.length];
+        this.lats = new float[names.length];
+        for(int i = 0; i < names.length; i++) {
+            lons[i] = coordList.get(i)[0];
+            lats[i] = coordList.get(i)[1];
+        }
+
+        districts.addAll(childlessSido.values());
+        this.bucketStart = new int[BUCKET_COLS * BUCKET_ROWS + 1];
+        this.bucketRegions = new int[districts.size()];
+        for(int region : districts) bucketStart[bucketOf(lons[region], lats[region]) + 1]++;
+        for(int b = 0; b < BUCKET_COLS * BUCKET_ROWS; b++) bucketStart[b + 1] += bucketStart[b];
+        int[] fill = Arrays.copyOf(bucketStart, bucketStart.length - 1);
+        for(int region : districts) bucketRegions[fill[bucketOf(lons[region], lats[region])]++] = region;
+    }
+
+    /**
+     * @return 사전에 있는 행정구역이면 그 대표 좌표(addressName : 공식 명칭), 없으면 empty
+     */
+    public Optional<LonLat> find(String regionName) {
+        if(regionName == null) return Optional.empty();
+
+        int i = Arrays.binarySearch(keys, normalize(regionName));
+        if(i < 0) return Optional.empty();
+
+        int region = keyToRegion[i];
+        return Optional.of(new LonLat(names[region], null, lons[region], lats[region]));
+    }
+
+    /**
+     * 가장 가까운 시/군/구의 공식 명칭(ex. 인천광역시 부평구)
+     * @param maxDistanceKm 이보다 멀리 떨어진 시/군/구밖에 없다면(바다, 해외 등) empty
+     */
+    public Optional<String> nearest(double lon, double lat, double maxDistanceKm) {
+        int col = (int)Math.floor((lon - MIN_LON) / BUCKET_DEG);
+        int row = (int)Math.floor((lat - MIN_LAT) / BUCKET_DEG);
+        double kmPerLonDeg = 111.32 * Math.cos(Math.toRadians(lat));
+        double bucketKm = BUCKET_DEG * Math.min(kmPerLonDeg, 110.57); // 버킷 한 칸의 최소 폭
+
+        int best = -1;
+        double bestKm = maxDistanceKm;
+        // 가운데 버킷부터 한 겹씩 넓혀 가며 찾다가, 다음 겹까지의 최소 거리가 현재 최단 거리보다 멀어지면 멈춘다.
+        for(int ring = 0; (ring - 1) * bucketKm <= bestKm; ring++) {
+            for(int r = row - ring; r <= row + ring; r++) {
+                for(int c = col - ring; c <= col + ring; c++) {
+                    if(Math.max(Math.abs(r - row), Math.abs(c - col)) != ring) continue; // 이번 겹의 테두리만
+                    if(r < 0 || r >= BUCKET_ROWS || c < 0 || c >= BUCKET_COLS) continue;
+
+                    int b = r * BUCKET_COLS + c;
+                    for(int i = bucketStart[b]; i < bucketStart[b + 1]; i++) {
+                        int region = bucketRegions[i];
+                        double dx = (lons[region] - lon) * kmPerLonDeg;
+                        double dy = (lats[region] - lat) * 110.57;
+                        double km = Math.sqrt(dx * dx + dy * dy);
+                        if(km <= bestKm) {
+                            bestKm = km;
+                            best = region;
+                        }
+                    }
+                }
+            }
+            if(ring > Math.max(BUCKET_COLS, BUCKET_ROWS)) break;
+        }
+        return best < 0 ? Optional.empty() : Optional.of(names[best]);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    // ex) " 서울 종로구 "  →  "서울종로구"
+    static String normalize(String s) {
+        String nfc = Normalizer.normalize(s, Normalizer.Form.NFC); // 자모가 분리된 입력(NFD, ex. macOS)도 같은 이름으로 취급
+        StringBuilder sb = new StringBuilder(nfc.length());
+        for(int i = 0; i < nfc.length(); i++) {
+            char c = nfc.charAt(i);
+            if(!Character.isWhitespace(c)) sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    // 범위 밖의 좌표는 가장자리 버킷에 담음
+    private static int bucketOf(double lon, double lat) {
+        int col = Math.max(0, Math.min(BUCKET_COLS - 1, (int)Math.floor((lon - MIN_LON) / BUCKET_DEG)));
+        int row = Math.max(0, Math.min(BUCKET_ROWS - 1, (int)Math.floor((lat - MIN_LAT) / BUCKET_DEG)));
+        return row * BUCKET_COLS + col;
+    }
+
+    private static void put(Map<String, Integer> map, String key, int region, Set<String> ambiguous) {
+        Integer existing = map.putIfAbsent(key, region);
+        if(existing != null && existing != region) ambiguous.add(key);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.neck.weatherpick.server.client.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * <h5>외부 API(공공데이터포털, 카카오맵, OpenAI) 공용 HTTP 전송 계층(reactor-netty)</h5>
+ * WebClient.builder()를 그대로 사용하면 연결 풀 크기, 타임아웃이 정해져 있지 않아, 응답이 오지 않는 요청 하나가 끝없이 기다릴 수 있다.
+ * <ul>
+ *     <li>연결 풀 : 외부 API마다 이름 붙은 풀(최대 연결 수, 대기 요청 수 상한)  →  한 API가 느려져도 다른 API의 연결을 차지하지 않음</li>
+ *     <li>타임아웃 : 연결(connect), 응답 대기(response, 데이터 사이 간격), 전체(overall, 요청 ~ 본문 끝)</li>
+ *     <li>gzip : 응답 압축 요청 + 자동 해제</li>
+ *     <li>호출 한도 : 하루/초당 한도를 넘는 호출은 보내지 않고 바로 실패(UpstreamQuota, UpstreamQuotaExceededException), quota.per-endpoint면 API마다 따로</li>
+ *     <li>지표 : upstream.pool.connections(state=active/idle), upstream.pool.pending, upstream.pool.max, upstream.quota.remaining</li>
+ * </ul>
+ * 이벤트 루프(스레드)는 모든 풀이 공유한다.(reactor-netty 기본 LoopResources)
+ * <pre>
+ * WebClient.builder()
+ *         .apply(httpClients.configure("kma", props.getHttp()))
+ *         .baseUrl(props.getBaseUrl())
+ *         .build();
+ * </pre>
+ */
+@Component
+public class UpstreamHttpClients {
+    private final MeterRegistry registry;
+    private final Clock clock;
+    private final Map<String, ConnectionProvider> pools = new ConcurrentHashMap<>();
+    private final Map<String, List<Meter>> poolMeters = new ConcurrentHashMap<>();
+    private final Map<String, UpstreamQuota> quotas = new ConcurrentHashMap<>();
+
+    public UpstreamHttpClients(MeterRegistry registry, Clock clock) {
+        this.registry = registry;
+        this.clock = clock;
+    }
+
+    /**
+     * WebClient.Builder에 외부 API 전용 연결 풀, 타임아웃, 호출 한도를 적용한다.
+     * @param upstream kma / kakao / openai(풀 이름, 지표 태그)
+     */
+    public Consumer<WebClient.Builder> configure(String upstream, UpstreamHttpProperties props) {
+        ConnectionProvider pool = pools.computeIfAbsent(upstream, name -> ConnectionProvider.builder(name)
+                .maxConnections(props.getMaxConnections())
+                .pendingAcquireMaxCount(props.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(props.getPendingAcquireTimeout())
+                .maxIdleTime(props.getMaxIdleTime())
+                .maxLifeTime(props.getMaxLifeTime())
+                .evictInBackground(props.getMaxIdleTime()) // 요청이 없어도 유휴 연결 정리
+                .metrics(true, () -> new PoolMeterRegistrar(upstream))
+                .build());
+
+        HttpClient httpClient = HttpClient.create(pool)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int)props.getConnectTimeout().toMillis())
+                .responseTimeout(props.getResponseTimeout())
+                .compress(props.isCompress());
+
+        UpstreamHttpProperties.Quota quotaProps = props.getQuota();
+        UpstreamQuota shared = quotaProps.isPerEndpoint() ? null : quota(upstream, UpstreamQuota.ALL_ENDPOINTS, quotaProps);
+        boolean limited = quotaProps.getDailyLimit() > 0 || quotaProps.getPerSecond() > 0;
+
+        return builder -> {
+            builder.clientConnector(new ReactorClientHttpConnector(httpClient));
+            if(limited) { // 한도를 넘으면 연결 풀, 타임아웃까지 가지 않고 바로 실패
+                builder.filter(quota(request -> shared != null ? shared : quota(upstream, endpoint(request.url()), quotaProps)));
+            }
+            builder.filter(overallTimeout(props.getOverallTimeout()));
+        };
+    }
+
+    /*
+        ❓ API마다 한도를 따로 두는 경우(quota.per-endpoint)
+        공공데이터포털은 같은 서비스라도 API(실황 getUltraSrtNcst, 예보 getUltraSrtFcst)마다 하루 한도를 따로 준다.
+        두 API를 하나의 합계로 계산하면, 합계가 2배일 때는 한쪽 API가 자기 한도를 넘길 수 있고(나머지 호출은 공공데이터포털이 거절),
+        1배일 때는 한쪽이 한도를 다 써 버리면 다른 쪽까지 거절된다.
+        → 요청 경로의 마지막 부분(ex. /1360000/VilageFcstInfoService_2.0/getUltraSrtNcst  →  getUltraSrtNcst)마다 따로 계산
+    */
+    private UpstreamQuota quota(String upstream, String endpoint, UpstreamHttpProperties.Quota props) {
+        return quotas.computeIfAbsent(upstream + ":" + endpoint, key -> new UpstreamQuota(upstream, endpoint, props, clock, registry));
+    }
+
+    private static String endpoint(URI url) {
+        String path = url.getPath();
+        return path == null ? "" : path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    @PreDestroy
+    void dispose() {
+        pools.values().forEach(ConnectionProvider::dispose);
+    }
+
+    /*
+        ❓ 우선순위는 어떻게 전달되는가
+        호출하는 쪽이 구독 시 Reactor Context에 표시해 두면(UpstreamQuota::background), 요청을 보낼 때 필터가 읽는다.
+        따라서 클라이언트 메서드(KmaClient.requestUltraSrtNcst 등)의 매개변수를 바꾸지 않아도 된다.
+    */
+    private static ExchangeFilterFunction quota(Function<ClientRequest, UpstreamQuota> quotaFor) {
+        return (request, next) -> Mono.deferContextual(ctx -> {
+            UpstreamQuota quota = quotaFor.apply(request);
+            UpstreamQuota.Priority priority = UpstreamQuota.priority(ctx);
+            return quota.tryAcquire(priority)
+                    ? next.exchange(request)
+                    : Mono.error(new UpstreamQuotaExceededException(quota.upstream(), priority));
+        });
+    }
+
+    /*
+        ❓ 전체 타임아웃
+        responseTimeout은 데이터 사이의 간격만 제한하므로, 조금씩 계속 도착하는 응답은 끝없이 이어질 수 있다.
+        따라서 요청 시작 시각 기준의 마감 시각을 정하고, 응답 헤더와 본문(다음 조각, 완료)이 모두 그 안에 도착해야 한다.
+    */
+    private static ExchangeFilterFunction overallTimeout(Duration timeout) {
+        return (request, next) -> {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            return next.exchange(request)
+                    .timeout(timeout)
+                    .map(res -> res.mutate()
+                            .body(body -> body.timeout(Mono.delay(remaining(deadline)), buf -> Mono.delay(remaining(deadline))))
+                            .build());
+        };
+    }
+
+    private static Duration remaining(long deadline) {
+        return Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+    }
+
+    /**
+     * 풀(외부 API + 원격 주소)이 만들어지고 정리될 때, 연결 수 지표를 등록/해제
+     */
+    private final class PoolMeterRegistrar implements ConnectionProvider.MeterRegistrar {
+        private final String upstream;
+
+        PoolMeterRegistrar(String upstream) {
+            this.upstream = upstream;
+        }
+
+        @Override
+        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+            Tags tags = Tags.of("upstream", upstream, "remote", remoteAddress.toString());
+            poolMeters.put(id, List.of(
+                    gauge("upstream.pool.connections", "사용 중인 연결 수", tags.and("state", "active"), metrics, ConnectionPoolMetrics::acquiredSize),
+                    gauge("upstream.pool.connections", "유휴 연결 수", tags.and("state", "idle"), metrics, ConnectionPoolMetrics::idleSize),
+                    gauge("upstream.pool.pending", "연결을 기다리는 요청 수", tags, metrics, ConnectionPoolMetrics::pendingAcquireSize),
+                    gauge("upstream.pool.max", "최대 연결 수", tags, metrics, ConnectionPoolMetrics::maxAllocatedSize)
+            ));
+        }
+
+        @Override
+        public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+            List<Meter> meters = poolMeters.remove(id);
+            if(meters != null) meters.forEach(registry::remove);
+        }
+
+        private Meter gauge(String name, String description, Tags tags, ConnectionPoolMetrics metrics, ToDoubleFunction<ConnectionPoolMetrics> f) {
+            return Gauge.builder(name, metrics, f)
+                    .description(description)
+                    .tags(tags)
+                    .strongReference(true) // 풀이 살아 있는 동안 유지(deRegisterMetrics에서 해제)
+                    .register(registry);
+        }
+    }
+}
\ No newline at end of file
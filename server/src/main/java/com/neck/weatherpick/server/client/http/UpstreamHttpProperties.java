@@ -0,0 +1,44 @@
+package com.neck.weatherpick.server.client.http;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+/**
+ * <h5>외부 API 하나의 연결 풀 + 타임아웃 + 호출 한도 설정(UpstreamHttpClients)</h5>
+ * KmaProperties, KakaoLocalProperties, OpenAiProperties의 http 항목으로 지정한다.(ex. kma.http.max-connections, kma.http.quota.daily-limit)
+ */
+@Getter
+@Setter
+public class UpstreamHttpProperties {
+    // 연결 풀
+    private int maxConnections = 50;                                // 최대 연결 수
+    private int pendingAcquireMaxCount = 500;                       // 연결을 기다리는 요청 수 상한(초과 시 바로 실패)
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(2); // 연결을 기다리는 최대 시간
+    private Duration maxIdleTime = Duration.ofSeconds(20);          // 사용하지 않는 연결을 유지하는 시간(keep-alive, 서버가 먼저 끊기 전에 정리)
+    private Duration maxLifeTime = Duration.ofMinutes(5);           // 연결 하나를 재사용하는 최대 시간
+
+    // 타임아웃
+    private Duration connectTimeout = Duration.ofSeconds(1);        // TCP 연결
+    private Duration responseTimeout = Duration.ofSeconds(3);       // 요청 전송 후 응답(다음 데이터)이 오지 않는 최대 시간
+    private Duration overallTimeout = Duration.ofSeconds(5);        // 요청 ~ 응답 본문을 모두 받을 때까지
+
+    private boolean compress = true;                                // 응답 압축(Accept-Encoding: gzip)
+
+    private Quota quota = new Quota();
+
+    /**
+     * 호출 한도(UpstreamQuota) 설정<br>
+     * 0이면 제한하지 않는다.(기본)
+     */
+    @Getter
+    @Setter
+    public static class Quota {
+        private long dailyLimit;                                    // 하루(KST 자정 기준) 최대 호출 수
+        private double perSecond;                                   // 초당 최대 호출 수(평균)
+        private int burst;                                          // 한꺼번에 허용하는 최대 호출 수(0 : perSecond와 같음)
+        private double userReserve = 0.2;                           // 사용자 요청만 쓸 수 있는 비율(백그라운드 갱신은 나머지만 사용)
+        private boolean perEndpoint;                                // true : API(요청 경로의 마지막 부분)마다 한도를 따로 계산
+    }
+}
\ No newline at end of file
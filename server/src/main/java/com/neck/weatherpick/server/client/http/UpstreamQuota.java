@@ -0,0 +1,185 @@
+package com.neck.weatherpick.server.client.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * <h5>외부 API 하나(또는 그 안의 API 하나)의 호출 한도(quota)</h5>
+ * 공공데이터포털(일일 트래픽), 카카오맵(일일 쿼터), OpenAI(분당/일일 요청 수)는 모두 호출 한도가 있고, 한도를 넘기면 그날은 더 이상 호출할 수 없다.
+ * 따라서 한도에 닿기 전에 서버가 먼저 호출을 거절하고, 그 자리는 캐시ㆍstale 데이터로 대신한다.(UpstreamQuotaExceededException)
+ * <ul>
+ *     <li>초당 : GCRA(Generic Cell Rate Algorithm, 토큰 버킷과 같은 동작)  →  '다음 호출이 허용되는 이론상 시각' 하나만 CAS로 갱신</li>
+ *     <li>하루 : (KST 날짜 << 32 | 사용량) 하나를 CAS로 갱신, 날짜가 바뀌면 0부터</li>
+ * </ul>
+ * 두 한도 모두 락 없이(CAS) 판단하므로, 요청이 몰려도 줄을 서지 않는다.
+ * <br><br>
+ * 우선순위 : 사용자 요청(USER)은 한도 전체를, 백그라운드 갱신(BACKGROUND, 미리 불러오기ㆍ재검증)은 userReserve를 뺀 나머지만 쓸 수 있다.
+ * → 백그라운드 갱신이 한도를 다 써 버려서 사용자 요청이 거절되는 일이 없음
+ * <pre>
+ * GET /actuator/metrics/upstream.quota.remaining?tag=upstream:kma&tag=endpoint:getUltraSrtNcst&tag=window:day
+ * GET /actuator/metrics/upstream.quota.rejected?tag=upstream:openai
+ * </pre>
+ */
+public class UpstreamQuota {
+    public enum Priority { USER, BACKGROUND }
+
+    public static final String ALL_ENDPOINTS = "all"; // 외부 API 전체를 하나의 한도로 계산(quota.per-endpoint = false)
+
+    private static final String PRIORITY_KEY = UpstreamQuota.class.getName() + ".priority";
+
+    private final String upstream;
+    private final String endpoint;
+    private final Clock clock;
+    private final LongSupplier nanoTime;
+
+    // 초당(GCRA) : 0이면 제한 없음
+    private final long interval;                // 호출 사이의 평균 간격(ns)
+    private final long userTolerance;           // 이론상 시각이 현재보다 앞서도 되는 최대 시간(ns)  →  (burst - 1) * interval
+    private final long backgroundTolerance;
+    private final int burst;
+    private final AtomicLong tat;               // theoretical arrival time(ns)
+
+    // 하루 : 0이면 제한 없음
+    private final long dailyLimit;
+    private final long backgroundDailyLimit;
+    private final AtomicLong daily = new AtomicLong(); // epochDay << 32 | 사용량
+
+    private final Counter userRejected;
+    private final Counter backgroundRejected;
+
+    public UpstreamQuota(String upstream, UpstreamHttpProperties.Quota props, Clock clock, MeterRegistry registry) {
+        this(upstream, ALL_ENDPOINTS, props, clock, registry);
+    }
+
+    public UpstreamQuota(String upstream, String endpoint, UpstreamHttpProperties.Quota props, Clock clock, MeterRegistry registry) {
+        this(upstream, endpoint, props, clock, registry, System::nanoTime);
+    }
+
+    UpstreamQuota(String upstream, String endpoint, UpstreamHttpProperties.Quota props, Clock clock, MeterRegistry registry, LongSupplier nanoTime) {
+        this.upstream = upstream;
+        this.endpoint = endpoint;
+        this.clock = clock;
+        this.nanoTime = nanoTime;
+
+        double free = 1 - props.getUserReserve();
+        if(props.getPerSecond() > 0) {
+            this.interval = Math.max(1, (long)(1_000_000_000L / props.getPerSecond()));
+            this.burst = props.getBurst() > 0 ? props.getBurst() : Math.max(1, (int)Math.ceil(props.getPerSecond()));
+            this.userTolerance = (burst - 1) * interval;
+            // 호출 후에도 burst * userReserve만큼은 남아 있어야 함(burst가 작으면 음수  →  한동안 호출이 없었을 때만 허용)
+            this.backgroundTolerance = (long)((burst * free - 1) * interval);
+        } else {
+            this.interval = 0;
+            this.burst = 0;
+            this.userTolerance = 0;
+            this.backgroundTolerance = 0;
+        }
+        this.tat = new AtomicLong(nanoTime.getAsLong());
+
+        this.dailyLimit = props.getDailyLimit();
+        this.backgroundDailyLimit = (long)(props.getDailyLimit() * free);
+
+        if(interval > 0) {
+            Gauge.builder("upstream.quota.remaining", this, UpstreamQuota::remainingBurst)
+                    .description("남은 호출 한도")
+                    .tags("upstream", upstream, "endpoint", endpoint, "window", "second")
+                    .register(registry);
+        }
+        if(dailyLimit > 0) {
+            Gauge.builder("upstream.quota.remaining", this, UpstreamQuota::remainingToday)
+                    .description("남은 호출 한도")
+                    .tags("upstream", upstream, "endpoint", endpoint, "window", "day")
+                    .register(registry);
+        }
+        this.userRejected = rejected(registry, upstream, endpoint, Priority.USER);
+        this.backgroundRejected = rejected(registry, upstream, endpoint, Priority.BACKGROUND);
+    }
+
+    /**
+     * 이 구독(및 그 안의 외부 API 호출)을 백그라운드 갱신으로 표시한다.
+     * <pre>kmaClient.requestUltraSrtNcst(...).contextWrite(UpstreamQuota::background)</pre>
+     */
+    public static Context background(Context ctx) {
+        return ctx.put(PRIORITY_KEY, Priority.BACKGROUND);
+    }
+
+    /**
+     * 표시하지 않은 호출은 사용자 요청으로 본다.
+     */
+    public static Priority priority(ContextView ctx) {
+        return ctx.getOrDefault(PRIORITY_KEY, Priority.USER);
+    }
+
+    public boolean enabled() {
+        return interval > 0 || dailyLimit > 0;
+    }
+
+    public String upstream() {
+        return upstream;
+    }
+
+    /**
+     * @return 호출해도 되면 true(한도 1회 사용), 아니면 false
+     */
+    public boolean tryAcquire(Priority priority) {
+        boolean user = priority == Priority.USER;
+        if(acquireRate(user ? userTolerance : backgroundTolerance) && acquireDaily(user ? dailyLimit : backgroundDailyLimit)) return true;
+
+        (user ? userRejected : backgroundRejected).increment();
+        return false;
+    }
+
+    private boolean acquireRate(long tolerance) {
+        if(interval == 0) return true;
+
+        long now = nanoTime.getAsLong();
+        while(true) {
+            long t = tat.get();
+            if(t - now > tolerance) return false; // 버킷이 비어 있음
+            if(tat.compareAndSet(t, Math.max(t, now) + interval)) return true;
+        }
+    }
+
+    /*
+        ❓ 초당 한도를 먼저 확인하는 이유
+        하루 한도를 먼저 사용한 뒤 초당 한도에서 거절되면, 실제로 호출하지 않은 1회를 되돌려야 한다.
+        반대로 초당 한도를 먼저 사용하면, 하루 한도가 바닥난 뒤에만 호출 간격 1번이 낭비된다.(어차피 모든 호출이 거절되는 상황)
+    */
+    private boolean acquireDaily(long limit) {
+        if(dailyLimit == 0) return true;
+
+        long today = LocalDate.now(clock).toEpochDay();
+        while(true) {
+            long s = daily.get();
+            long used = (s >>> 32) == today ? s & 0xFFFFFFFFL : 0; // 날짜가 바뀌면 0부터
+            if(used >= limit) return false;
+            if(daily.compareAndSet(s, today << 32 | (used + 1))) return true;
+        }
+    }
+
+    double remainingBurst() {
+        long ahead = Math.max(0, tat.get() - nanoTime.getAsLong());
+        return Math.max(0, (userTolerance + interval - ahead) / interval);
+    }
+
+    double remainingToday() {
+        long s = daily.get();
+        long used = (s >>> 32) == LocalDate.now(clock).toEpochDay() ? s & 0xFFFFFFFFL : 0;
+        return Math.max(0, dailyLimit - used);
+    }
+
+    private static Counter rejected(MeterRegistry registry, String upstream, String endpoint, Priority priority) {
+        return Counter.builder("upstream.quota.rejected")
+                .description("호출 한도를 넘어 호출하지 않은 횟수")
+                .tags("upstream", upstream, "endpoint", endpoint, "priority", priority.name().toLowerCase())
+                .register(registry);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.neck.weatherpick.server.client.http;
+
+import lombok.Getter;
+import org.springframework.web.reactive.function.client.WebClientException;
+
+/**
+ * 호출 한도(UpstreamQuota)를 넘어, 외부 API를 호출하지 않고 실패한 경우<br>
+ * WebClientException을 상속하므로, WebClient가 다른 예외(WebClientRequestException)로 감싸지 않고 그대로 전달한다.
+ */
+@Getter
+public class UpstreamQuotaExceededException extends WebClientException {
+    private final String upstream;
+    private final UpstreamQuota.Priority priority;
+
+    public UpstreamQuotaExceededException(String upstream, UpstreamQuota.Priority priority) {
+        super("외부 API 호출 한도 초과 : " + upstream + "(" + priority + ")");
+        this.upstream = upstream;
+        this.priority = priority;
+    }
+}
\ No newline at end of file
@@ -1,14 +1,27 @@
 package com.neck.weatherpick.server.client.kma;
 
+import com.neck.weatherpick.server.cache.CacheKeys;
+import com.neck.weatherpick.server.client.http.UpstreamHttpClients;
+import com.neck.weatherpick.server.client.http.UpstreamQuota;
+import com.neck.weatherpick.server.client.http.UpstreamQuotaExceededException;
 import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
 import com.neck.weatherpick.server.client.kma.dto.response.KmaApiResponse;
 import com.neck.weatherpick.server.client.kma.dto.response.ncst.NcstResponse;
 import com.neck.weatherpick.server.client.kma.dto.response.fcst.FcstResponse;
+import com.neck.weatherpick.server.client.kma.support.KmaResponseDecoder;
 import com.neck.weatherpick.server.client.kma.support.KmaTime;
+import com.neck.weatherpick.server.metrics.TimedMono;
+import com.neck.weatherpick.server.metrics.UpstreamMetrics;
+import io.micrometer.core.instrument.Counter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
 
 /**
  * <h5>UltraSrtNcst</h5>
@@ -28,12 +41,39 @@ import org.springframework.web.reactive.function.client.WebClient;
 @Component
 @Slf4j
 public class KmaClient {
+    private static final String NCST = "getUltraSrtNcst";
+    private static final String FCST = "getUltraSrtFcst";
+
     private final KmaProperties props;
+    private final KmaLastKnownStore lastKnown;
+    private final KmaPublicationLagTracker lagTracker;
+    private final CacheManager cacheManager;
     private final WebClient webClient;
 
-    public KmaClient(KmaProperties props) {
+    private final TimedMono ncstCalls;
+    private final TimedMono fcstCalls;
+    private final Counter ncstSecondAttempts;
+    private final Counter fcstSecondAttempts;
+    private final Counter ncstStaleServed;
+    private final Counter fcstStaleServed;
+
+    public KmaClient(KmaProperties props, KmaLastKnownStore lastKnown, KmaPublicationLagTracker lagTracker, CacheManager cacheManager,
+                     UpstreamHttpClients httpClients, UpstreamMetrics metrics) {
         this.props = props;
-        this.webClient = WebClient.builder().baseUrl(props.getBaseUrl()).build();
+        this.lastKnown = lastKnown;
+        this.lagTracker = lagTracker;
+        this.cacheManager = cacheManager;
+        this.webClient = WebClient.builder()
+                .apply(httpClients.configure("kma", props.getHttp()))
+                .baseUrl(props.getBaseUrl())
+                .build();
+
+        this.ncstCalls = metrics.endpoint("kma", NCST);
+        this.fcstCalls = metrics.endpoint("kma", FCST);
+        this.ncstSecondAttempts = metrics.counter("kma.second.attempts", "2차 시도(직전 발표 시각 재요청) 횟수", "product", NCST);
+        this.fcstSecondAttempts = metrics.counter("kma.second.attempts", "2차 시도(직전 발표 시각 재요청) 횟수", "product", FCST);
+        this.ncstStaleServed = metrics.counter("kma.stale.served", "2차 시도 대신 last-known-good으로 응답한 횟수", "product", NCST);
+        this.fcstStaleServed = metrics.counter("kma.stale.served", "2차 시도 대신 last-known-good으로 응답한 횟수", "product", FCST);
     }
 
     /*
@@ -41,40 +81,119 @@ public class KmaClient {
         현재 시각의 데이터가 발표되었다 하더라도, 실제 API 반영까지는 수십 분의 지연이 발생할 수 있다.
         따라서 현재 시각 기준 base_time 요청이 실패(응답 : null)할 경우,
         아직 반영이 안 된 것이므로 직전 시각의 데이터라도 재요청한다.
+
+        ❓ stale-while-revalidate
+        그런데 2차 시도는 매 정시마다 외부 API 왕복을 한 번 더 추가한다.(응답 시간 2배)
+        따라서 해당 격자의 최근 정상 데이터(last-known-good)가 있다면, 2차 시도 대신 그 데이터로 곧바로 응답하고(stale)
+        새 발표분은 백그라운드에서 다시 확인(revalidate)한다.  →  KmaLastKnownStore 참고
+        또한 '아직 발표 전'으로 확인된 발표 시각은 잠시 기억해 두고(negative caching), 그동안은 1차 시도 자체를 생략한다.
+        (응답에 담긴 실제 발표 시각은 WeatherNowResponse의 ncstBase / fcstBase로 전달됨)
+
+        ❓ 호출 한도(UpstreamQuota)를 넘은 경우
+        외부 API를 호출하지 않고 바로 실패하므로, '발표 전'으로 기억하지도, 발표 지연 학습에 반영하지도 않는다.
+        대신 해당 격자의 last-known-good이 있으면 그 데이터로 응답하고(stale), 없을 때만 실패한다.
+        (stale 데이터는 직전 발표분과 같이 짧게 캐싱되므로(KmaPublicationExpiry), 한도가 회복되면 곧 새 발표분을 조회)
+
+        ❓ Mono를 캐싱한다는 것은
+        Spring 6.1부터 @Cacheable은 Mono를 반환하는 메서드도 지원한다.
+        이때 캐시에 저장되는 것은 Mono가 아니라, Mono가 발행한 값(NcstResponse 등)이다.
+        (#result 역시 Mono가 아닌, Mono가 발행한 값을 가리킴)
+        단, 캐시가 비동기 모드(AsyncCache)로 생성되어 있어야 한다.  →  CacheConfig 참고
+
+        ❓ sync = true 란
+        매 정시마다 kmaKey가 바뀌면, 같은 격자를 요청한 사용자들이 동시에 캐시 미스를 겪는다.
+        sync = true로 지정하면, 먼저 도착한 요청만 외부 API를 호출하고 나머지는 그 결과(진행 중인 호출)를 함께 기다린다.
+        참고로, 결과가 비어 있거나(null) 호출이 실패하면 캐시에 저장되지 않는다.(unless = "#result == null"과 같은 효과)
     */
 
     @Cacheable(
             cacheNames = "kmaNcst",
             key = "T(com.neck.weatherpick.server.cache.CacheKeys).kmaKey(#p0, #p1, #p2)",
-            unless = "#result == null"
+            sync = true // 동일한 key에 대한 동시 요청은 하나의 외부 API 호출을 공유(single-flight)
     )
-    public NcstResponse getUltraSrtNcst(String baseDate, String baseTime, KmaGridPoint kmaGridPoint) {
-        // 1차 시도
-        NcstResponse ncstResponse = requestUltraSrtNcst(baseDate, baseTime, kmaGridPoint);
-        if(isValid(ncstResponse)) return ncstResponse;
+    public Mono<NcstResponse> getUltraSrtNcst(String baseDate, String baseTime, KmaGridPoint kmaGridPoint) {
+        Supplier<Mono<NcstResponse>> request = () -> requestUltraSrtNcst(baseDate, baseTime, kmaGridPoint);
 
-        log.warn("============================== 2차 시도(초단기 실황) ==============================");
+        return firstAttempt(NCST, baseDate, baseTime, request) // 1차 시도
+                .switchIfEmpty(Mono.defer(() -> {
+                    NcstResponse stale = lastKnown.lastNcst(kmaGridPoint);
+                    if(stale != null) {
+                        ncstStaleServed.increment();
+                        revalidate("kmaNcst", baseDate, baseTime, kmaGridPoint, request);
+                        return Mono.just(stale);
+                    }
 
-        // 2차 시도
-        KmaTime.BaseDt prev = KmaTime.previousUltraSrtNcstBase(baseDate, baseTime);
-        return requestUltraSrtNcst(prev.baseDate(), prev.baseTime(), kmaGridPoint);
+                    log.warn("============================== 2차 시도(초단기 실황) ==============================");
+                    ncstSecondAttempts.increment();
+
+                    // 2차 시도
+                    KmaTime.BaseDt prev = KmaTime.previousUltraSrtNcstBase(baseDate, baseTime);
+                    return requestUltraSrtNcst(prev.baseDate(), prev.baseTime(), kmaGridPoint);
+                }))
+                .onErrorResume(UpstreamQuotaExceededException.class, e -> orLastKnown(lastKnown.lastNcst(kmaGridPoint), e));
     }
 
     @Cacheable(
             cacheNames = "kmaFcst",
             key = "T(com.neck.weatherpick.server.cache.CacheKeys).kmaKey(#p0, #p1, #p2)",
-            unless = "#result == null"
+            sync = true // 동일한 key에 대한 동시 요청은 하나의 외부 API 호출을 공유(single-flight)
     )
-    public FcstResponse getUltraSrtFcst(String baseDate, String baseTime, KmaGridPoint kmaGridPoint) {
-        // 1차 시도
-        FcstResponse fcstResponse = requestUltraSrtFcst(baseDate, baseTime, kmaGridPoint);
-        if(isValid(fcstResponse)) return fcstResponse;
+    public Mono<FcstResponse> getUltraSrtFcst(String baseDate, String baseTime, KmaGridPoint kmaGridPoint) {
+        Supplier<Mono<FcstResponse>> request = () -> requestUltraSrtFcst(baseDate, baseTime, kmaGridPoint);
+
+        return firstAttempt(FCST, baseDate, baseTime, request) // 1차 시도
+                .switchIfEmpty(Mono.defer(() -> {
+                    FcstResponse stale = lastKnown.lastFcst(kmaGridPoint);
+                    if(stale != null) {
+                        fcstStaleServed.increment();
+                        revalidate("kmaFcst", baseDate, baseTime, kmaGridPoint, request);
+                        return Mono.just(stale);
+                    }
 
-        log.warn("============================== 2차 시도(초단기 예보) ==============================");
+                    log.warn("============================== 2차 시도(초단기 예보) ==============================");
+                    fcstSecondAttempts.increment();
 
-        // 2차 시도
-        KmaTime.BaseDt prev = KmaTime.previousUltraSrtFcstBase(baseDate, baseTime);
-        return requestUltraSrtFcst(prev.baseDate(), prev.baseTime(), kmaGridPoint);
+                    // 2차 시도
+                    KmaTime.BaseDt prev = KmaTime.previousUltraSrtFcstBase(baseDate, baseTime);
+                    return requestUltraSrtFcst(prev.baseDate(), prev.baseTime(), kmaGridPoint);
+                }))
+                .onErrorResume(UpstreamQuotaExceededException.class, e -> orLastKnown(lastKnown.lastFcst(kmaGridPoint), e));
+    }
+
+    /**
+     * 아직 발표 전으로 확인된 발표 시각이면 호출을 생략하고, 호출했는데 응답이 비어 있으면 발표 전으로 기억한다.
+     * @return 정상 응답이 아니면 empty
+     */
+    private <T extends KmaApiResponse<?>> Mono<T> firstAttempt(String product, String baseDate, String baseTime, Supplier<Mono<T>> request) {
+        if(lastKnown.isNotPublished(product, baseDate, baseTime)) return Mono.empty();
+
+        return request.get()
+                .filter(KmaClient::isValid)
+                .switchIfEmpty(Mono.fromRunnable(() -> lastKnown.markNotPublished(product, baseDate, baseTime)));
+    }
+
+    private static <T> Mono<T> orLastKnown(T stale, UpstreamQuotaExceededException e) {
+        return stale != null ? Mono.just(stale) : Mono.error(e);
+    }
+
+    /**
+     * stale 응답을 보낸 뒤, '발표 전' 기억이 끝날 즈음 새 발표분을 한 번 더 확인해 캐시를 갱신한다.
+     * 여전히 발표 전이라면, 캐시에 남은 stale 데이터가 만료(KmaPublicationExpiry)된 후 다음 요청에서 다시 확인한다.
+     */
+    private <T extends KmaApiResponse<?>> void revalidate(String cacheName, String baseDate, String baseTime,
+                                                          KmaGridPoint kmaGridPoint, Supplier<Mono<T>> request) {
+        String key = CacheKeys.kmaKey(baseDate, baseTime, kmaGridPoint);
+        if(!lastKnown.beginRevalidation(key)) return;
+
+        Mono.delay(props.getStale().getNotPublishedTtl())
+                .then(Mono.defer(request)) // '발표 전' 기억과 관계없이 직접 확인
+                .filter(KmaClient::isValid)
+                .doFinally(signal -> lastKnown.endRevalidation(key))
+                .contextWrite(UpstreamQuota::background) // 호출 한도가 부족하면 사용자 요청에 양보
+                .subscribe(
+                        fresh -> cacheManager.getCache(cacheName).put(key, fresh),
+                        e -> log.warn("재검증 실패 : {}", key, e)
+                );
     }
 
     /*
@@ -98,8 +217,8 @@ public class KmaClient {
           }
         }
     */
-    public NcstResponse requestUltraSrtNcst(String baseDate, String baseTime, KmaGridPoint kmaGridPoint) {
-        return webClient.get()
+    public Mono<NcstResponse> requestUltraSrtNcst(String baseDate, String baseTime, KmaGridPoint kmaGridPoint) {
+        Mono<NcstResponse> call = webClient.get()
                 .uri(uriBuilder -> uriBuilder
                     .path("/getUltraSrtNcst")
                     .queryParam("serviceKey", props.getServiceKey())
@@ -115,8 +234,15 @@ public class KmaClient {
                     .queryParam("ny", kmaGridPoint.ny())
                     .build())
                 .retrieve() // 요청 전송 + 응답받을 준비
-                .bodyToMono(NcstResponse.class) // JSON → NcstResponse 객체로 변환(Mono : 응답이 0 ~ 1개인 경우 / Flux : 0 ~ 여러 개)
-                .block(); // 완료될 때까지 대기
+                .bodyToFlux(DataBuffer.class) // 응답 본문을 도착하는 대로(Mono : 응답이 0 ~ 1개인 경우 / Flux : 0 ~ 여러 개)
+                .as(KmaResponseDecoder::ncst); // JSON → NcstResponse 객체로 변환(사용하는 항목만)
+
+        return ncstCalls.wrap(call) // 응답 시간 측정
+                .doOnNext(res -> {
+                    boolean valid = isValid(res);
+                    if(valid) lastKnown.remember(kmaGridPoint, res);
+                    lagTracker.observeNcst(baseDate, baseTime, valid); // 발표 지연 학습
+                });
     }
 
     /*
@@ -149,8 +275,8 @@ public class KmaClient {
           }
         }
     */
-    public FcstResponse requestUltraSrtFcst(String baseDate, String baseTime, KmaGridPoint kmaGridPoint) {
-        return webClient.get()
+    public Mono<FcstResponse> requestUltraSrtFcst(String baseDate, String baseTime, KmaGridPoint kmaGridPoint) {
+        Mono<FcstResponse> call = webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/getUltraSrtFcst")
                         .queryParam("serviceKey", props.getServiceKey())
@@ -163,11 +289,18 @@ public class KmaClient {
                         .queryParam("ny", kmaGridPoint.ny())
                         .build())
                 .retrieve()
-                .bodyToMono(FcstResponse.class)
-                .block();
+                .bodyToFlux(DataBuffer.class)
+                .as(KmaResponseDecoder::fcst);
+
+        return fcstCalls.wrap(call)
+                .doOnNext(res -> {
+                    boolean valid = isValid(res);
+                    if(valid) lastKnown.remember(kmaGridPoint, res);
+                    lagTracker.observeFcst(baseDate, baseTime, valid);
+                });
     }
 
-    private boolean isValid(KmaApiResponse<?> res) {
+    static boolean isValid(KmaApiResponse<?> res) {
         return res != null
             && res.response() != null
             && res.response().body() != null;
@@ -0,0 +1,81 @@
+package com.neck.weatherpick.server.client.kma;
+
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import com.neck.weatherpick.server.client.kma.support.KmaGridConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * <h5>기상청 격자별 조회 빈도 집계</h5>
+ * 기상청 격자는 149 x 253칸(약 3.8만 칸)으로 크기가 정해져 있으므로, 근사치를 구하는 스케치 대신 격자마다 카운터 1개를 두는 배열로 정확히 센다.
+ * <ul>
+ *     <li>메모리 : 격자 수 x 4byte ≒ 150KB로 고정(요청이 아무리 많아도 늘어나지 않음)</li>
+ *     <li>동시성 : AtomicIntegerArray의 원자적 증가만 사용하므로, 락 없이 여러 요청이 동시에 기록할 수 있음</li>
+ *     <li>최신성 : {@link #decay()}로 주기적으로 모든 카운터를 절반으로 줄여, 최근 요청에 더 큰 비중을 둠</li>
+ * </ul>
+ * @see KmaRefreshAhead
+ */
+@Component
+public class KmaGridPopularity {
+    static final int MAX_NX = KmaGridConverter.MAX_NX;
+    static final int MAX_NY = KmaGridConverter.MAX_NY;
+
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(MAX_NX * MAX_NY);
+
+    public void record(KmaGridPoint p) {
+        int i = indexOf(p);
+        if(i < 0) return; // 격자 범위 밖(해외 좌표 등)
+        if(counts.incrementAndGet(i) == Integer.MAX_VALUE) decay(); // 오버플로 방지
+    }
+
+    public int count(KmaGridPoint p) {
+        int i = indexOf(p);
+        return i < 0 ? 0 : counts.get(i);
+    }
+
+    /**
+     * 조회 빈도가 가장 높은 격자 n개(빈도 내림차순, 한 번도 조회되지 않은 격자는 제외)
+     */
+    public List<KmaGridPoint> top(int n) {
+        if(n <= 0) return List.of();
+
+        // 크기가 n인 최소 힙으로 상위 n개만 유지  →  O(격자 수 x log n)
+        PriorityQueue<int[]> heap = new PriorityQueue<>((a, b) -> Integer.compare(a[1], b[1]));
+        for(int i = 0; i < counts.length(); i++) {
+            int c = counts.get(i);
+            if(c == 0) continue;
+            if(heap.size() < n) {
+                heap.add(new int[] {i, c});
+            } else if(c > heap.peek()[1]) {
+                heap.poll();
+                heap.add(new int[] {i, c});
+            }
+        }
+
+        List<KmaGridPoint> result = new ArrayList<>(heap.size());
+        while(!heap.isEmpty()) {
+            int i = heap.poll()[0];
+            result.add(0, new KmaGridPoint(i / MAX_NY + 1, i % MAX_NY + 1));
+        }
+        return result;
+    }
+
+    /**
+     * 모든 카운터를 절반으로 줄인다.(다른 스레드의 record와 동시에 실행돼도 카운트가 조금 어긋날 뿐, 문제는 없음)
+     */
+    public void decay() {
+        for(int i = 0; i < counts.length(); i++) {
+            int c = counts.get(i);
+            if(c != 0) counts.set(i, c >>> 1);
+        }
+    }
+
+    private static int indexOf(KmaGridPoint p) {
+        if(p.nx() < 1 || p.nx() > MAX_NX || p.ny() < 1 || p.ny() > MAX_NY) return -1;
+        return (p.nx() - 1) * MAX_NY + (p.ny() - 1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.neck.weatherpick.server.client.kma;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.FcstResponse;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.NcstResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h5>stale-while-revalidate를 위한 저장소</h5>
+ * <ul>
+ *     <li>
+ *         last-known-good : 격자별로 가장 최근에 정상 응답을 받은 데이터<br>
+ *         새 발표분이 아직 반영되지 않았을 때, 2차 시도(직전 발표 시각 재요청) 대신 곧바로 응답하는 데 사용한다.
+ *     </li>
+ *     <li>
+ *         not-published : 아직 반영되지 않은 것으로 확인된 발표 시각(짧은 시간 동안만 기억)<br>
+ *         발표 시각 단위로 기억하므로, 한 격자에서 확인되면 모든 격자가 같은 빈 API를 다시 호출하지 않는다.
+ *     </li>
+ * </ul>
+ * @see KmaClient
+ */
+@Component
+public class KmaLastKnownStore {
+    private final Cache<KmaGridPoint, NcstResponse> lastNcst;
+    private final Cache<KmaGridPoint, FcstResponse> lastFcst;
+    private final Cache<String, Boolean> notPublished;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+    public KmaLastKnownStore(KmaProperties props) {
+        KmaProperties.Stale stale = props.getStale();
+        this.lastNcst = Caffeine.newBuilder()
+                .maximumSize(stale.getLastKnownMaxSize())
+                .expireAfterWrite(stale.getMaxAge()) // 너무 오래된 데이터는 stale로도 사용하지 않음
+                .build();
+        this.lastFcst = Caffeine.newBuilder()
+                .maximumSize(stale.getLastKnownMaxSize())
+                .expireAfterWrite(stale.getMaxAge())
+                .build();
+        this.notPublished = Caffeine.newBuilder()
+                .maximumSize(100)
+                .expireAfterWrite(stale.getNotPublishedTtl())
+                .build();
+    }
+
+    public NcstResponse lastNcst(KmaGridPoint p) {
+        return lastNcst.getIfPresent(p);
+    }
+
+    public FcstResponse lastFcst(KmaGridPoint p) {
+        return lastFcst.getIfPresent(p);
+    }
+
+    public void remember(KmaGridPoint p, NcstResponse res) {
+        lastNcst.put(p, res);
+    }
+
+    public void remember(KmaGridPoint p, FcstResponse res) {
+        lastFcst.put(p, res);
+    }
+
+    /**
+     * @param product getUltraSrtNcst / getUltraSrtFcst
+     */
+    public boolean isNotPublished(String product, String baseDate, String baseTime) {
+        return notPublished.getIfPresent(product + ":" + baseDate + baseTime) != null;
+    }
+
+    public void markNotPublished(String product, String baseDate, String baseTime) {
+        notPublished.put(product + ":" + baseDate + baseTime, Boolean.TRUE);
+    }
+
+    /**
+     * 같은 key에 대한 백그라운드 재검증은 하나만 실행한다.
+     * @return 이미 재검증 중이면 false
+     */
+    public boolean beginRevalidation(String key) {
+        return revalidating.add(key);
+    }
+
+    public void endRevalidation(String key) {
+        revalidating.remove(key);
+    }
+}
\ No newline at end of file
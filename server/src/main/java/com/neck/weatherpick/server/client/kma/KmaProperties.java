@@ -1,9 +1,12 @@
 package com.neck.weatherpick.server.client.kma;
 
+import com.neck.weatherpick.server.client.http.UpstreamHttpProperties;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 // @Component
 @ConfigurationProperties(prefix = "kma") // Relaxed Binding 지원 : ex) base-url ↔ baseUrl
 @Getter
@@ -11,4 +14,60 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class KmaProperties {
     private String baseUrl;
     private String serviceKey;
+
+    /*
+        ❓ 발표 지연(publication lag)
+        기상청은 매 정시(실황) / 매 시각 30분(예보)에 자료를 발표하지만, API에 실제로 반영되기까지는 시간이 걸린다.
+        - 초단기 실황 : 매 시각 10분 이후 호출 가능
+        - 초단기 예보 : 매 시각 45분 이후 호출 가능(발표 시각 기준 15분)
+    */
+    private Duration ncstPublicationLag = Duration.ofMinutes(10);
+    private Duration fcstPublicationLag = Duration.ofMinutes(15);
+
+    // 아직 발표 전이라 직전 발표 시각의 데이터(2차 시도 결과)를 캐싱한 경우, 최소 이 시간이 지나면 다시 조회
+    private Duration fallbackRetry = Duration.ofMinutes(1);
+
+    private UpstreamHttpProperties http = new UpstreamHttpProperties(); // 연결 풀, 타임아웃(UpstreamHttpClients)
+    private Prefetch prefetch = new Prefetch();
+    private Stale stale = new Stale();
+    private Lag lag = new Lag();
+
+    /**
+     * 인기 격자 미리 불러오기(KmaRefreshAhead) 설정<br>
+     * 새 발표분을 조회하는 시각은 발표 시각 + 추정 발표 지연(KmaPublicationLagTracker, 학습 전에는 ncstPublicationLag, fcstPublicationLag)이다.
+     */
+    @Getter
+    @Setter
+    public static class Prefetch {
+        private boolean enabled = true;
+        private int topN = 50;                              // 조회 빈도 상위 몇 개의 격자를 미리 불러올지
+        private int concurrency = 4;                        // 동시에 호출할 최대 요청 수
+        private Duration interval = Duration.ofMinutes(1);  // 새 발표분이 나왔는지 확인하는 주기
+        private Duration timeout = Duration.ofSeconds(30);  // 한 번의 미리 불러오기에 쓸 최대 시간(넘으면 남은 격자는 다음 주기에)
+    }
+
+    /**
+     * stale-while-revalidate(KmaLastKnownStore) 설정
+     */
+    @Getter
+    @Setter
+    public static class Stale {
+        private int lastKnownMaxSize = 2000;                        // last-known-good을 보관할 최대 격자 수
+        private Duration maxAge = Duration.ofHours(3);              // 이보다 오래된 데이터는 stale로도 사용하지 않음
+        private Duration notPublishedTtl = Duration.ofSeconds(30);  // '아직 발표 전'을 기억하는 시간(이 시간 동안은 같은 발표 시각을 다시 호출하지 않음)
+    }
+
+    /**
+     * 발표 지연 학습(KmaPublicationLagTracker) 설정<br>
+     * 학습 전(표본이 minSamples개 미만)에는 ncstPublicationLag, fcstPublicationLag를 사용한다.
+     */
+    @Getter
+    @Setter
+    public static class Lag {
+        private boolean adaptive = true;                            // false : 항상 현재 시각 기준 발표 시각을 요청(학습 안 함)
+        private int window = 24;                                    // 최근 몇 번의 발표로 추정할지(1시간에 1번  →  24 : 하루)
+        private int minSamples = 3;
+        private double percentile = 0.9;                            // 발표 지연 표본의 몇 번째 백분위수를 사용할지
+        private Duration probeInterval = Duration.ofMinutes(1);     // 발표 예상 시각 전에, 새 발표분이 나왔는지 확인하는 간격(stale.not-published-ttl 이상)
+    }
 }
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.neck.weatherpick.server.client.kma;
+
+import com.neck.weatherpick.server.client.kma.support.KmaTime;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h5>실제 발표 지연을 학습해, 요청할 발표 시각(base_time)을 고른다.</h5>
+ * 기존에는 항상 현재 시각 기준 발표 시각을 요청하고, 아직 반영 전이면(응답 : NO_DATA) 그제야 직전 발표 시각으로 재요청했다.(2차 시도)
+ * 그런데 실제 발표 지연은 설정값(ncstPublicationLag 등)과 다르고, 시기에 따라 달라지기도 한다.
+ * <ul>
+ *     <li>
+ *         학습 : 발표 시각마다 '반영 전(NO_DATA)'이 확인된 뒤 처음으로 데이터가 도착한 시점의 지연을 표본으로 기록하고,
+ *         최근 window개 표본의 백분위수(percentile)를 발표 지연으로 추정한다.
+ *     </li>
+ *     <li>
+ *         선택 : 현재 시각 기준 발표 시각 + 추정 지연이 지났거나 반영이 확인되었으면 현재 발표 시각,
+ *         아니면 직전 발표 시각을 요청한다.  →  대부분의 요청이 처음부터 데이터가 있는 발표 시각을 요청(헛된 1차 시도 없음)
+ *     </li>
+ *     <li>
+ *         확인(probe) : 추정 시각 전이라도 probeInterval마다 한 요청만 현재 발표 시각을 요청해, 일찍 반영된 경우를 알아낸다.<br>
+ *         확인은 가장 짧았던 표본 - probeInterval부터 시작하므로, 발표가 빨라지면 추정 지연도 점차 줄어든다.
+ *     </li>
+ * </ul>
+ * 추정 지연은 kma.publication.lag(초) 지표로 확인할 수 있다.
+ * <pre>GET /actuator/metrics/kma.publication.lag?tag=product:getUltraSrtNcst</pre>
+ * @see KmaClient
+ * @see KmaRefreshAhead
+ */
+@Component
+public class KmaPublicationLagTracker {
+    private static final DateTimeFormatter DT_FMT = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+    private static final Duration MAX_LAG = Duration.ofMinutes(59); // 1시간이 지나면 다음 발표 시각이 됨
+
+    private final KmaProperties.Lag props;
+    private final Clock clock;
+    private final ProductLag ncst;
+    private final ProductLag fcst;
+
+    public KmaPublicationLagTracker(KmaProperties props, Clock clock, MeterRegistry registry) {
+        this.props = props.getLag();
+        this.clock = clock;
+        this.ncst = new ProductLag("getUltraSrtNcst", props.getNcstPublicationLag(), this.props, registry);
+        this.fcst = new ProductLag("getUltraSrtFcst", props.getFcstPublicationLag(), this.props, registry);
+    }
+
+    /**
+     * 초단기 실황 : 요청할 발표 시각(현재 또는 직전 정시)
+     */
+    public KmaTime.BaseDt ncstBase(LocalDateTime nowKst) {
+        LocalDateTime base = nowKst.truncatedTo(ChronoUnit.HOURS);
+        return KmaTime.latestUltraSrtNcstBase(select(ncst, base, nowKst) ? nowKst : nowKst.minusHours(1));
+    }
+
+    /**
+     * 초단기 예보 : 요청할 발표 시각(현재 또는 직전 HH30)
+     */
+    public KmaTime.BaseDt fcstBase(LocalDateTime nowKst) {
+        LocalDateTime base = (nowKst.getMinute() < 30 ? nowKst.minusHours(1) : nowKst).truncatedTo(ChronoUnit.HOURS).plusMinutes(30);
+        return KmaTime.latestUltraSrtFcstBase(select(fcst, base, nowKst) ? nowKst : nowKst.minusHours(1));
+    }
+
+    public Duration ncstLag() {
+        return ncst.estimate;
+    }
+
+    public Duration fcstLag() {
+        return fcst.estimate;
+    }
+
+    /**
+     * 기상청 응답마다 호출(KmaClient)
+     * @param published 정상 응답이면 true, 아직 반영 전(NO_DATA)이면 false
+     */
+    public void observeNcst(String baseDate, String baseTime, boolean published) {
+        ncst.observe(LocalDateTime.parse(baseDate + baseTime, DT_FMT), LocalDateTime.now(clock), published);
+    }
+
+    public void observeFcst(String baseDate, String baseTime, boolean published) {
+        fcst.observe(LocalDateTime.parse(baseDate + baseTime, DT_FMT), LocalDateTime.now(clock), published);
+    }
+
+    /**
+     * @return 현재 발표 시각(base)을 요청하면 true, 직전 발표 시각을 요청하면 false
+     */
+    private boolean select(ProductLag p, LocalDateTime base, LocalDateTime nowKst) {
+        if(!props.isAdaptive() || base.equals(p.confirmed)) return true;
+
+        Duration elapsed = Duration.between(base, nowKst);
+        if(elapsed.compareTo(p.estimate) >= 0) return true;
+        return elapsed.compareTo(p.probeFrom) >= 0 && p.tryProbe(clock.millis());
+    }
+
+    /**
+     * 상품(실황/예보)별 발표 지연
+     */
+    private static final class ProductLag {
+        private final KmaProperties.Lag props;
+        private final long[] samples;   // 발표 지연(초), 순환 버퍼
+        private int count, next;
+        private LocalDateTime lastMiss; // 반영 전(NO_DATA)이 확인된 가장 최근 발표 시각
+
+        private final AtomicLong nextProbeAt = new AtomicLong(); // epoch millis
+        private final Counter probes;
+
+        // 요청마다 읽는 값(기록할 때만 다시 계산)
+        volatile Duration estimate;
+        volatile Duration probeFrom;
+        volatile LocalDateTime confirmed; // 반영이 확인된 가장 최근 발표 시각
+
+        ProductLag(String product, Duration configured, KmaProperties.Lag props, MeterRegistry registry) {
+            this.props = props;
+            this.samples = new long[props.getWindow()];
+            this.estimate = configured;
+            this.probeFrom = Duration.ZERO;
+
+            Gauge.builder("kma.publication.lag", this, p -> p.estimate.toSeconds())
+                    .description("추정 발표 지연(발표 시각 ~ API 반영)")
+                    .baseUnit("seconds")
+                    .tag("product", product)
+                    .register(registry);
+            this.probes = Counter.builder("kma.publication.probes")
+                    .description("발표 예상 시각 전에 현재 발표 시각을 확인한 횟수")
+                    .tag("product", product)
+                    .register(registry);
+        }
+
+        synchronized void observe(LocalDateTime base, LocalDateTime now, boolean published) {
+            if(confirmed != null && !base.isAfter(confirmed)) return; // 이미 반영이 확인된 발표 시각(또는 그 이전)
+
+            if(!published) {
+                lastMiss = base;
+                return;
+            }
+
+            /*
+                ❓ 표본으로 기록하는 경우
+                - '반영 전'이 확인된 뒤 처음 도착 : 실제 반영 시점 ≒ 지금
+                - 추정 지연보다 일찍 도착(확인 요청) : 발표가 빨라졌다는 증거
+                그 외(추정 지연 이후에 처음 요청했는데 이미 반영됨)에는 실제 반영 시점이 더 이를 수 있으므로 기록하지 않는다.
+                이런 값까지 기록하면 추정 지연이 점점 길어지고(요청이 늦어지고), 더 늦은 값만 관찰하게 된다.
+            */
+            confirmed = base;
+            Duration lag = Duration.between(base, now);
+            if(lag.isNegative() || lag.compareTo(MAX_LAG) > 0) return;
+            if(base.equals(lastMiss) || lag.compareTo(estimate) < 0) record(lag.toSeconds());
+        }
+
+        boolean tryProbe(long nowMillis) {
+            long at = nextProbeAt.get();
+            if(nowMillis < at || !nextProbeAt.compareAndSet(at, nowMillis + props.getProbeInterval().toMillis())) return false;
+            probes.increment();
+            return true;
+        }
+
+        private void record(long lagSeconds) {
+            samples[next] = lagSeconds;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+            if(count < props.getMinSamples()) return;
+
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int i = Math.max(0, (int)Math.ceil(props.getPercentile() * count) - 1);
+            estimate = Duration.ofSeconds(sorted[i]);
+            probeFrom = Duration.ofSeconds(Math.max(0, sorted[0] - props.getProbeInterval().toSeconds()));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.neck.weatherpick.server.client.kma;
+
+import com.neck.weatherpick.server.cache.CacheKeys;
+import com.neck.weatherpick.server.cache.KmaPublicationExpiry;
+import com.neck.weatherpick.server.client.http.UpstreamQuota;
+import com.neck.weatherpick.server.client.http.UpstreamQuotaExceededException;
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import com.neck.weatherpick.server.client.kma.dto.response.KmaApiResponse;
+import com.neck.weatherpick.server.client.kma.support.KmaTime;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * <h5>인기 격자의 새 발표분 미리 불러오기(refresh-ahead / prefetch)</h5>
+ * 발표 예상 시각(base_time + 추정 발표 지연, KmaPublicationLagTracker)이 지나면, 조회 빈도 상위 N개 격자(KmaGridPopularity)의 새 데이터를 백그라운드에서 미리 조회해 캐시에 넣어 둔다.
+ * 덕분에 매 정시 이후 첫 사용자도 캐시 미스(외부 API 지연 + 2차 시도)를 겪지 않는다.
+ * <br><br>
+ * 새 데이터가 도착하기 전까지는 기존 캐시 값(2차 시도 데이터 등)이 그대로 사용되며,
+ * 아직 아무 격자도 새 데이터를 받지 못했다면(발표 지연) 다음 주기에 다시 시도한다.
+ * <br><br>
+ * 미리 불러오기는 백그라운드 갱신(UpstreamQuota.Priority.BACKGROUND)이므로, 호출 한도 중 사용자 요청 몫(user-reserve)은 쓰지 않는다.
+ * @see KmaPublicationExpiry
+ * @see KmaGridPopularity
+ */
+@Component
+@Slf4j
+public class KmaRefreshAhead {
+    private final KmaClient kmaClient;
+    private final KmaProperties props;
+    private final KmaPublicationLagTracker lagTracker;
+    private final KmaGridPopularity popularity;
+    private final Clock clock;
+    private final CaffeineCache ncstCache;
+    private final CaffeineCache fcstCache;
+
+    private volatile KmaTime.BaseDt lastNcstBase;
+    private volatile KmaTime.BaseDt lastFcstBase;
+
+    public KmaRefreshAhead(KmaClient kmaClient, KmaProperties props, KmaPublicationLagTracker lagTracker, KmaGridPopularity popularity,
+                           Clock clock, CacheManager cacheManager) {
+        this.kmaClient = kmaClient;
+        this.props = props;
+        this.lagTracker = lagTracker;
+        this.popularity = popularity;
+        this.clock = clock;
+        this.ncstCache = (CaffeineCache)cacheManager.getCache("kmaNcst");
+        this.fcstCache = (CaffeineCache)cacheManager.getCache("kmaFcst");
+    }
+
+    // ISO-8601 형식(ex. PT1M)으로 지정
+    @Scheduled(fixedDelayString = "${kma.prefetch.interval:PT1M}")
+    public void refresh() {
+        if(!props.getPrefetch().isEnabled()) return;
+
+        LocalDateTime nowKst = LocalDateTime.now(clock);
+        List<KmaGridPoint> hot = popularity.top(props.getPrefetch().getTopN());
+
+        KmaTime.BaseDt ncstBase = KmaTime.latestUltraSrtNcstBase(nowKst.minus(lagTracker.ncstLag()));
+        if(!ncstBase.equals(lastNcstBase)
+                && refreshAll(ncstCache, ncstBase, hot, p -> kmaClient.requestUltraSrtNcst(ncstBase.baseDate(), ncstBase.baseTime(), p))) {
+            lastNcstBase = ncstBase;
+            popularity.decay(); // 발표 주기(1시간)마다 빈도를 절반으로 줄여, 최근 요청에 더 큰 비중을 둠
+        }
+
+        KmaTime.BaseDt fcstBase = KmaTime.latestUltraSrtFcstBase(nowKst.minus(lagTracker.fcstLag()));
+        if(!fcstBase.equals(lastFcstBase)
+                && refreshAll(fcstCache, fcstBase, hot, p -> kmaClient.requestUltraSrtFcst(fcstBase.baseDate(), fcstBase.baseTime(), p))) {
+            lastFcstBase = fcstBase;
+        }
+    }
+
+    /**
+     * @return 새 발표 시각의 데이터를 더 이상 불러올 필요가 없으면 true
+     */
+    private boolean refreshAll(CaffeineCache cache, KmaTime.BaseDt base, List<KmaGridPoint> hot,
+                               Function<KmaGridPoint, Mono<? extends KmaApiResponse<?>>> request) {
+        List<KmaGridPoint> targets = new ArrayList<>();
+        for(KmaGridPoint p : hot) {
+            if(!isFresh(cache, CacheKeys.kmaKey(base.baseDate(), base.baseTime(), p))) {
+                targets.add(p);
+            }
+        }
+        if(targets.isEmpty()) return !hot.isEmpty();
+
+        // 스케줄러 스레드에서 실행되므로, 요청 처리 스레드와 달리 완료될 때까지 기다려도(block) 괜찮다.
+        // 단, 스케줄러 스레드를 오래 붙잡지 않도록 prefetch.timeout까지만 기다리고, 그때까지 불러온 격자만 반영
+        AtomicLong refreshed = new AtomicLong();
+        Flux.fromIterable(targets)
+                .flatMap(p -> request.apply(p)
+                        .contextWrite(UpstreamQuota::background)
+                        .filter(KmaClient::isValid)
+                        .doOnNext(res -> cache.put(CacheKeys.kmaKey(base.baseDate(), base.baseTime(), p), res))
+                        .onErrorResume(e -> {
+                            if(e instanceof UpstreamQuotaExceededException) return Mono.empty(); // 호출 한도 부족  →  다음 주기에 다시 시도
+                            log.warn("refresh-ahead 실패 : {} {}", cache.getName(), p, e);
+                            return Mono.empty();
+                        }), props.getPrefetch().getConcurrency())
+                .doOnNext(res -> refreshed.incrementAndGet())
+                .then()
+                .timeout(props.getPrefetch().getTimeout(), Mono.fromRunnable(() ->
+                        log.warn("refresh-ahead 시간 초과 : {} {}{} ({})", cache.getName(), base.baseDate(), base.baseTime(), props.getPrefetch().getTimeout())))
+                .block();
+
+        log.info("refresh-ahead : {} {}{} → {}/{}", cache.getName(), base.baseDate(), base.baseTime(), refreshed.get(), targets.size());
+        return refreshed.get() > 0;
+    }
+
+    private static boolean isFresh(CaffeineCache cache, String key) {
+        CompletableFuture<Object> existing = cache.getAsyncCache().getIfPresent(key);
+        if(existing == null) return false;
+        if(!existing.isDone()) return true; // 이미 누군가 조회 중
+        Object value = existing.getNow(null);
+        return value != null && !KmaPublicationExpiry.isFallback(key, value);
+    }
+}
\ No newline at end of file
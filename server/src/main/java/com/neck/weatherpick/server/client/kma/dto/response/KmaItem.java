@@ -0,0 +1,7 @@
+package com.neck.weatherpick.server.client.kma.dto.response;
+
+// 초단기 실황/예보 응답 항목의 공통 필드  →  실제 데이터의 발표 일자/시각
+public interface KmaItem {
+    String baseDate();
+    String baseTime();
+}
\ No newline at end of file
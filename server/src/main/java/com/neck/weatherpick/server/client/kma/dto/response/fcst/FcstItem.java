@@ -1,3 +1,5 @@
 package com.neck.weatherpick.server.client.kma.dto.response.fcst;
 
-public record FcstItem(String category, String fcstValue, String fcstDate, String fcstTime) {}
\ No newline at end of file
+import com.neck.weatherpick.server.client.kma.dto.response.KmaItem;
+
+public record FcstItem(String category, String fcstValue, String fcstDate, String fcstTime, String baseDate, String baseTime) implements KmaItem {}
\ No newline at end of file
@@ -1,3 +1,5 @@
 package com.neck.weatherpick.server.client.kma.dto.response.ncst;
 
-public record NcstItem(String category, String obsrValue) {}
\ No newline at end of file
+import com.neck.weatherpick.server.client.kma.dto.response.KmaItem;
+
+public record NcstItem(String category, String obsrValue, String baseDate, String baseTime) implements KmaItem {}
\ No newline at end of file
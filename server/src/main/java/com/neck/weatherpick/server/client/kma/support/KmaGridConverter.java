@@ -3,6 +3,10 @@ package com.neck.weatherpick.server.client.kma.support;
 import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
 
 /**
+ * <h5>위ㆍ경도 ↔ 기상청 격자 좌표(람베르트 정각 원추 도법, 5km 격자)</h5>
+ * 도법의 상수 항(sn, sf, ro)은 tan, log, pow를 여러 번 호출해야 구할 수 있지만, 좌표와 관계없이 항상 같은 값이다.
+ * 따라서 한 번만 계산해 Projection 객체에 담아 두고, 변환할 때는 좌표에 따라 달라지는 부분만 계산한다.
+ * @see KmaGridTable
  * @see <a href="https://gist.github.com/fronteer-kr/14d7f779d52a21ac2f16">출처</a>
  */
 public class KmaGridConverter {
@@ -15,36 +19,125 @@ public class KmaGridConverter {
     private static final double XO = 43;
     private static final double YO = 136;
 
+    // 기상청 격자 범위 : nx 1 ~ 149, ny 1 ~ 253
+    public static final int MAX_NX = 149;
+    public static final int MAX_NY = 253;
+
+    private static final Projection KMA = new Projection(RE, GRID, SLAT1, SLAT2, OLON, OLAT, XO, YO);
+
     public static KmaGridPoint convert(double lon, double lat) {
-        double DEGRAD = Math.PI / 180.0;
+        return KMA.toGrid(lon, lat);
+    }
+
+    /**
+     * 격자 중심의 위ㆍ경도(역변환)
+     */
+    public static Coord toLonLat(KmaGridPoint p) {
+        return KMA.toLonLat(p.nx(), p.ny());
+    }
+
+    /**
+     * 여러 좌표를 한꺼번에 변환(결과 객체를 만들지 않으므로, 대량 변환 시 사용)
+     */
+    public static void convertAll(double[] lons, double[] lats, int[] outNx, int[] outNy) {
+        for(int i = 0; i < lons.length; i++) {
+            KMA.toGrid(lons[i], lats[i], outNx, outNy, i);
+        }
+    }
+
+    static Projection projection() {
+        return KMA;
+    }
+
+    public record Coord(double lon, double lat) {}
+
+    /**
+     * 도법의 상수 항을 미리 계산해 둔 객체<br>
+     * x, y는 격자 단위의 연속 좌표로, 격자 (nx, ny)의 중심은 정확히 (nx, ny)이다.
+     */
+    static final class Projection {
+        private static final double DEGRAD = Math.PI / 180.0;
+        private static final double RADDEG = 180.0 / Math.PI;
+
+        private final double re;
+        private final double olon;
+        private final double sn;
+        private final double sf;
+        private final double ro;
+        private final double xo;
+        private final double yo;
+
+        Projection(double earthRadiusKm, double gridKm, double slat1Deg, double slat2Deg,
+                   double olonDeg, double olatDeg, double xo, double yo) {
+            this.re = earthRadiusKm / gridKm;
+            double slat1 = slat1Deg * DEGRAD;
+            double slat2 = slat2Deg * DEGRAD;
+            this.olon = olonDeg * DEGRAD;
+            double olat = olatDeg * DEGRAD;
+
+            double sn = Math.tan(Math.PI * 0.25 + slat2 * 0.5) /
+                        Math.tan(Math.PI * 0.25 + slat1 * 0.5);
+            sn = Math.log(Math.cos(slat1) / Math.cos(slat2)) / Math.log(sn);
+            this.sn = sn;
+
+            double sf = Math.tan(Math.PI * 0.25 + slat1 * 0.5);
+            sf = Math.pow(sf, sn) * Math.cos(slat1) / sn;
+            this.sf = sf;
+
+            double ro = Math.tan(Math.PI * 0.25 + olat * 0.5);
+            this.ro = re * sf / Math.pow(ro, sn);
+
+            this.xo = xo;
+            this.yo = yo;
+        }
 
-        double re = RE / GRID;
-        double slat1 = SLAT1 * DEGRAD;
-        double slat2 = SLAT2 * DEGRAD;
-        double olon = OLON * DEGRAD;
-        double olat = OLAT * DEGRAD;
+        KmaGridPoint toGrid(double lon, double lat) {
+            double ra = ra(lat);
+            double theta = theta(lon);
+            int x = (int)Math.floor(ra * Math.sin(theta) + xo + 0.5);
+            int y = (int)Math.floor(ro - ra * Math.cos(theta) + yo + 0.5);
+            return new KmaGridPoint(x, y);
+        }
 
-        double sn = Math.tan(Math.PI * 0.25 + slat2 * 0.5) /
-                    Math.tan(Math.PI * 0.25 + slat1 * 0.5);
-        sn = Math.log(Math.cos(slat1) / Math.cos(slat2)) / Math.log(sn);
+        void toGrid(double lon, double lat, int[] outNx, int[] outNy, int i) {
+            double ra = ra(lat);
+            double theta = theta(lon);
+            outNx[i] = (int)Math.floor(ra * Math.sin(theta) + xo + 0.5);
+            outNy[i] = (int)Math.floor(ro - ra * Math.cos(theta) + yo + 0.5);
+        }
 
-        double sf = Math.tan(Math.PI * 0.25 + slat1 * 0.5);
-        sf = Math.pow(sf, sn) * Math.cos(slat1) / sn;
+        Coord toLonLat(double x, double y) {
+            double xn = x - xo;
+            double yn = ro - y + yo;
 
-        double ro = Math.tan(Math.PI * 0.25 + olat * 0.5);
-        ro = re * sf / Math.pow(ro, sn);
+            double ra = Math.sqrt(xn * xn + yn * yn);
+            if(sn < 0.0) ra = -ra;
+            double alat = Math.pow(re * sf / ra, 1.0 / sn);
+            alat = 2.0 * Math.atan(alat) - Math.PI * 0.5;
 
-        double ra = Math.tan(Math.PI * 0.25 + lat * DEGRAD * 0.5);
-        ra = re * sf / Math.pow(ra, sn);
+            double theta;
+            if(Math.abs(xn) <= 0.0) {
+                theta = 0.0;
+            } else if(Math.abs(yn) <= 0.0) {
+                theta = xn < 0.0 ? -Math.PI * 0.5 : Math.PI * 0.5;
+            } else {
+                theta = Math.atan2(xn, yn);
+            }
+            double alon = theta / sn + olon;
 
-        double theta = lon * DEGRAD - olon;
-        if(theta > Math.PI) theta -= 2.0 * Math.PI;
-        if(theta < -Math.PI) theta += 2.0 * Math.PI;
-        theta *= sn;
+            return new Coord(alon * RADDEG, alat * RADDEG);
+        }
 
-        int x = (int)Math.floor(ra * Math.sin(theta) + XO + 0.5);
-        int y = (int)Math.floor(ro - ra * Math.cos(theta) + YO + 0.5);
+        private double ra(double lat) {
+            double ra = Math.tan(Math.PI * 0.25 + lat * DEGRAD * 0.5);
+            return re * sf / Math.pow(ra, sn);
+        }
 
-        return new KmaGridPoint(x, y);
+        private double theta(double lon) {
+            double theta = lon * DEGRAD - olon;
+            if(theta > Math.PI) theta -= 2.0 * Math.PI;
+            if(theta < -Math.PI) theta += 2.0 * Math.PI;
+            return theta * sn;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.neck.weatherpick.server.client.kma.support;
+
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+
+/**
+ * <h5>기상청 격자 전체(149 x 253칸)의 중심 좌표 및 경계를 미리 계산해 둔 표</h5>
+ * 격자  →  위ㆍ경도 역변환은 pow, atan, atan2를 호출하므로, 많은 격자를 반복해서 변환하는 경우(지도 표시, 일괄 처리 등)에는 표를 사용한다.
+ * <ul>
+ *     <li>메모리 : 격자 수(약 3.8만 칸) x float 6개 ≒ 900KB</li>
+ *     <li>처음 {@link #get()}을 호출할 때 한 번만 계산한다.(사용하지 않으면 메모리를 차지하지 않음)</li>
+ * </ul>
+ * @see KmaGridConverter
+ */
+public final class KmaGridTable {
+    private static final int CELLS = KmaGridConverter.MAX_NX * KmaGridConverter.MAX_NY;
+
+    private final float[] centerLon = new float[CELLS];
+    private final float[] centerLat = new float[CELLS];
+    private final float[] minLon = new float[CELLS];
+    private final float[] minLat = new float[CELLS];
+    private final float[] maxLon = new float[CELLS];
+    private final float[] maxLat = new float[CELLS];
+
+    // 지연 초기화(lazy holder) : 클래스가 처음 사용될 때 JVM이 한 번만, 스레드 안전하게 초기화
+    private static final class Holder {
+        private static final KmaGridTable INSTANCE = new KmaGridTable();
+    }
+
+    public static KmaGridTable get() {
+        return Holder.INSTANCE;
+    }
+
+    private KmaGridTable() {
+        KmaGridConverter.Projection projection = KmaGridConverter.projection();
+        for(int nx = 1; nx <= KmaGridConverter.MAX_NX; nx++) {
+            for(int ny = 1; ny <= KmaGridConverter.MAX_NY; ny++) {
+                int i = indexOf(nx, ny);
+
+                KmaGridConverter.Coord center = projection.toLonLat(nx, ny);
+                centerLon[i] = (float)center.lon();
+                centerLat[i] = (float)center.lat();
+
+                // 격자 한 칸은 도법 좌표에서 (nx ± 0.5, ny ± 0.5)인 사각형  →  네 꼭짓점의 위ㆍ경도 중 최소/최대
+                double loMin = Double.MAX_VALUE, laMin = Double.MAX_VALUE, loMax = -Double.MAX_VALUE, laMax = -Double.MAX_VALUE;
+                for(int corner = 0; corner < 4; corner++) {
+                    KmaGridConverter.Coord c = projection.toLonLat(nx + ((corner & 1) == 0 ? -0.5 : 0.5), ny + ((corner & 2) == 0 ? -0.5 : 0.5));
+                    loMin = Math.min(loMin, c.lon());
+                    laMin = Math.min(laMin, c.lat());
+                    loMax = Math.max(loMax, c.lon());
+                    laMax = Math.max(laMax, c.lat());
+                }
+                minLon[i] = (float)loMin;
+                minLat[i] = (float)laMin;
+                maxLon[i] = (float)loMax;
+                maxLat[i] = (float)laMax;
+            }
+        }
+    }
+
+    public double centerLon(KmaGridPoint p) {
+        return centerLon[checkedIndexOf(p)];
+    }
+
+    public double centerLat(KmaGridPoint p) {
+        return centerLat[checkedIndexOf(p)];
+    }
+
+    /**
+     * @return {minLon, minLat, maxLon, maxLat}
+     */
+    public double[] bounds(KmaGridPoint p) {
+        int i = checkedIndexOf(p);
+        return new double[] {minLon[i], minLat[i], maxLon[i], maxLat[i]};
+    }
+
+    private static int checkedIndexOf(KmaGridPoint p) {
+        if(p.nx() < 1 || p.nx() > KmaGridConverter.MAX_NX || p.ny() < 1 || p.ny() > KmaGridConverter.MAX_NY) {
+            throw new IllegalArgumentException("기상청 격자 범위를 벗어난 좌표 : " + p);
+        }
+        return indexOf(p.nx(), p.ny());
+    }
+
+    private static int indexOf(int nx, int ny) {
+        return (nx - 1) * KmaGridConverter.MAX_NY + (ny - 1);
+    }
+}
\ No newline at end of file
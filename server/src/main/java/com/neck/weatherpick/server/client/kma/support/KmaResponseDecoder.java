@@ -0,0 +1,241 @@
+package com.neck.weatherpick.server.client.kma.support;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.*;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.*;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h5>기상청 응답을 도착하는 대로(DataBuffer 단위) 읽으면서, 사용하는 항목만 골라내는 디코더</h5>
+ * bodyToMono(FcstResponse.class)는 응답 전체가 도착할 때까지 모아 둔 뒤, 60개 항목을 모두 객체(항목당 String 6개)로 만든다.
+ * 그런데 실제로 사용하는 것은 실황 5개 항목(WeatherSnapshot)과 예보의 SKY 6개 항목뿐이다.
+ * <ul>
+ *     <li>스트리밍 : Jackson의 non-blocking 파서에 DataBuffer를 도착하는 대로 넣고, 다 읽은 DataBuffer는 바로 반환(응답 전체를 모으지 않음)</li>
+ *     <li>항목 선별 : category를 미리 정해 둔 문자열과 문자 단위로 비교(String 생성 없음)하고, 사용하지 않는 항목은 값을 읽지 않음</li>
+ *     <li>
+ *         문자열 공유 : 발표 일자/시각은 모든 항목이 같으므로, 직전 값과 같으면 그 String을 그대로 사용<br>
+ *         필드 이름은 Jackson이 한 번만 만들어 재사용(canonicalize)한다.
+ *     </li>
+ * </ul>
+ * 결과는 기존과 같은 NcstResponse / FcstResponse(사용하는 항목만 담김)이므로,
+ * 캐시, last-known-good, 만료 시각 계산(KmaPublicationExpiry), 캐시 스냅숏 등은 그대로 동작한다.
+ * <pre>./gradlew jmh -PjmhIncludes=KmaDecodingBenchmark  →  기존 방식(레코드 바인딩)과 응답당 할당량/시간 비교</pre>
+ */
+public final class KmaResponseDecoder {
+    private static final JsonFactory JSON = new JsonFactory();
+
+    // WeatherSnapshot.of에서 사용하는 항목
+    static final String[] NCST_CATEGORIES = {"T1H", "RN1", "REH", "WSD", "PTY"};
+    static final String[] FCST_CATEGORIES = {"SKY"};
+
+    private KmaResponseDecoder() {}
+
+    public static Mono<NcstResponse> ncst(Flux<DataBuffer> body) {
+        return decode(body, false).map(Parser::ncst);
+    }
+
+    public static Mono<FcstResponse> fcst(Flux<DataBuffer> body) {
+        return decode(body, true).map(Parser::fcst);
+    }
+
+    /**
+     * 응답 전체가 이미 있는 경우(테스트, 벤치마크)
+     * @return 본문이 비어 있으면 null
+     */
+    public static NcstResponse ncst(byte[] json) throws IOException {
+        Parser parser = parse(json, false);
+        return parser == null ? null : parser.ncst();
+    }
+
+    public static FcstResponse fcst(byte[] json) throws IOException {
+        Parser parser = parse(json, true);
+        return parser == null ? null : parser.fcst();
+    }
+
+    private static Parser parse(byte[] json, boolean forecast) throws IOException {
+        Parser parser = new Parser(forecast);
+        parser.feed(ByteBuffer.wrap(json));
+        return parser.finish();
+    }
+
+    private static Mono<Parser> decode(Flux<DataBuffer> body, boolean forecast) {
+        return Mono.defer(() -> {
+            Parser parser = new Parser(forecast);
+            return body
+                    .doOnNext(buf -> {
+                        try(DataBuffer.ByteBufferIterator it = buf.readableByteBuffers()) {
+                            while(it.hasNext()) parser.feed(it.next());
+                        } catch(IOException e) {
+                            throw new DecodingException("기상청 응답 파싱 실패", e);
+                        } finally {
+                            DataBufferUtils.release(buf); // 다 읽은 조각은 바로 반환
+                        }
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .then(Mono.fromCallable(() -> {
+                        try {
+                            return parser.finish(); // null(본문 없음)  →  empty
+                        } catch(IOException e) {
+                            throw new DecodingException("기상청 응답 파싱 실패", e);
+                        }
+                    }));
+        });
+    }
+
+    /*
+        ❓ 경로 추적
+        non-blocking 파서는 하위 트리를 건너뛰는(skipChildren) 기능을 쓸 수 없으므로, 모든 토큰을 차례로 받으면서 현재 위치를 기억한다.
+        path[d] : 깊이 d + 1의 객체/배열을 가리키는 필드 이름(배열 원소는 null)
+        { "response": { "body": { "items": { "item": [ { 항목 }, ... ] } } } }
+            → 항목 객체 : 깊이 6, path = [null, response, body, items, item, null]
+    */
+    private static final class Parser {
+        private static final int ITEM_DEPTH = 6;
+
+        private final boolean forecast;
+        private final String[] categories;
+        private final JsonParser p;
+        private final ByteBufferFeeder feeder;
+
+        private final String[] path = new String[ITEM_DEPTH + 2];
+        private int depth;
+        private String field;
+        private boolean started, hasResponse, hasBody;
+
+        private final List<NcstItem> ncstItems = new ArrayList<>();
+        private final List<FcstItem> fcstItems = new ArrayList<>();
+
+        // 현재 항목(사용하지 않는 항목이면 category == null && categorySeen)
+        private String category, value, fcstDate, fcstTime, baseDate, baseTime;
+        private boolean categorySeen;
+
+        Parser(boolean forecast) {
+            this.forecast = forecast;
+            this.categories = forecast ? FCST_CATEGORIES : NCST_CATEGORIES;
+            try {
+                this.p = JSON.createNonBlockingByteBufferParser();
+            } catch(IOException e) {
+                throw new IllegalStateException(e);
+            }
+            this.feeder = (ByteBufferFeeder)p.getNonBlockingInputFeeder();
+        }
+
+        void feed(ByteBuffer buf) throws IOException {
+            feeder.feedInput(buf);
+            drain();
+        }
+
+        Parser finish() throws IOException {
+            feeder.endOfInput();
+            drain();
+            p.close();
+            return started ? this : null;
+        }
+
+        NcstResponse ncst() {
+            if(!hasResponse) return new NcstResponse(null);
+            return new NcstResponse(new NcstInnerResponse(hasBody ? new NcstBody(new NcstItems(ncstItems)) : null));
+        }
+
+        FcstResponse fcst() {
+            if(!hasResponse) return new FcstResponse(null);
+            return new FcstResponse(new FcstInnerResponse(hasBody ? new FcstBody(new FcstItems(fcstItems)) : null));
+        }
+
+        // 지금까지 받은 바이트로 만들 수 있는 토큰을 모두 처리
+        private void drain() throws IOException {
+            JsonToken t;
+            while((t = p.nextToken()) != null && t != JsonToken.NOT_AVAILABLE) {
+                started = true;
+                switch(t) {
+                    case FIELD_NAME -> field = p.currentName();
+                    case START_OBJECT, START_ARRAY -> enter();
+                    case END_OBJECT, END_ARRAY -> exit();
+                    default -> { if(depth == ITEM_DEPTH && isInItems()) value(); }
+                }
+            }
+        }
+
+        private void enter() {
+            if(depth < path.length) path[depth] = field;
+            depth++;
+            field = null;
+
+            if(depth == 2 && "response".equals(path[1])) hasResponse = true;
+            else if(depth == 3 && "body".equals(path[2]) && "response".equals(path[1])) hasBody = true;
+            else if(depth == ITEM_DEPTH && isInItems()) {
+                category = value = fcstDate = fcstTime = null;
+                categorySeen = false;
+            }
+        }
+
+        private void exit() {
+            if(depth == ITEM_DEPTH && isInItems() && category != null) {
+                if(forecast) fcstItems.add(new FcstItem(category, value, fcstDate, fcstTime, baseDate, baseTime));
+                else ncstItems.add(new NcstItem(category, value, baseDate, baseTime));
+            }
+            depth--;
+        }
+
+        private boolean isInItems() {
+            return "item".equals(path[4]) && "items".equals(path[3]) && "body".equals(path[2]) && "response".equals(path[1]);
+        }
+
+        // 항목 객체 안의 값
+        private void value() throws IOException {
+            if(field == null) return;
+            switch(field) {
+                case "category" -> {
+                    category = match(categories);
+                    categorySeen = true;
+                }
+                // 발표 일자/시각 : 모든 항목이 같으므로 직전 값 재사용(항목 선별 전에 나오므로 항상 읽음)
+                case "baseDate" -> baseDate = reuse(baseDate);
+                case "baseTime" -> baseTime = reuse(baseTime);
+                default -> {
+                    if(categorySeen && category == null) return; // 사용하지 않는 항목
+                    switch(field) {
+                        case "obsrValue", "fcstValue" -> value = p.getText();
+                        case "fcstDate" -> fcstDate = reuse(fcstDate);
+                        case "fcstTime" -> fcstTime = p.getText();
+                        default -> {}
+                    }
+                }
+            }
+        }
+
+        // 후보 중 현재 값과 같은 문자열(상수)을 반환
+        private String match(String[] candidates) throws IOException {
+            for(String c : candidates) {
+                if(textEquals(c)) return c;
+            }
+            return null;
+        }
+
+        private String reuse(String previous) throws IOException {
+            return previous != null && textEquals(previous) ? previous : p.getText();
+        }
+
+        private boolean textEquals(String s) throws IOException {
+            char[] chars = p.getTextCharacters();
+            int offset = p.getTextOffset(), length = p.getTextLength();
+            if(length != s.length()) return false;
+            for(int i = 0; i < length; i++) {
+                if(chars[offset + i] != s.charAt(i)) return false;
+            }
+            return true;
+        }
+    }
+}
\ No newline at end of file
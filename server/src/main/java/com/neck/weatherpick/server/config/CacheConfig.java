@@ -1,22 +1,46 @@
 package com.neck.weatherpick.server.config;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neck.weatherpick.server.cache.CoalescingCaffeineCache;
+import com.neck.weatherpick.server.cache.FixedTtlExpiry;
+import com.neck.weatherpick.server.cache.KmaPublicationExpiry;
+import com.neck.weatherpick.server.cache.SharedCacheStore;
+import com.neck.weatherpick.server.cache.TwoTierCaffeineCache;
+import com.neck.weatherpick.server.cache.WeatherSnapshotExpiry;
+import com.neck.weatherpick.server.client.geo.dto.request.LonLat;
+import com.neck.weatherpick.server.client.kma.KmaProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * <h5>외부 API 호출 비용/지연을 줄이기 위한 캐시 설정</h5>
+ * 캐싱 대상 메서드가 모두 Mono를 반환하므로, 각 캐시는 비동기 모드(AsyncCache)로 생성한다.
+ * (동기 모드 캐시는 Mono/CompletableFuture를 반환하는 @Cacheable 메서드를 지원하지 않음)
+ * 또한 동시 캐시 미스가 하나의 외부 API 호출을 공유하도록, 모든 캐시를 CoalescingCaffeineCache로 생성한다.
+ * <br><br>
+ * 모든 캐시는 recordStats()로 적중/미스/제거/로딩 시간을 집계하며, Spring Boot Actuator가 이를 cache.* 지표로 자동 등록한다.
+ * (집계는 캐시별 LongAdder 증가 정도라서, 운영 환경에서 켜 둬도 무방)
+ * <pre>GET /actuator/metrics/cache.gets?tag=cache:kmaNcst&tag=result:miss</pre>
+ * 서버와 관계없이 결과가 같은 캐시(카카오맵, OpenAI)는 모든 서버가 공유하는 캐시(SharedCacheStore)를 2차 캐시로 사용한다.(shared-cache.enabled)
+ * 기상청 캐시는 발표 시각마다 바뀌고 크기도 작으므로, 서버별로만 둔다.
+ * <br><br>
+ * 재시작 직후 모든 캐시가 비어 외부 API 호출이 몰리지 않도록, 캐시 내용을 주기적으로(그리고 종료 시) 파일에 저장해 두었다가 시작할 때 복원한다.  →  CacheSnapshotStore 참고
+ * 복원할 때 남은 유효 시간만큼만 유지할 수 있도록, 모든 캐시는 항목별 만료(expireAfter)로 생성한다.
  */
 @Configuration
 public class CacheConfig {
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(Clock clock, KmaProperties kmaProps, Optional<SharedCacheStore> sharedStore) {
         SimpleCacheManager cm = new SimpleCacheManager();
 
         /*
@@ -25,12 +49,14 @@ public class CacheConfig {
             - 출력 : 주소, 장소명, 위ㆍ경도
             주소, 장소명, 위ㆍ경도  ←  이러한 정보는 웬만하면 바뀔 일이 없으므로, TTL을 길게 설정하는 것이 좋다.
         */
-        CaffeineCache kakaoLonLat = new CaffeineCache(
+        CoalescingCaffeineCache kakaoLonLat = sharedOrLocal(
                 "kakaoLonLat",
                 Caffeine.newBuilder()
                         .maximumSize(100) // 최대 100개까지 캐싱(만약 100개가 넘으면, 오래 사용되지 않은 것부터 자동 삭제)
-                        .expireAfterWrite(Duration.ofDays(1)) // 캐시에 저장된 지 1일이 지나면, 자동 삭제
-                        .build()
+                        .expireAfter(new FixedTtlExpiry(Duration.ofDays(1))) // 캐시에 저장된 지 1일이 지나면, 자동 삭제(expireAfterWrite와 같음  →  FixedTtlExpiry 참고)
+                        .recordStats()
+                        .buildAsync(),
+                sharedStore, LonLat.class, Duration.ofDays(30) // 공유 캐시는 서버 메모리를 차지하지 않으므로, 더 오래 보관
         );
 
         /*
@@ -39,34 +65,52 @@ public class CacheConfig {
             - 출력 : 주소
             주소  ←  마찬가지로 이러한 정보는 웬만하면 바뀔 일이 없으므로, TTL을 길게 설정하는 것이 좋다.
         */
-        CaffeineCache kakaoAddr = new CaffeineCache(
+        CoalescingCaffeineCache kakaoAddr = sharedOrLocal(
                 "kakaoAddr",
                 Caffeine.newBuilder()
                         .maximumSize(200)
-                        .expireAfterWrite(Duration.ofDays(1))
-                        .build()
+                        .expireAfter(new FixedTtlExpiry(Duration.ofDays(1)))
+                        .recordStats()
+                        .buildAsync(),
+                sharedStore, String.class, Duration.ofDays(30)
         );
 
         /*
             3. 공공데이터포털
             - 입력 : 기상청 격자 좌표
             - 출력 : 기상청 격자 좌표에 해당하는 지점의 날씨 정보
-            날씨는 계속 바뀌므로, 오래 캐싱하면 잘못된 정보가 될 수 있다.
-            즉, TTL을 짧게 설정하는 것이 좋다.
+            날씨는 계속 바뀌지만, 기상청 데이터 자체는 발표 시각(base_time)마다 1시간 간격으로만 바뀐다.
+            즉, 고정 TTL 대신 다음 발표 시각에 맞춰 만료시키는 것이 좋다.  →  KmaPublicationExpiry 참고
         */
-        CaffeineCache kmaNcst = new CaffeineCache(
+        CoalescingCaffeineCache kmaNcst = new CoalescingCaffeineCache(
                 "kmaNcst",
                 Caffeine.newBuilder()
                         .maximumSize(100)
-                        .expireAfterWrite(Duration.ofMinutes(5))
-                        .build()
+                        .expireAfter(new KmaPublicationExpiry(clock, kmaProps.getNcstPublicationLag(), kmaProps.getFallbackRetry()))
+                        .recordStats()
+                        .buildAsync()
         );
-        CaffeineCache kmaFcst = new CaffeineCache(
+        CoalescingCaffeineCache kmaFcst = new CoalescingCaffeineCache(
                 "kmaFcst",
                 Caffeine.newBuilder()
                         .maximumSize(100)
-                        .expireAfterWrite(Duration.ofMinutes(5))
-                        .build()
+                        .expireAfter(new KmaPublicationExpiry(clock, kmaProps.getFcstPublicationLag(), kmaProps.getFallbackRetry()))
+                        .recordStats()
+                        .buildAsync()
+        );
+
+        /*
+            공공데이터포털 응답을 파싱한 결과(WeatherSnapshot)
+            원본 응답(항목 약 70개의 객체 트리)을 요청마다 다시 파싱하지 않도록, 필요한 값만 기본형으로 추려 캐싱한다.
+            격자 + 실황/예보 발표 시각이 Key이므로, 원본 캐시(kmaNcst, kmaFcst)와 같은 크기로 설정한다.
+        */
+        CoalescingCaffeineCache kmaSnapshot = new CoalescingCaffeineCache(
+                "kmaSnapshot",
+                Caffeine.newBuilder()
+                        .maximumSize(100)
+                        .expireAfter(new WeatherSnapshotExpiry(kmaProps.getStale().getNotPublishedTtl()))
+                        .recordStats()
+                        .buildAsync()
         );
 
         /*
@@ -77,15 +121,53 @@ public class CacheConfig {
             더군다나, 동일하거나 유사한 날씨 조건에서의 추천 결과는 변화가 거의 없다.
             즉, 재사용 가치가 높으므로 TTL을 길게 설정하는 것이 좋다.
         */
-        CaffeineCache aiReco = new CaffeineCache(
+        CoalescingCaffeineCache aiReco = sharedOrLocal(
                 "aiReco",
                 Caffeine.newBuilder()
                         .maximumSize(100)
-                        .expireAfterWrite(Duration.ofDays(1))
-                        .build()
+                        .expireAfter(new FixedTtlExpiry(Duration.ofDays(1)))
+                        .recordStats()
+                        .buildAsync(),
+                sharedStore, String.class, Duration.ofDays(7)
         );
 
-        cm.setCaches(List.of(kakaoLonLat, kakaoAddr, kmaNcst, kmaFcst, aiReco));
+        cm.setCaches(List.of(kakaoLonLat, kakaoAddr, kmaNcst, kmaFcst, kmaSnapshot, aiReco));
         return cm;
     }
+
+    // 공유 캐시를 사용하지 않으면(shared-cache.enabled = false) 서버 캐시만
+    private static CoalescingCaffeineCache sharedOrLocal(String name, AsyncCache<Object, Object> cache, Optional<SharedCacheStore> sharedStore,
+                                                         Class<?> valueType, Duration sharedTtl) {
+        return sharedStore
+                .<CoalescingCaffeineCache>map(store -> new TwoTierCaffeineCache(name, cache, store, valueType, sharedTtl))
+                .orElseGet(() -> new CoalescingCaffeineCache(name, cache));
+    }
+
+    /**
+     * 캐시별 외부 API 호출 횟수(cache.loads)와, 진행 중인 호출에 합류해 아낀 호출 횟수(cache.coalesced)
+     * <pre>GET /actuator/metrics/cache.coalesced?tag=cache:aiReco</pre>
+     */
+    @Bean
+    public MeterBinder coalescingCacheMetrics(CacheManager cacheManager) {
+        return registry -> {
+            for(String name : cacheManager.getCacheNames()) {
+                if(!(cacheManager.getCache(name) instanceof CoalescingCaffeineCache cache)) continue;
+
+                FunctionCounter.builder("cache.loads", cache, CoalescingCaffeineCache::loadCount)
+                        .tag("cache", name)
+                        .description("캐시 미스로 인해 실제로 외부 API를 호출한 횟수")
+                        .register(registry);
+                FunctionCounter.builder("cache.coalesced", cache, CoalescingCaffeineCache::coalescedCount)
+                        .tag("cache", name)
+                        .description("진행 중인 호출에 합류해 외부 API 호출을 생략한 횟수")
+                        .register(registry);
+                if(cache instanceof TwoTierCaffeineCache twoTier) {
+                    FunctionCounter.builder("cache.shared.hits", twoTier, TwoTierCaffeineCache::sharedHitCount)
+                            .tag("cache", name)
+                            .description("서버 캐시 미스였지만 공유 캐시에서 찾아 외부 API 호출을 생략한 횟수")
+                            .register(registry);
+                }
+            }
+        };
+    }
 }
\ No newline at end of file
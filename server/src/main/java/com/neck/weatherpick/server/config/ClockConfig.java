@@ -0,0 +1,19 @@
+package com.neck.weatherpick.server.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+/**
+ * <h5>현재 시각을 구할 때 사용하는 시계(한국 표준시)</h5>
+ * LocalDateTime.now()를 직접 호출하지 않고 Clock을 주입받아 사용하면, 테스트에서 원하는 시각으로 고정할 수 있다.
+ */
+@Configuration
+public class ClockConfig {
+    @Bean
+    public Clock clock() {
+        return Clock.system(ZoneId.of("Asia/Seoul"));
+    }
+}
\ No newline at end of file
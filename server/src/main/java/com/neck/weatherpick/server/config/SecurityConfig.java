@@ -4,6 +4,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.writers.CacheControlHeadersWriter;
+import org.springframework.security.web.header.writers.DelegatingRequestMatcherHeaderWriter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -15,6 +20,12 @@ public class SecurityConfig {
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
+            // 기본 헤더(Cache-Control: no-cache, no-store ...)는 비동기 응답(Mono)에서 컨트롤러보다 먼저 기록되므로,
+            // 컨트롤러가 정한 Cache-Control(WeatherHttpCache)을 덮어쓰지 않도록 /api/weather/now에서만 끈다.(actuator 등 나머지는 그대로 no-store)
+            .headers(headers -> headers
+                .cacheControl(cache -> cache.disable())
+                .addHeaderWriter(cacheControlExceptWeatherNow())
+            )
 
             .authorizeHttpRequests(auth -> auth
                 .anyRequest().permitAll()
@@ -23,6 +34,11 @@ public class SecurityConfig {
         return http.build();
     }
 
+    static HeaderWriter cacheControlExceptWeatherNow() {
+        return new DelegatingRequestMatcherHeaderWriter(
+                new NegatedRequestMatcher(new AntPathRequestMatcher("/api/weather/now")), new CacheControlHeadersWriter());
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -1,33 +1,209 @@
 package com.neck.weatherpick.server.controller;
 
+import com.neck.weatherpick.server.cache.WeatherHttpCache;
+import com.neck.weatherpick.server.dto.WeatherBatchRequest;
+import com.neck.weatherpick.server.dto.WeatherBatchResponse;
 import com.neck.weatherpick.server.dto.WeatherNowResponse;
 import com.neck.weatherpick.server.dto.WeatherRecommendationResponse;
+import com.neck.weatherpick.server.metrics.TimedMono;
 import com.neck.weatherpick.server.service.OutfitRecommendationService;
+import com.neck.weatherpick.server.service.WeatherBatchService;
+import com.neck.weatherpick.server.service.WeatherLiveService;
 import com.neck.weatherpick.server.service.WeatherService;
-import lombok.RequiredArgsConstructor;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.RestController;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api/weather")
-@RequiredArgsConstructor
 public class WeatherController {
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(1); // 추천 스트리밍 연결 유지 시간
+
     private final WeatherService weatherService;
     private final OutfitRecommendationService outfitRecommendationService;
+    private final WeatherBatchService weatherBatchService;
+    private final WeatherLiveService weatherLiveService;
+    private final WeatherHttpCache httpCache;
+
+    /*
+        ❓ http.server.requests 대신 직접 측정하는 이유
+        두 핸들러의 URI(/api/weather/now)가 같아서, 기본 지표(http.server.requests)로는 지역 검색과 좌표 검색을 구분할 수 없다.
+        따라서 핸들러별로 외부 API ~ AI 추천까지 전체 소요 시간을 따로 측정한다.
+        ex) GET /actuator/metrics/weather.requests?tag=handler:nowByCoord
+    */
+    private final TimedMono nowTimer;
+    private final TimedMono nowByCoordTimer;
+    private final TimedMono batchTimer;
+
+    public WeatherController(WeatherService weatherService, OutfitRecommendationService outfitRecommendationService,
+                             WeatherBatchService weatherBatchService, WeatherLiveService weatherLiveService, WeatherHttpCache httpCache,
+                             MeterRegistry registry) {
+        this.weatherService = weatherService;
+        this.outfitRecommendationService = outfitRecommendationService;
+        this.weatherBatchService = weatherBatchService;
+        this.weatherLiveService = weatherLiveService;
+        this.httpCache = httpCache;
+        this.nowTimer = new TimedMono(registry, "weather.requests", "날씨 + 추천 조회 전체 소요 시간", Tags.of("handler", "now"), null);
+        this.nowByCoordTimer = new TimedMono(registry, "weather.requests", "날씨 + 추천 조회 전체 소요 시간", Tags.of("handler", "nowByCoord"), null);
+        this.batchTimer = new TimedMono(registry, "weather.requests", "날씨 + 추천 조회 전체 소요 시간", Tags.of("handler", "batch"), null);
+    }
+
+    /*
+        ❓ Mono를 반환하면
+        Spring MVC는 컨트롤러가 Mono를 반환하면, 비동기 요청 처리(Servlet async)로 전환한다.
+        즉, Mono가 값을 발행할 때까지 Tomcat 스레드를 붙잡고 있지 않고, 곧바로 스레드 풀에 반납한다.
+        → 외부 API(공공데이터포털 → 카카오맵 → OpenAI)가 느리더라도, 적은 수의 스레드로 많은 요청을 동시에 처리할 수 있다.
+    */
+
+    /*
+        ❓ ETag / 304(Not Modified)
+        응답에는 검증자(ETag)와 유효 기간(Cache-Control : 다음 발표 반영까지)을 함께 보낸다.
+        유효 기간 동안은 브라우저ㆍCDN이 서버에 묻지 않고 재사용하고, 이후에는 If-None-Match로 바뀌었는지만 확인한다.
+        ETag는 날씨만으로 계산되므로, 일치하면 추천(OpenAI 등)을 만들지 않고 곧바로 304(본문 없음)로 응답한다.  →  WeatherHttpCache 참고
+    */
 
     @GetMapping(value = "/now", params = "region")
-    public WeatherRecommendationResponse now(@RequestParam("region")String region) {
-        WeatherNowResponse weather = weatherService.getNowByRegion(region);
-        String message = outfitRecommendationService.recommend(weather);
-        return new WeatherRecommendationResponse(weather, message);
+    public Mono<ResponseEntity<WeatherRecommendationResponse>> now(@RequestParam("region")String region,
+                                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)String ifNoneMatch) {
+        return nowTimer.wrap(weatherService.getNowByRegion(region)
+                .flatMap(weather -> withRecommendation(weather, ifNoneMatch)));
     }
 
     @GetMapping(value = "/now", params = {"lon", "lat"})
-    public WeatherRecommendationResponse nowByCoord(@RequestParam("lon")double lon, @RequestParam("lat")double lat) {
-        WeatherNowResponse weather = weatherService.getNowByCoord(lon, lat);
-        String message = outfitRecommendationService.recommend(weather);
-        return new WeatherRecommendationResponse(weather, message);
+    public Mono<ResponseEntity<WeatherRecommendationResponse>> nowByCoord(@RequestParam("lon")double lon, @RequestParam("lat")double lat,
+                                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)String ifNoneMatch) {
+        return nowByCoordTimer.wrap(weatherService.getNowByCoord(lon, lat)
+                .flatMap(weather -> withRecommendation(weather, ifNoneMatch)));
+    }
+
+    /*
+        ❓ 추천 스트리밍(Server-Sent Events)
+        /now는 OpenAI 응답이 끝날 때까지 기다리므로, 이미 캐시에 있는 날씨도 가장 느린 외부 API(OpenAI)에 맞춰 늦게 도착한다.
+        /now/stream은 날씨를 먼저 보내고(event : weather), 추천은 만들어지는 대로 조금씩 보낸다.(event : delta)
+        추천이 끝나면 전체 텍스트를 한 번 더 보낸다.(event : done)
+        → 첫 응답 시간이 OpenAI 응답 시간과 관계없어짐
+    */
+
+    @GetMapping(value = "/now/stream", params = "region", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter nowStream(@RequestParam("region")String region) {
+        return toEmitter(withStreamedRecommendation(weatherService.getNowByRegion(region)), STREAM_TIMEOUT);
+    }
+
+    @GetMapping(value = "/now/stream", params = {"lon", "lat"}, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter nowByCoordStream(@RequestParam("lon")double lon, @RequestParam("lat")double lat) {
+        return toEmitter(withStreamedRecommendation(weatherService.getNowByCoord(lon, lat)), STREAM_TIMEOUT);
+    }
+
+    /**
+     * 여러 위치(지역 이름, 위ㆍ경도 혼합)를 한꺼번에 조회<br>
+     * 같은 격자의 날씨, 같은 구간(aiKey)의 추천은 한 번만 조회한다.  →  WeatherBatchService 참고
+     * <pre>
+     * 📣 요청 예시 📣
+     * {"locations": [{"region": "서울 종로구"}, {"lon": 126.7242, "lat": 37.4941}]}
+     * </pre>
+     */
+    @PostMapping("/batch")
+    public Mono<WeatherBatchResponse> batch(@RequestBody WeatherBatchRequest request) {
+        return batchTimer.wrap(weatherBatchService.getNow(request.locations()));
+    }
+
+    /*
+        ❓ 실시간 구독(Server-Sent Events)
+        polling 대신 연결을 열어 두면, 발표 시각이 바뀔 때마다 서버가 새 날씨 + 추천을 보낸다.(event : weather)
+        같은 격자의 구독자들은 하나의 피드를 공유하므로, 외부 API 호출 수는 구독자 수와 관계없다.  →  WeatherLiveService 참고
+        ex) const source = new EventSource("/api/weather/live?region=서울");
+            source.addEventListener("weather", e => console.log(JSON.parse(e.data)));
+    */
+
+    @GetMapping(value = "/live", params = "region", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter live(@RequestParam("region")String region) {
+        return toLiveEmitter(weatherLiveService.subscribeByRegion(region));
+    }
+
+    @GetMapping(value = "/live", params = {"lon", "lat"}, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter liveByCoord(@RequestParam("lon")double lon, @RequestParam("lat")double lat) {
+        return toLiveEmitter(weatherLiveService.subscribeByCoord(lon, lat));
+    }
+
+    private Flux<SseEmitter.SseEventBuilder> withHeartbeats(Flux<WeatherRecommendationResponse> updates) {
+        return Flux.merge(1, // 보내기를 기다리는 동안 쌓아 두지 않음(WeatherLiveService.deliver 참고)
+                updates.map(res -> SseEmitter.event().name("weather").data(res)),
+                weatherLiveService.heartbeats().map(tick -> SseEmitter.event().comment("heartbeat"))
+        );
+    }
+
+    private Flux<SseEmitter.SseEventBuilder> withStreamedRecommendation(Mono<WeatherNowResponse> weather) {
+        return weather.flatMapMany(w -> {
+            StringBuilder message = new StringBuilder();
+            return Flux.concat(
+                    Mono.just(SseEmitter.event().name("weather").data(w)),
+                    outfitRecommendationService.streamRecommend(w)
+                            .doOnNext(message::append)
+                            .map(delta -> SseEmitter.event().name("delta").data(Map.of("text", delta))), // JSON으로 감싸, 줄 바꿈이 SSE 형식을 깨뜨리지 않도록
+                    Mono.fromSupplier(() -> SseEmitter.event().name("done").data(Map.of("message", message.toString())))
+            );
+        });
+    }
+
+    private SseEmitter toEmitter(Flux<SseEmitter.SseEventBuilder> events, Duration timeout) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        return bind(emitter, events.doOnNext(event -> send(emitter, event)));
+    }
+
+    /**
+     * 실시간 구독 : 보내기는 WeatherLiveService의 전용 스레드에서, 보내기가 막히면(write-timeout) 연결 종료
+     */
+    private SseEmitter toLiveEmitter(Flux<WeatherRecommendationResponse> updates) {
+        SseEmitter emitter = new SseEmitter(weatherLiveService.timeout().toMillis());
+        return bind(emitter, weatherLiveService.deliver(withHeartbeats(updates), event -> send(emitter, event)));
+    }
+
+    private static void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch(IOException | IllegalStateException e) {
+            emitter.completeWithError(e); // 클라이언트가 연결을 끊음
+        }
+    }
+
+    private static SseEmitter bind(SseEmitter emitter, Flux<?> sends) {
+        Disposable subscription = sends
+                .subscribe(null, e -> {
+                    if(e instanceof TimeoutException) emitter.complete(); // 응답이 막힌 클라이언트  →  연결을 끊음(EventSource는 자동으로 다시 연결)
+                    else emitter.completeWithError(e);
+                }, emitter::complete);
+
+        // 연결이 끝나면(정상 종료, 시간 초과, 오류) 구독 해제  →  구독자가 없는 격자의 피드 제거(진행 중인 OpenAI 호출은 끝까지 진행해 캐시에 저장)
+        emitter.onCompletion(subscription::dispose);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+        return emitter;
+    }
+
+    private Mono<ResponseEntity<WeatherRecommendationResponse>> withRecommendation(WeatherNowResponse weather, String ifNoneMatch) {
+        String etag = httpCache.etag(weather);
+        CacheControl cacheControl = httpCache.cacheControl(weather);
+        if(WeatherHttpCache.matches(ifNoneMatch, etag)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build());
+        }
+
+        return outfitRecommendationService.recommend(weather)
+                .map(message -> ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(new WeatherRecommendationResponse(weather, message)))
+                // 추천을 생략한 경우(OpenAI 호출 한도 초과) 날씨만  →  추천이 있는 응답과 같은 ETag를 쓰면 안 되므로, 캐시하지 않음
+                .defaultIfEmpty(ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(new WeatherRecommendationResponse(weather, null)));
     }
 }
\ No newline at end of file
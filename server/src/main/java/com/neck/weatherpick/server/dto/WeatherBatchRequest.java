@@ -0,0 +1,10 @@
+package com.neck.weatherpick.server.dto;
+
+import java.util.List;
+
+public record WeatherBatchRequest(List<Location> locations) {
+    /**
+     * 지역 이름(region) 또는 위ㆍ경도(lon, lat) 중 하나
+     */
+    public record Location(String region, Double lon, Double lat) {}
+}
\ No newline at end of file
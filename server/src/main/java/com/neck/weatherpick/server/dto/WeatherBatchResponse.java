@@ -0,0 +1,15 @@
+package com.neck.weatherpick.server.dto;
+
+import java.util.List;
+
+/**
+ * @param results 요청한 위치 순서 그대로
+ * @param gridCount 실제로 날씨를 조회한 격자 수(중복 제거 후)
+ * @param recommendationCount 실제로 추천을 만든 구간(aiKey) 수(중복 제거 후)
+ */
+public record WeatherBatchResponse(List<Item> results, int gridCount, int recommendationCount) {
+    /**
+     * 위치별 결과(실패한 위치는 weather, message 없이 error만 담김)
+     */
+    public record Item(WeatherNowResponse weather, String message, String error) {}
+}
\ No newline at end of file
@@ -9,5 +9,8 @@ public record WeatherNowResponse(
         int humidity,               // REH
         double windSpeedMs,         // WSD
         String precipType,
-        String skyType
+        String skyType,
+        String ncstBase,            // 실제로 사용된 초단기 실황의 발표 일시(yyyyMMddHHmm)
+        String fcstBase,            // 실제로 사용된 초단기 예보의 발표 일시(yyyyMMddHHmm)
+        boolean stale               // 새 발표분이 아직 반영되지 않아, 직전 발표분으로 응답했는지 여부
 ) {}
\ No newline at end of file
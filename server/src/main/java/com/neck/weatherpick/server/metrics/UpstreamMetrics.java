@@ -0,0 +1,40 @@
+package com.neck.weatherpick.server.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Component;
+
+/**
+ * <h5>외부 API(공공데이터포털, 카카오맵, OpenAI) 호출 지표</h5>
+ * <ul>
+ *     <li>upstream.requests : 엔드포인트별 응답 시간(히스토그램), outcome별 호출 수</li>
+ *     <li>upstream.errors : 엔드포인트 + 예외 종류별 실패 횟수</li>
+ * </ul>
+ * <pre>GET /actuator/metrics/upstream.requests?tag=endpoint:getUltraSrtNcst</pre>
+ */
+@Component
+public class UpstreamMetrics {
+    private final MeterRegistry registry;
+
+    public UpstreamMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 클라이언트 생성 시 엔드포인트마다 한 번 호출해, 반환된 TimedMono를 필드로 보관한다.
+     * @param upstream kma / kakao / openai
+     * @param endpoint ex) getUltraSrtNcst, keyword, coord2address, responses, responses-stream
+     */
+    public TimedMono endpoint(String upstream, String endpoint) {
+        return new TimedMono(registry, "upstream.requests", "외부 API 응답 시간",
+                Tags.of("upstream", upstream, "endpoint", endpoint), "upstream.errors");
+    }
+
+    public Counter counter(String name, String description, String... tags) {
+        return Counter.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+}
\ No newline at end of file
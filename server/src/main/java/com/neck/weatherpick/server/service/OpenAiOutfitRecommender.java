@@ -0,0 +1,124 @@
+package com.neck.weatherpick.server.service;
+
+import com.neck.weatherpick.server.cache.CacheKeys;
+import com.neck.weatherpick.server.cache.CoalescingCaffeineCache;
+import com.neck.weatherpick.server.cache.TwoTierCaffeineCache;
+import com.neck.weatherpick.server.client.ai.OpenAiResponsesClient;
+import com.neck.weatherpick.server.dto.WeatherNowResponse;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <h5>OpenAI 옷차림 추천</h5>
+ * 규칙 테이블(OutfitRules)이 다루지 않는 구간이거나, 자세한 추천(recommendation.mode = rich)을 사용하는 경우에만 호출된다.
+ */
+@Component
+public class OpenAiOutfitRecommender {
+    private static final String SYSTEM_PROMPT = """
+            너는 제공된 날씨 정보를 기반으로 옷차림 및 준비물을 추천하는 엔진이다.
+            (설명/사족 일절 금지)
+            
+            출력은 반드시 아래 형식을 따른다.
+            (2줄로 출력)
+            
+            - 옷차림 : (최대 4개)
+            - 준비물 : (최대 4개)
+            
+            출력 예시는 다음과 같다.
+            - 옷차림 : 패딩, 히트텍, 목도리
+            - 준비물 : 우산
+            """;
+
+    private final OpenAiResponsesClient openAi;
+    private final CoalescingCaffeineCache aiReco;
+
+    public OpenAiOutfitRecommender(OpenAiResponsesClient openAi, CacheManager cacheManager) {
+        this.openAi = openAi;
+        this.aiReco = (CoalescingCaffeineCache)cacheManager.getCache("aiReco");
+    }
+
+    @Cacheable(
+            cacheNames = "aiReco",
+            key = "T(com.neck.weatherpick.server.cache.CacheKeys).aiKey(#p0)",
+            sync = true // 동일한 key에 대한 동시 요청은 하나의 외부 API 호출을 공유(single-flight)
+    )
+    public Mono<String> recommend(WeatherNowResponse weather) {
+        return openAi.createTextResponse(SYSTEM_PROMPT, userPrompt(weather))
+                .map(OpenAiResponsesClient::extractOutputText);
+    }
+
+    /**
+     * 추천 텍스트를 만들어지는 대로 조금씩(delta) 반환(OpenAI 스트리밍)<br>
+     * 이미 캐시에 있거나 다른 요청이 만드는 중이라면, 새로 호출하지 않고 그 결과를 한 번에 반환한다.
+     * 스트리밍이 끝나면 전체 텍스트를 aiReco 캐시에 저장한다.(recommend와 같은 Key  →  이후 recommend도 캐시 적중, 공유 캐시를 사용하면 공유 캐시에도 저장)
+     * 조각이 하나도 오지 않아 텍스트가 비어 있으면 실패로 끝나고, 캐시에 저장하지 않는다.
+     * <br><br>
+     * 스트리밍 도중 구독이 취소되더라도(클라이언트가 연결을 끊음) 호출은 끝까지 진행해 캐시에 저장한다.
+     */
+    public Flux<String> streamRecommend(WeatherNowResponse weather) {
+        return Flux.defer(() -> {
+            // @Cacheable(sync = true)와 마찬가지로, 진행 중인 호출(CompletableFuture)을 먼저 캐시에 넣어 동시 요청이 하나의 호출을 공유하도록 함
+            String key = CacheKeys.aiKey(weather);
+            CompletableFuture<Object> pending = new CompletableFuture<>();
+            CompletableFuture<Object> existing = aiReco.claim(key, pending); // 캐시 통계(적중/미스, coalesced)도 recommend와 같이 집계
+            if(existing != null) {
+                return Mono.fromFuture(existing, true).map(String.class::cast).flux(); // true : 이 구독이 취소되더라도, 공유 중인 호출은 취소하지 않음
+            }
+
+            // 서버 캐시에 없으면 공유 캐시(L2)부터 확인  →  있으면 한 번에 반환
+            TwoTierCaffeineCache twoTier = aiReco instanceof TwoTierCaffeineCache t ? t : null;
+            Mono<String> shared = twoTier == null ? Mono.empty() : Mono.fromFuture(twoTier.findShared(key)).map(String.class::cast);
+
+            StringBuilder text = new StringBuilder();
+            Flux<String> stream = Flux.defer(() -> {
+                        aiReco.recordLoad();
+                        return openAi.streamTextResponse(SYSTEM_PROMPT, userPrompt(weather));
+                    })
+                    .doOnNext(text::append)
+                    .concatWith(Mono.defer(() -> text.toString().isBlank() // 빈 추천이 캐시(L1/L2)에 남아 TTL 동안 반환되지 않도록
+                            ? Mono.<String>error(new IllegalStateException("OpenAI 스트리밍 응답에 추천 텍스트가 없습니다."))
+                            : Mono.<String>empty()))
+                    .doOnComplete(() -> {
+                        pending.complete(text.toString());
+                        if(twoTier != null) twoTier.writeShared(key, text.toString());
+                    });
+
+            /*
+                ❓ 구독이 취소되어도 호출을 취소하지 않는 이유
+                pending은 캐시에 들어 있으므로, 그사이 같은 구간을 요청한 다른 요청들(recommend, 다른 스트리밍)도 이 결과를 기다린다.
+                이 구독이 취소될 때 pending까지 취소하면, 기다리던 모든 요청이 CancellationException으로 실패한다.
+                → cache() : 첫 구독자의 취소와 관계없이 호출을 끝까지 진행(완료되면 pending도 완료  →  캐시 적중)
+                  호출이 끝나지 않는 경우는 외부 API 전체 제한 시간(openai.http.overall-timeout)이 지나면 실패로 끝나고, 캐시에서 제거된다.
+            */
+            return shared
+                    .doOnNext(pending::complete)
+                    .flux()
+                    .switchIfEmpty(stream)
+                    .doOnError(pending::completeExceptionally) // 실패한 호출은 Caffeine이 캐시에서 자동으로 제거
+                    .cache();
+        });
+    }
+
+    private static String userPrompt(WeatherNowResponse weather) {
+        return """
+                - 기온(섭씨) : %s
+                - 1시간 강수량(mm) : %s
+                - 습도(%%) : %s
+                - 풍속(m/s) : %s
+                - 강수 형태 : %s
+                - 하늘 상태 : %s
+                """.formatted(
+                weather.tempC(),
+                weather.precipitation1hMm(),
+                weather.humidity(),
+                weather.windSpeedMs(),
+                weather.precipType(),
+                weather.skyType()
+        );
+    }
+}
\ No newline at end of file
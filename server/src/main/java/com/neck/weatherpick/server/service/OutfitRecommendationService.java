@@ -1,55 +1,93 @@
 package com.neck.weatherpick.server.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.neck.weatherpick.server.client.ai.OpenAiResponsesClient;
+import com.neck.weatherpick.server.cache.WeatherBucket;
+import com.neck.weatherpick.server.client.http.UpstreamQuotaExceededException;
 import com.neck.weatherpick.server.dto.WeatherNowResponse;
-import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.Cacheable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.Optional;
+
+/**
+ * <h5>옷차림 추천</h5>
+ * 기본(recommendation.mode = rules)은 규칙 테이블(OutfitRules)로 바로 추천하고, 테이블이 다루지 않는 구간만 OpenAI로 추천한다.
+ * <ul>
+ *     <li>rules : 규칙 테이블 우선(외부 API 호출 없음, 배열 조회만)  →  없으면 OpenAI</li>
+ *     <li>rich : 항상 OpenAI(구간별 캐싱)</li>
+ * </ul>
+ * OpenAI 호출 한도(UpstreamQuota)를 넘으면 규칙 테이블로 대신하고, 테이블도 다루지 않는 구간이면 추천 없이(empty) 날씨만 응답한다.(source=skipped)
+ * <pre>GET /actuator/metrics/weather.recommendations?tag=source:rules</pre>
+ */
 @Service
-@RequiredArgsConstructor
 public class OutfitRecommendationService {
-    private final OpenAiResponsesClient openAi;
-
-    @Cacheable(
-            cacheNames = "aiReco",
-            key = "T(com.neck.weatherpick.server.cache.CacheKeys).aiKey(#p0)",
-            unless = "#result == null"
-    )
-    public String recommend(WeatherNowResponse weather) {
-        String system = """
-                너는 제공된 날씨 정보를 기반으로 옷차림 및 준비물을 추천하는 엔진이다.
-                (설명/사족 일절 금지)
-                
-                출력은 반드시 아래 형식을 따른다.
-                (2줄로 출력)
-                
-                - 옷차림 : (최대 4개)
-                - 준비물 : (최대 4개)
-                
-                출력 예시는 다음과 같다.
-                - 옷차림 : 패딩, 히트텍, 목도리
-                - 준비물 : 우산
-                """;
-
-        String user = """
-                - 기온(섭씨) : %s
-                - 1시간 강수량(mm) : %s
-                - 습도(%%) : %s
-                - 풍속(m/s) : %s
-                - 강수 형태 : %s
-                - 하늘 상태 : %s
-                """.formatted(
-                weather.tempC(),
-                weather.precipitation1hMm(),
-                weather.humidity(),
-                weather.windSpeedMs(),
-                weather.precipType(),
-                weather.skyType()
-        );
-
-        JsonNode json = openAi.createTextResponse(system, user);
-        return OpenAiResponsesClient.extractOutputText(json);
+    private final OutfitRules rules;
+    private final OpenAiOutfitRecommender openAi;
+    private final RecommendationProperties props;
+
+    private final Counter fromRules;
+    private final Counter fromOpenAi;
+    private final Counter skipped;
+
+    public OutfitRecommendationService(OutfitRules rules, OpenAiOutfitRecommender openAi, RecommendationProperties props,
+                                       MeterRegistry registry) {
+        this.rules = rules;
+        this.openAi = openAi;
+        this.props = props;
+
+        this.fromRules = counter(registry, "rules");
+        this.fromOpenAi = counter(registry, "openai");
+        this.skipped = counter(registry, "skipped");
+    }
+
+    public Mono<String> recommend(WeatherNowResponse weather) {
+        return Mono.defer(() -> {
+            Optional<String> ruled = fromRules(weather);
+            if(ruled.isPresent()) return Mono.just(ruled.get());
+
+            fromOpenAi.increment();
+            return openAi.recommend(weather)
+                    .onErrorResume(UpstreamQuotaExceededException.class, e -> degraded(weather));
+        });
+    }
+
+    /**
+     * 규칙 테이블로 추천할 수 있다면 전체 텍스트를 한 번에, 아니면 OpenAI 스트리밍(delta)
+     */
+    public Flux<String> streamRecommend(WeatherNowResponse weather) {
+        return Flux.defer(() -> {
+            Optional<String> ruled = fromRules(weather);
+            if(ruled.isPresent()) return Flux.just(ruled.get());
+
+            fromOpenAi.increment();
+            return openAi.streamRecommend(weather)
+                    .onErrorResume(UpstreamQuotaExceededException.class, e -> degraded(weather).flux());
+        });
+    }
+
+    /**
+     * OpenAI 호출 한도 초과  →  모드와 관계없이 규칙 테이블, 없으면 empty
+     */
+    private Mono<String> degraded(WeatherNowResponse weather) {
+        Optional<String> ruled = rules.recommend(WeatherBucket.of(weather));
+        (ruled.isPresent() ? fromRules : skipped).increment();
+        return Mono.justOrEmpty(ruled);
+    }
+
+    private Optional<String> fromRules(WeatherNowResponse weather) {
+        if(props.getMode() != RecommendationProperties.Mode.RULES) return Optional.empty();
+
+        Optional<String> ruled = rules.recommend(WeatherBucket.of(weather));
+        ruled.ifPresent(message -> fromRules.increment());
+        return ruled;
+    }
+
+    private static Counter counter(MeterRegistry registry, String source) {
+        return Counter.builder("weather.recommendations")
+                .description("추천 출처(규칙 테이블, OpenAI, 생략)별 추천 횟수")
+                .tag("source", source)
+                .register(registry);
     }
 }
\ No newline at end of file
@@ -0,0 +1,135 @@
+package com.neck.weatherpick.server.service;
+
+import com.neck.weatherpick.server.cache.WeatherBucket;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * <h5>규칙 기반 옷차림 추천(결정 테이블)</h5>
+ * 추천은 이미 구간(WeatherBucket)별로 캐싱되고 있으며, 구간 수는 유한하다.(기온 × 습도 × 풍속 × 강수량 × 강수 형태 × 하늘 상태)
+ * 또한 옷차림은 체감 온도, 준비물은 강수/습도/기온만으로 대부분 정해진다.
+ * 따라서 구간별 추천을 OpenAI 없이 미리 계산해 두고, 요청 시에는 배열 조회만 한다.(할당 없음)
+ * <ul>
+ *     <li>옷차림 : [풍속][기온]  →  체감 온도  →  8단계 중 하나</li>
+ *     <li>준비물 : 강수 형태, 강수량, 체감 온도, 습도, 하늘 상태  →  준비물 조합(비트 마스크)</li>
+ *     <li>추천 문장 : [옷차림 단계][준비물 조합]  →  미리 만들어 둔 문자열(8 × 256개)</li>
+ * </ul>
+ * 테이블 범위를 벗어난 구간(극한 기온, 강풍, 알 수 없는 강수 형태/하늘 상태)은 추천하지 않으며(empty), 이 경우에만 OpenAI를 호출한다.
+ * <pre>./gradlew outfitRules  →  전체 구간을 검증하고, 테이블을 build/reports/outfit-rules.tsv로 저장(OutfitRulesTool)</pre>
+ */
+@Component
+public class OutfitRules {
+    static final int MIN_TEMP = -30, MAX_TEMP = 45;
+    static final int MAX_WIND = 20;
+    static final int MAX_ITEMS = 4; // 프롬프트와 같은 형식 : 옷차림, 준비물 각 최대 4개
+
+    static final String[] PRECIP_TYPES = {"NONE", "RAIN", "RAIN_SNOW", "SNOW", "DRIZZLE", "DRIZZLE_SNOW", "SNOW_FLURRY"};
+    static final String[] SKY_TYPES = {"CLEAR", "PARTLY_CLOUDY", "CLOUDY"};
+
+    // 체감 온도 단계별 옷차림(단계 i : 체감 온도가 TIER_UPPER[i] 이하)
+    private static final int[] TIER_UPPER = {4, 8, 11, 16, 19, 22, 27, Integer.MAX_VALUE};
+    static final String[] OUTFITS = {
+            "패딩, 두꺼운 코트, 목도리, 기모 바지",
+            "코트, 히트텍, 니트, 기모 바지",
+            "트렌치코트, 야상, 니트, 청바지",
+            "재킷, 가디건, 맨투맨, 청바지",
+            "얇은 니트, 맨투맨, 가디건, 면바지",
+            "얇은 가디건, 긴팔 티셔츠, 면바지",
+            "반팔 티셔츠, 얇은 셔츠, 반바지",
+            "민소매, 반팔 티셔츠, 반바지, 원피스"
+    };
+
+    // 준비물(비트 순서 = 우선순위 = 출력 순서)
+    static final String[] ITEMS = {"우산", "장화", "장갑", "핫팩", "선크림", "손수건", "보습제", "물"};
+    private static final int UMBRELLA = 1, BOOTS = 1 << 1, GLOVES = 1 << 2, HOT_PACK = 1 << 3,
+            SUNSCREEN = 1 << 4, HANDKERCHIEF = 1 << 5, MOISTURIZER = 1 << 6, WATER = 1 << 7;
+
+    private final byte[][] feelsLike = new byte[MAX_WIND + 1][MAX_TEMP - MIN_TEMP + 1];   // [풍속][기온 - MIN_TEMP]
+    private final byte[][] tier = new byte[MAX_WIND + 1][MAX_TEMP - MIN_TEMP + 1];
+    private final String[] messages = new String[OUTFITS.length << ITEMS.length];        // [단계 << 8 | 준비물 조합]
+
+    public OutfitRules() {
+        for(int ws = 0; ws <= MAX_WIND; ws++) {
+            for(int t = MIN_TEMP; t <= MAX_TEMP; t++) {
+                int f = feelsLike(t, ws);
+                feelsLike[ws][t - MIN_TEMP] = (byte)f;
+                int i = 0;
+                while(f > TIER_UPPER[i]) i++;
+                tier[ws][t - MIN_TEMP] = (byte)i;
+            }
+        }
+        for(int i = 0; i < OUTFITS.length; i++) {
+            for(int mask = 0; mask < 1 << ITEMS.length; mask++) {
+                messages[i << ITEMS.length | mask] = "- 옷차림 : " + OUTFITS[i] + "\n- 준비물 : " + items(mask);
+            }
+        }
+    }
+
+    /**
+     * @return 테이블 범위 안의 구간이면 추천 문장, 아니면 empty(OpenAI로 추천)
+     */
+    public Optional<String> recommend(WeatherBucket b) {
+        int mask = itemMask(b);
+        if(mask < 0) return Optional.empty();
+        return Optional.of(messages[tier[b.windSpeedMs()][b.tempC() - MIN_TEMP] << ITEMS.length | mask]);
+    }
+
+    /**
+     * @return 준비물 조합(비트 마스크), 테이블 범위를 벗어나면 -1
+     */
+    int itemMask(WeatherBucket b) {
+        int t = b.tempC(), ws = b.windSpeedMs();
+        if(t < MIN_TEMP || t > MAX_TEMP || ws < 0 || ws > MAX_WIND) return -1;
+        if(b.precipType() == null || b.skyType() == null) return -1;
+
+        boolean rain, snow;
+        switch(b.precipType()) {
+            case "NONE" -> { rain = false; snow = false; }
+            case "RAIN", "DRIZZLE" -> { rain = true; snow = false; }
+            case "RAIN_SNOW", "DRIZZLE_SNOW" -> { rain = true; snow = true; }
+            case "SNOW" -> { rain = false; snow = true; }
+            case "SNOW_FLURRY" -> { rain = false; snow = false; } // 눈 날림 : 쌓이지 않을 정도
+            default -> { return -1; }
+        }
+        boolean clear;
+        switch(b.skyType()) {
+            case "CLEAR" -> clear = true;
+            case "PARTLY_CLOUDY", "CLOUDY" -> clear = false;
+            default -> { return -1; }
+        }
+
+        int f = feelsLike[ws][t - MIN_TEMP];
+        int mask = 0;
+        if(rain || b.precipType().equals("SNOW") || b.rain() > 0) mask |= UMBRELLA;
+        if(b.rain() == WeatherBucket.RAIN_BUCKETS - 1) mask |= BOOTS;       // 5.1mm 이상
+        if(snow || f <= 4) mask |= GLOVES;
+        if(f <= -5) mask |= HOT_PACK;
+        if(clear && t >= 20 && (mask & UMBRELLA) == 0) mask |= SUNSCREEN;
+        if(t >= 25 && b.humidity() >= 70) mask |= HANDKERCHIEF;             // 덥고 습함
+        if(b.humidity() <= 30) mask |= MOISTURIZER;                         // 건조
+        if(t >= 30) mask |= WATER;
+        return mask;
+    }
+
+    /**
+     * 기상청 체감 온도(겨울철, 바람 냉각) : 기온 10도 이하, 풍속 1.3m/s 이상일 때만 적용
+     */
+    static int feelsLike(int t, int ws) {
+        if(t > 10 || ws < 1.3) return t;
+        double vp = Math.pow(ws * 3.6, 0.16); // 풍속(km/h)^0.16
+        return (int)Math.round(13.12 + 0.6215 * t - 11.37 * vp + 0.3965 * vp * t);
+    }
+
+    // 우선순위가 높은 준비물부터 최대 MAX_ITEMS개(없으면 "없음")
+    static String items(int mask) {
+        StringBuilder sb = new StringBuilder();
+        int count = 0;
+        for(int i = 0; i < ITEMS.length && count < MAX_ITEMS; i++) {
+            if((mask & 1 << i) == 0) continue;
+            if(count++ > 0) sb.append(", ");
+            sb.append(ITEMS[i]);
+        }
+        return count == 0 ? "없음" : sb.toString();
+    }
+}
\ No newline at end of file
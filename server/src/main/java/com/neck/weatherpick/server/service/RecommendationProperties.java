@@ -0,0 +1,21 @@
+package com.neck.weatherpick.server.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// @Component
+@ConfigurationProperties(prefix = "recommendation") // Relaxed Binding 지원 : ex) rules ↔ RULES
+@Getter
+@Setter
+public class RecommendationProperties {
+    /**
+     * rules : 규칙 테이블(OutfitRules) 우선, 다루지 않는 구간만 OpenAI<br>
+     * rich : 항상 OpenAI(더 자세하지만, 비용과 응답 시간이 늘어남)
+     */
+    private Mode mode = Mode.RULES;
+
+    public enum Mode {
+        RULES, RICH
+    }
+}
\ No newline at end of file
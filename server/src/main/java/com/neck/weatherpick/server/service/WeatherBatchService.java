@@ -0,0 +1,161 @@
+package com.neck.weatherpick.server.service;
+
+import com.neck.weatherpick.server.cache.CacheKeys;
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import com.neck.weatherpick.server.dto.WeatherBatchRequest.Location;
+import com.neck.weatherpick.server.dto.WeatherBatchResponse;
+import com.neck.weatherpick.server.dto.WeatherNowResponse;
+import com.neck.weatherpick.server.service.WeatherService.ResolvedLocation;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * <h5>여러 위치의 날씨 + 추천을 한꺼번에 조회</h5>
+ * 대시보드처럼 수십 ~ 수백 개의 위치를 한 화면에 보여 줄 때, 위치마다 /api/weather/now를 호출하면 외부 API 호출도 위치 수만큼 늘어난다.
+ * 그런데 같은 격자(5km) 안의 위치들은 날씨가 같고, 비슷한 날씨(같은 aiKey 구간)는 추천도 같다.
+ * 따라서 아래 3단계로 나눠, 단계마다 중복을 제거한 뒤 조회한다.
+ * <ol>
+ *     <li>위치 조회 : 위치별로(지명 사전 / 카카오맵 API)</li>
+ *     <li>날씨 조회 : 서로 다른 격자(KmaGridPoint)별로 한 번씩</li>
+ *     <li>추천 : 서로 다른 구간(CacheKeys.aiKey)별로 한 번씩</li>
+ * </ol>
+ * 단계마다 외부 API 동시 호출 수는 weather.batch.concurrency로 제한한다.(수백 개를 한꺼번에 호출하면, 외부 API의 초당 호출 한도에 걸림)<br>
+ * 일부 위치가 실패하더라도 전체를 실패시키지 않고, 해당 위치의 error에 사유를 담는다.
+ */
+@Service
+public class WeatherBatchService {
+    private final WeatherService weatherService;
+    private final OutfitRecommendationService outfitRecommendationService;
+    private final WeatherProperties props;
+
+    public WeatherBatchService(WeatherService weatherService, OutfitRecommendationService outfitRecommendationService, WeatherProperties props) {
+        this.weatherService = weatherService;
+        this.outfitRecommendationService = outfitRecommendationService;
+        this.props = props;
+    }
+
+    public Mono<WeatherBatchResponse> getNow(List<Location> locations) {
+        WeatherProperties.Batch batch = props.getBatch();
+        if(locations == null || locations.isEmpty()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "조회할 위치가 없습니다."));
+        }
+        if(locations.size() > batch.getMaxSize()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "한 번에 최대 " + batch.getMaxSize() + "개까지 조회할 수 있습니다."));
+        }
+        for(Location loc : locations) {
+            if(!isValid(loc)) {
+                return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "위치는 region 또는 lon, lat 중 하나로 지정해야 합니다."));
+            }
+        }
+
+        int concurrency = batch.getConcurrency();
+        LocalDateTime nowKst = weatherService.now();
+
+        // 1. 위치 조회  →  flatMapSequential : 동시에 조회하되, 결과는 요청 순서대로
+        Mono<List<Outcome<ResolvedLocation>>> resolved = Flux.fromIterable(locations)
+                .flatMapSequential(loc -> attempt(resolve(loc), "위치를 찾을 수 없습니다."), concurrency)
+                .collectList();
+
+        // 2. 날씨 조회  →  격자별로 한 번씩
+        Mono<Tuple2<List<Outcome<WeatherNowResponse>>, Integer>> weathers = resolved
+                .flatMap(slots -> {
+                    Set<KmaGridPoint> grids = new LinkedHashSet<>();
+                    for(Outcome<ResolvedLocation> slot : slots) {
+                        if(slot.ok()) grids.add(slot.value().gridPoint());
+                    }
+
+                    return Flux.fromIterable(grids)
+                            .flatMap(p -> attempt(weatherService.snapshot(nowKst, p), "날씨 정보가 없습니다.").map(s -> Map.entry(p, s)), concurrency)
+                            .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                            .map(snapshots -> Tuples.of(slots.stream()
+                                    .map(slot -> {
+                                        if(!slot.ok()) return Outcome.<WeatherNowResponse>failure(slot.error());
+                                        ResolvedLocation r = slot.value();
+                                        Outcome<WeatherSnapshot> s = snapshots.get(r.gridPoint());
+                                        if(!s.ok()) return Outcome.<WeatherNowResponse>failure(s.error());
+                                        return Outcome.success(weatherService.toWeatherNow(nowKst, r.addressName(), r.placeName(), s.value()));
+                                    })
+                                    .toList(), grids.size()));
+                })
+                .transform(weatherService::withDeadline);
+
+        // 3. 추천  →  구간(aiKey)별로 한 번씩
+        return weathers.flatMap(t -> {
+            List<Outcome<WeatherNowResponse>> slots = t.getT1();
+            Map<String, WeatherNowResponse> buckets = new LinkedHashMap<>();
+            for(Outcome<WeatherNowResponse> slot : slots) {
+                if(slot.ok()) buckets.putIfAbsent(CacheKeys.aiKey(slot.value()), slot.value());
+            }
+
+            return Flux.fromIterable(buckets.entrySet())
+                    .flatMap(e -> attempt(outfitRecommendationService.recommend(e.getValue()), "추천 결과가 없습니다.").map(m -> Map.entry(e.getKey(), m)), concurrency)
+                    .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                    .map(messages -> {
+                        List<WeatherBatchResponse.Item> items = new ArrayList<>(slots.size());
+                        for(Outcome<WeatherNowResponse> slot : slots) {
+                            if(!slot.ok()) {
+                                items.add(new WeatherBatchResponse.Item(null, null, slot.error()));
+                                continue;
+                            }
+                            // 추천만 실패한 경우에는 날씨는 그대로 응답
+                            Outcome<String> message = messages.get(CacheKeys.aiKey(slot.value()));
+                            items.add(new WeatherBatchResponse.Item(slot.value(), message.value(), message.error()));
+                        }
+                        return new WeatherBatchResponse(items, t.getT2(), buckets.size());
+                    });
+        });
+    }
+
+    // isValid를 통과한 위치만 전달됨  →  region 또는 (lon, lat) 중 정확히 하나
+    private Mono<ResolvedLocation> resolve(Location loc) {
+        return hasCoord(loc) ? weatherService.resolveCoord(loc.lon(), loc.lat()) : weatherService.resolveRegion(loc.region());
+    }
+
+    /*
+        ❓ lon, lat 중 하나만 지정한 위치를 거절하는 이유
+        region과 함께 lon만 지정하면, region만 지정한 것으로 볼지 좌표가 잘못된 것으로 볼지 알 수 없다.
+        또한 좌표를 절반만 받아 조회하면(null 언박싱), 위치 하나가 아니라 배치 전체가 실패한다.
+    */
+    private static boolean isValid(Location loc) {
+        if(loc == null) return false;
+        if((loc.lon() == null) != (loc.lat() == null)) return false; // 좌표의 일부만 지정
+        return hasRegion(loc) != hasCoord(loc);
+    }
+
+    private static boolean hasRegion(Location loc) {
+        return loc.region() != null && !loc.region().isBlank();
+    }
+
+    private static boolean hasCoord(Location loc) {
+        return loc.lon() != null && loc.lat() != null;
+    }
+
+    // 실패(에러, empty)도 하나의 결과로 바꿔서, 나머지 위치의 조회를 계속 진행
+    private static <T> Mono<Outcome<T>> attempt(Mono<T> mono, String emptyReason) {
+        return mono.map(Outcome::success)
+                .defaultIfEmpty(Outcome.<T>failure(emptyReason))
+                .onErrorResume(e -> Mono.just(Outcome.<T>failure(e instanceof ResponseStatusException rse && rse.getReason() != null ? rse.getReason() : "외부 API 호출 실패")));
+    }
+
+    private record Outcome<T>(T value, String error) {
+        static <T> Outcome<T> success(T value) {
+            return new Outcome<>(value, null);
+        }
+
+        static <T> Outcome<T> failure(String error) {
+            return new Outcome<>(null, error);
+        }
+
+        boolean ok() {
+            return error == null;
+        }
+    }
+}
\ No newline at end of file
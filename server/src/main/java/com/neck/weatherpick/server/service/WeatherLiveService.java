@@ -0,0 +1,242 @@
+package com.neck.weatherpick.server.service;
+
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import com.neck.weatherpick.server.dto.WeatherNowResponse;
+import com.neck.weatherpick.server.dto.WeatherRecommendationResponse;
+import com.neck.weatherpick.server.service.WeatherService.ResolvedLocation;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * <h5>격자별 실시간 날씨 구독(Server-Sent Events)</h5>
+ * 클라이언트가 /api/weather/now를 주기적으로 다시 호출(polling)하더라도, 날씨는 기상청 발표 시각(1시간 간격)에만 바뀐다.
+ * 따라서 구독자가 있는 격자마다 하나의 피드(GridFeed)만 두고, 서버가 주기적으로 확인하다가 발표 시각이 바뀌었을 때만 모든 구독자에게 보낸다.
+ * <ul>
+ *     <li>외부 API 호출 : 구독자 수와 관계없이 격자당 발표 주기마다 한 번(날씨 + 추천)</li>
+ *     <li>
+ *         메모리 : 격자당 최신 값 하나(replay latest), 구독자당 구독 객체 하나<br>
+ *         느린 구독자는 중간 값을 건너뛰고 최신 값만 받으므로, 쌓이지 않는다.(전체 구독자 수는 weather.live.max-subscribers로 제한)
+ *     </li>
+ *     <li>
+ *         스레드 : 구독자가 대기하는 동안 점유하는 스레드 없음(Servlet async)<br>
+ *         보내기(SseEmitter.send)는 응답이 막힌 클라이언트에서 멈출 수 있으므로, 전용 스레드(weather.live.write-threads)에서만 실행  →  deliver 참고
+ *     </li>
+ * </ul>
+ * 주소, 장소명은 구독자마다 다를 수 있으므로, 공유 피드에는 날씨만 담고 보낼 때 구독자의 주소를 채운다.
+ */
+@Service
+@Slf4j
+public class WeatherLiveService {
+    private final WeatherService weatherService;
+    private final OutfitRecommendationService outfitRecommendationService;
+    private final WeatherProperties props;
+
+    private final ConcurrentHashMap<KmaGridPoint, GridFeed> feeds = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Flux<Long> heartbeats;
+    private final Scheduler writeScheduler;
+
+    public WeatherLiveService(WeatherService weatherService, OutfitRecommendationService outfitRecommendationService,
+                              WeatherProperties props, MeterRegistry registry) {
+        this.weatherService = weatherService;
+        this.outfitRecommendationService = outfitRecommendationService;
+        this.props = props;
+
+        // 구독자마다 타이머를 두지 않고, 하나의 타이머를 모든 구독자가 공유
+        this.heartbeats = Flux.interval(props.getLive().getHeartbeat()).share();
+        this.writeScheduler = Schedulers.newBoundedElastic(props.getLive().getWriteThreads(), props.getLive().getWriteQueueSize(), "weather-live-write");
+
+        Gauge.builder("weather.live.subscribers", subscribers, AtomicInteger::get)
+                .description("실시간 날씨 구독자 수")
+                .register(registry);
+        Gauge.builder("weather.live.grids", feeds, ConcurrentHashMap::size)
+                .description("구독자가 있는 격자 수")
+                .register(registry);
+    }
+
+    public Flux<WeatherRecommendationResponse> subscribeByRegion(String region) {
+        return subscribe(weatherService.resolveRegion(region));
+    }
+
+    public Flux<WeatherRecommendationResponse> subscribeByCoord(double lon, double lat) {
+        return subscribe(weatherService.resolveCoord(lon, lat));
+    }
+
+    /**
+     * 연결 유지 시간
+     */
+    public Duration timeout() {
+        return props.getLive().getTimeout();
+    }
+
+    /**
+     * 연결 유지용 신호(프록시, 로드 밸런서가 유휴 연결을 끊지 않도록)<br>
+     * 아직 보내지 못한 신호가 있으면 새 신호는 버린다.(연결 유지용이므로 하나만 가면 충분)
+     */
+    public Flux<Long> heartbeats() {
+        return heartbeats.onBackpressureDrop();
+    }
+
+    /**
+     * 구독자 한 명에게 보낼 신호(날씨, 연결 유지)를 전용 스레드에서 하나씩 보낸다.
+     * @param write 보내기(ex. SseEmitter.send)  →  응답이 막힌 클라이언트에서는 멈출 수 있음
+     * @return 보내기 하나가 weather.live.write-timeout 안에 끝나지 않으면 TimeoutException으로 끝남(구독 해제)
+     */
+    public <T> Flux<T> deliver(Flux<T> events, Consumer<? super T> write) {
+        /*
+            ❓ 타이머ㆍ피드 스레드에서 바로 보내지 않는 이유
+            공유 타이머(Flux.interval)와 격자 피드는 스레드 하나에서 모든 구독자에게 차례대로 신호를 전달한다.
+            그 스레드에서 바로 보내면(SseEmitter.send), 응답이 막힌 클라이언트 하나 때문에 다른 모든 구독자의 신호가 늦어진다.
+            → 보내기는 전용 스케줄러(스레드 수, 대기열 제한)에서만 실행하고, 구독자마다 한 번에 하나씩(concatMap)
+              이전 보내기가 끝나지 않았으면 새 신호는 기다리지 않고 버리거나(연결 유지) 최신 값으로 덮어씀(격자 피드, replay latest)
+            → 보내기가 write-timeout을 넘으면 그 구독자를 끊어(클라이언트는 다시 연결), 막힌 클라이언트가 전용 스레드를 계속 차지하지 않도록
+              (Schedulers.boundedElastic을 쓰면, 막힌 클라이언트가 다른 곳에서 쓰는 공용 스레드까지 차지한다.)
+        */
+        Duration writeTimeout = props.getLive().getWriteTimeout();
+        return events.concatMap(event -> Mono.fromCallable(() -> {
+                            write.accept(event);
+                            return event;
+                        })
+                        .subscribeOn(writeScheduler)
+                        .timeout(writeTimeout, writeScheduler), 1);
+    }
+
+    private Flux<WeatherRecommendationResponse> subscribe(Mono<ResolvedLocation> resolved) {
+        return resolved
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "위치를 찾을 수 없습니다.")))
+                .transform(weatherService::withDeadline)
+                .flatMapMany(r -> {
+                    if(subscribers.incrementAndGet() > props.getLive().getMaxSubscribers()) {
+                        subscribers.decrementAndGet();
+                        return Flux.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "구독자가 너무 많습니다."));
+                    }
+
+                    GridFeed feed = acquire(r.gridPoint());
+                    return feed.sink.asFlux() // 보내기는 deliver에서(느린 구독자는 최신 값만 받음)
+                            .map(res -> localize(res, r))
+                            .doFinally(signal -> release(feed));
+                });
+    }
+
+    /**
+     * 발표 시각이 바뀌었는지 확인해, 바뀐 격자만 구독자에게 보낸다.
+     */
+    // ISO-8601 형식(ex. PT1M)으로 지정
+    @Scheduled(fixedDelayString = "${weather.live.interval:PT1M}")
+    public void refreshAll() {
+        if(feeds.isEmpty()) return;
+
+        // 스케줄러 스레드에서 실행되므로, 완료될 때까지 기다려도(block) 괜찮다.
+        // 단, 외부 API가 느려도 스케줄러 스레드를 오래 붙잡지 않도록 refreshTimeout이 지나면 취소(남은 격자는 다음 주기에 다시 확인)
+        Flux.fromIterable(feeds.values())
+                .flatMap(this::refresh, props.getLive().getConcurrency())
+                .then()
+                .timeout(props.getLive().getRefreshTimeout())
+                .onErrorResume(TimeoutException.class, e -> {
+                    log.warn("실시간 구독 갱신 시간 초과({}) : 남은 격자는 다음 주기에 다시 확인", props.getLive().getRefreshTimeout());
+                    return Mono.empty();
+                })
+                .block();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writeScheduler.dispose();
+    }
+
+    int subscriberCount() {
+        return subscribers.get();
+    }
+
+    int gridCount() {
+        return feeds.size();
+    }
+
+    private GridFeed acquire(KmaGridPoint p) {
+        GridFeed feed = feeds.compute(p, (k, f) -> {
+            if(f == null) f = new GridFeed(k);
+            f.subscribers++;
+            return f;
+        });
+        if(feed.base == null) refresh(feed).subscribe(); // 첫 구독자  →  다음 주기를 기다리지 않고 바로 조회
+        return feed;
+    }
+
+    private void release(GridFeed feed) {
+        subscribers.decrementAndGet();
+        feeds.computeIfPresent(feed.gridPoint, (k, f) -> {
+            if(f != feed || --f.subscribers > 0) return f;
+            f.sink.tryEmitComplete();
+            return null; // 마지막 구독자가 나가면 피드 제거
+        });
+    }
+
+    private Mono<Void> refresh(GridFeed feed) {
+        if(!feed.refreshing.compareAndSet(false, true)) return Mono.empty(); // 이미 조회 중
+
+        LocalDateTime nowKst = weatherService.now();
+        return weatherService.snapshot(nowKst, feed.gridPoint)
+                .filter(s -> !(s.ncstBase() + s.fcstBase()).equals(feed.base)) // 발표 시각이 바뀐 경우에만
+                .flatMap(s -> {
+                    WeatherNowResponse weather = weatherService.toWeatherNow(nowKst, null, null, s);
+                    return outfitRecommendationService.recommend(weather)
+                            .map(Optional::of)
+                            .onErrorResume(e -> {
+                                log.warn("실시간 구독 추천 실패 : {}", feed.gridPoint, e);
+                                return Mono.just(Optional.<String>empty()); // 추천이 실패하더라도 날씨는 보냄
+                            })
+                            .defaultIfEmpty(Optional.empty())
+                            .doOnNext(message -> {
+                                feed.base = s.ncstBase() + s.fcstBase();
+                                feed.sink.tryEmitNext(new WeatherRecommendationResponse(weather, message.orElse(null)));
+                            });
+                })
+                .onErrorResume(e -> {
+                    log.warn("실시간 구독 갱신 실패 : {}", feed.gridPoint, e);
+                    return Mono.empty();
+                })
+                .doFinally(signal -> feed.refreshing.set(false))
+                .then();
+    }
+
+    private static WeatherRecommendationResponse localize(WeatherRecommendationResponse res, ResolvedLocation r) {
+        WeatherNowResponse w = res.weather();
+        return new WeatherRecommendationResponse(new WeatherNowResponse(r.addressName(), r.placeName(), w.tempC(), w.precipitation1hMm(),
+                w.humidity(), w.windSpeedMs(), w.precipType(), w.skyType(), w.ncstBase(), w.fcstBase(), w.stale()), res.message());
+    }
+
+    /**
+     * 격자 하나의 공유 피드
+     */
+    private static final class GridFeed {
+        final KmaGridPoint gridPoint;
+        final Sinks.Many<WeatherRecommendationResponse> sink = Sinks.many().replay().latest(); // 새 구독자는 최신 값을 바로 받음
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        int subscribers;        // feeds.compute 안에서만 변경
+        volatile String base;   // 마지막으로 보낸 발표 일시(실황 + 예보)
+
+        GridFeed(KmaGridPoint gridPoint) {
+            this.gridPoint = gridPoint;
+        }
+    }
+}
\ No newline at end of file
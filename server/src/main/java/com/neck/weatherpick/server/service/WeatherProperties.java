@@ -0,0 +1,62 @@
+package com.neck.weatherpick.server.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// @Component
+@ConfigurationProperties(prefix = "weather") // Relaxed Binding 지원 : ex) upstream-deadline ↔ upstreamDeadline
+@Getter
+@Setter
+public class WeatherProperties {
+    /**
+     * 외부 API(카카오맵, 공공데이터포털)를 동시에 호출했을 때, 전체 응답을 기다리는 최대 시간
+     */
+    private Duration upstreamDeadline = Duration.ofSeconds(5);
+
+    private ReverseGeocoding reverseGeocoding = new ReverseGeocoding();
+
+    private Batch batch = new Batch();
+
+    private Live live = new Live();
+
+    /**
+     * 위ㆍ경도  →  주소 변환 설정<br>
+     * 먼저 지명 사전(RegionGazetteer)에서 가장 가까운 시/군/구를 찾고, 찾지 못한 경우에만 카카오맵 API를 호출한다.
+     */
+    @Getter
+    @Setter
+    public static class ReverseGeocoding {
+        private double maxDistanceKm = 20;  // 가장 가까운 시/군/구의 대표 좌표가 이보다 멀면, 찾지 못한 것으로 판단(바다, 해외 등)
+        private boolean kakaoFallback = true;   // 찾지 못한 경우 카카오맵 API로 조회할지 여부(false : 주소 없이 응답)
+    }
+
+    /**
+     * 여러 위치 한꺼번에 조회(POST /api/weather/batch) 설정
+     */
+    @Getter
+    @Setter
+    public static class Batch {
+        private int maxSize = 200;      // 한 번에 요청할 수 있는 최대 위치 수
+        private int concurrency = 8;    // 단계별(위치 조회, 날씨 조회, 추천) 외부 API 최대 동시 호출 수
+    }
+
+    /**
+     * 실시간 날씨 구독(GET /api/weather/live, Server-Sent Events) 설정
+     */
+    @Getter
+    @Setter
+    public static class Live {
+        private Duration interval = Duration.ofMinutes(1);      // 발표 시각이 바뀌었는지 확인하는 주기
+        private Duration timeout = Duration.ofMinutes(30);      // 연결 유지 시간(이후에는 클라이언트(EventSource)가 자동으로 다시 연결)
+        private Duration heartbeat = Duration.ofSeconds(30);    // 연결 유지용 신호(comment) 간격
+        private int maxSubscribers = 20000;                     // 전체 구독자 수 제한(초과 시 503)
+        private int concurrency = 4;                            // 갱신 시 외부 API 최대 동시 호출 수
+        private Duration refreshTimeout = Duration.ofSeconds(30); // 한 번의 갱신(전체 격자)을 기다리는 최대 시간(넘으면 취소하고 다음 주기에 다시 시도)
+        private int writeThreads = 16;                          // 구독자에게 보내기(SseEmitter.send) 전용 스레드 수
+        private int writeQueueSize = 2000;                      // 스레드당 대기 중인 보내기 수 제한(구독자마다 대기 중인 보내기는 최대 하나)
+        private Duration writeTimeout = Duration.ofSeconds(10); // 보내기 하나가 이보다 오래 걸리면(응답이 막힌 클라이언트) 연결 종료
+    }
+}
\ No newline at end of file
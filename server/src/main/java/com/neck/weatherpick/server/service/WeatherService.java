@@ -1,68 +1,133 @@
 package com.neck.weatherpick.server.service;
 
 import com.neck.weatherpick.server.client.geo.KakaoLocalClient;
+import com.neck.weatherpick.server.client.geo.RegionGazetteer;
+import com.neck.weatherpick.server.client.http.UpstreamQuotaExceededException;
 import com.neck.weatherpick.server.client.geo.dto.request.LonLat;
-import com.neck.weatherpick.server.client.kma.KmaClient;
+import com.neck.weatherpick.server.client.kma.KmaGridPopularity;
+import com.neck.weatherpick.server.client.kma.KmaPublicationLagTracker;
 import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
-import com.neck.weatherpick.server.client.kma.dto.response.ncst.NcstItem;
-import com.neck.weatherpick.server.client.kma.dto.response.ncst.NcstResponse;
-import com.neck.weatherpick.server.client.kma.dto.response.fcst.FcstItem;
-import com.neck.weatherpick.server.client.kma.dto.response.fcst.FcstResponse;
 import com.neck.weatherpick.server.client.kma.support.KmaGridConverter;
 import com.neck.weatherpick.server.client.kma.support.KmaTime;
 import com.neck.weatherpick.server.dto.WeatherNowResponse;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
 
 import java.time.*;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class WeatherService {
-    private final KmaClient kmaClient;
+    private final WeatherSnapshotLoader snapshotLoader;
     private final KakaoLocalClient kakaoLocalClient;
-
-    public WeatherService(KmaClient kmaClient, KakaoLocalClient kakaoLocalClient) {
-        this.kmaClient = kmaClient;
+    private final RegionGazetteer gazetteer;
+    private final KmaGridPopularity popularity;
+    private final KmaPublicationLagTracker lagTracker;
+    private final WeatherProperties props;
+    private final Clock clock;
+
+    public WeatherService(WeatherSnapshotLoader snapshotLoader, KakaoLocalClient kakaoLocalClient, RegionGazetteer gazetteer,
+                          KmaGridPopularity popularity, KmaPublicationLagTracker lagTracker, WeatherProperties props, Clock clock) {
+        this.snapshotLoader = snapshotLoader;
         this.kakaoLocalClient = kakaoLocalClient;
+        this.gazetteer = gazetteer;
+        this.popularity = popularity;
+        this.lagTracker = lagTracker;
+        this.props = props;
+        this.clock = clock;
+    }
+
+    public Mono<WeatherNowResponse> getNowByRegion(String region) {
+        return resolveRegion(region)
+                .flatMap(r -> getNow(r.gridPoint(), Mono.justOrEmpty(r.addressName()), r.placeName())) // 3. 기상청 격자 좌표에 해당하는 지점(addressName)의 날씨를 조회  →  공공데이터포털 API 이용
+                .transform(this::withDeadline);
     }
 
-    public WeatherNowResponse getNowByRegion(String region) {
-        LonLat lonLat = kakaoLocalClient.keywordToLonLat(region); // 1. 해당 지역(region)의 위ㆍ경도 조회  →  카카오맵 API 이용
-        String addressName = lonLat.addressName(), placeName = lonLat.placeName();
-        double lon = lonLat.lon(), lat = lonLat.lat();
+    public Mono<WeatherNowResponse> getNowByCoord(double lon, double lat) {
+        KmaGridPoint kmaGridPoint = KmaGridConverter.convert(lon, lat);
 
-        KmaGridPoint kmaGridPoint = KmaGridConverter.convert(lon, lat); // 2. 위ㆍ경도를 기상청 격자 좌표로 변환
+        // 주소 조회는 날씨 조회(공공데이터포털 API)와 서로 의존하지 않으므로, 동시에 호출한다.
+        return getNow(kmaGridPoint, resolveAddress(lon, lat), null)
+                .transform(this::withDeadline);
+    }
 
-        return getNow(kmaGridPoint, addressName, placeName); // 3. 기상청 격자 좌표에 해당하는 지점(addressName)의 날씨를 조회  →  공공데이터포털 API 이용
+    /**
+     * 지역 이름  →  격자 좌표 + 주소 + 장소명(찾지 못하면 empty)
+     */
+    Mono<ResolvedLocation> resolveRegion(String region) {
+        // 1. 해당 지역(region)의 위ㆍ경도 조회  →  행정구역 이름이면 지명 사전, 그 외(장소명 등)에는 카카오맵 API 이용
+        Mono<LonLat> resolved = gazetteer.find(region)
+                .map(Mono::just)
+                .orElseGet(() -> kakaoLocalClient.keywordToLonLat(region));
+
+        // 2. 위ㆍ경도를 기상청 격자 좌표로 변환
+        return resolved.map(lonLat -> new ResolvedLocation(KmaGridConverter.convert(lonLat.lon(), lonLat.lat()), lonLat.addressName(), lonLat.placeName()));
     }
 
-    public WeatherNowResponse getNowByCoord(double lon, double lat) {
-        String addressName = kakaoLocalClient.coordToAddress(lon, lat);
+    /**
+     * 위ㆍ경도  →  격자 좌표 + 주소(주소를 찾지 못하더라도(바다 등) 격자 좌표는 반환)
+     */
+    Mono<ResolvedLocation> resolveCoord(double lon, double lat) {
         KmaGridPoint kmaGridPoint = KmaGridConverter.convert(lon, lat);
-        return getNow(kmaGridPoint, addressName, null);
+        return resolveAddress(lon, lat)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .map(address -> new ResolvedLocation(kmaGridPoint, address.orElse(null), null));
     }
 
-    private WeatherNowResponse getNow(KmaGridPoint kmaGridPoint, String resolvedAddress, String resolvedPlaceName) {
-        LocalDateTime nowKst = LocalDateTime.now(ZoneId.of("Asia/Seoul"));
+    /**
+     * 위ㆍ경도  →  주소<br>
+     * 지명 사전에서 가장 가까운 시/군/구, 찾지 못한 경우에만 카카오맵 API 이용
+     */
+    Mono<String> resolveAddress(double lon, double lat) {
+        WeatherProperties.ReverseGeocoding rg = props.getReverseGeocoding();
+        return gazetteer.nearest(lon, lat, rg.getMaxDistanceKm())
+                .map(Mono::just)
+                .orElseGet(() -> rg.isKakaoFallback() ? kakaoLocalClient.coordToAddress(lon, lat) : Mono.empty());
+    }
 
-        KmaTime.BaseDt ncstBase = KmaTime.latestUltraSrtNcstBase(nowKst);
-        NcstResponse ncstResponse = kmaClient.getUltraSrtNcst(ncstBase.baseDate(), ncstBase.baseTime(), kmaGridPoint);
+    /*
+        ❓ fan-out / fan-in
+        초단기 실황, 초단기 예보, 주소 조회는 서로의 결과를 필요로 하지 않는다.
+        그런데 각 호출이 끝날 때까지 차례대로 기다리면, 외부 API의 응답 시간이 그대로 합산된다.
+        따라서 Mono.zip으로 모든 호출을 동시에 구독(fan-out)하고, 모든 결과가 도착하면 하나로 모은다(fan-in).
+        → 전체 응답 시간 ≒ 가장 느린 호출 하나의 응답 시간
+
+        이때 어떤 스레드도 응답을 기다리며 멈춰 있지 않는다.(non-blocking)
+        응답이 도착하면, 그 응답을 받은 I/O 스레드에서 이후 처리가 이어진다.
+    */
+    private Mono<WeatherNowResponse> getNow(KmaGridPoint kmaGridPoint, Mono<String> resolvedAddress, String resolvedPlaceName) {
+        LocalDateTime nowKst = now();
+        Mono<WeatherSnapshot> snapshot = snapshot(nowKst, kmaGridPoint);
+
+        // Mono.zip은 하나라도 비어 있으면(empty) 전체가 비어 버리므로, 주소는 Optional로 감싸서 모은다.
+        Mono<Optional<String>> address = resolvedAddress.map(Optional::of).defaultIfEmpty(Optional.empty());
+
+        return Mono.zip(address, snapshot)
+                .map(t -> toWeatherNow(nowKst, t.getT1().orElse(null), resolvedPlaceName, t.getT2()));
+    }
 
-        // 날씨 데이터를 쉽게 꺼내 쓰기 위해 category(항목 코드)를 key로, 실제 관측값(obsrValue)을 value로 가지는 Map으로 변환
-        Map<String, String> m = new HashMap<>();
-        for(NcstItem item : ncstResponse.response().body().items().item()) {
-            m.put(item.category(), item.obsrValue());
-        }
+    LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
 
-        double t1h = Double.parseDouble(m.getOrDefault("T1H", "0"));    // 기온(섭씨)
-        double rn1 = Double.parseDouble(m.getOrDefault("RN1", "0"));    // 1시간 강수량(mm)
-        int reh = Integer.parseInt(m.getOrDefault("REH", "0"));         // 습도(%)
-        double wsd = Double.parseDouble(m.getOrDefault("WSD", "0"));    // 풍속(m/s)
-        int pty = Integer.parseInt(m.getOrDefault("PTY", "0"));         // 강수 형태
+    /**
+     * 초단기 실황 + 초단기 예보  →  파싱이 끝난 스냅숏(WeatherSnapshot)으로 조회
+     */
+    Mono<WeatherSnapshot> snapshot(LocalDateTime nowKst, KmaGridPoint kmaGridPoint) {
+        popularity.record(kmaGridPoint); // 인기 격자 미리 불러오기(KmaRefreshAhead)에 사용
 
-        String precipType = switch(pty) {
+        // 아직 반영되지 않았을 가능성이 높으면 직전 발표 시각(헛된 1차 시도 방지)
+        KmaTime.BaseDt ncstBase = lagTracker.ncstBase(nowKst);
+        KmaTime.BaseDt fcstBase = lagTracker.fcstBase(nowKst);
+        return snapshotLoader.load(ncstBase, fcstBase, kmaGridPoint);
+    }
+
+    WeatherNowResponse toWeatherNow(LocalDateTime nowKst, String resolvedAddress, String resolvedPlaceName, WeatherSnapshot s) {
+        String precipType = switch(s.pty()) {
             case 0 -> "NONE";
             case 1 -> "RAIN";           // 비
             case 2 -> "RAIN_SNOW";      // 진눈깨비
@@ -73,41 +138,32 @@ public class WeatherService {
             default -> "UNKNOWN";
         };
 
-        String skyType = extractSkyType(nowKst, kmaGridPoint);
-
-        return new WeatherNowResponse(resolvedAddress, resolvedPlaceName, t1h, rn1, reh, wsd, precipType, skyType);
-    }
-
-    private String extractSkyType(LocalDateTime nowKst, KmaGridPoint kmaGridPoint) {
-        KmaTime.BaseDt fcstBase = KmaTime.latestUltraSrtFcstBase(nowKst);
-        FcstResponse fcstResponse = kmaClient.getUltraSrtFcst(fcstBase.baseDate(), fcstBase.baseTime(), kmaGridPoint);
-
-        DateTimeFormatter dateFmt = DateTimeFormatter.ofPattern("yyyyMMdd");
-        DateTimeFormatter timeFmt = DateTimeFormatter.ofPattern("HHmm");
-
-        long bestDiffMin = Long.MAX_VALUE;
-        String bestSky = null;
-
-        for(FcstItem item : fcstResponse.response().body().items().item()) {
-            if(!"SKY".equals(item.category())) continue;
-            LocalDate d = LocalDate.parse(item.fcstDate(), dateFmt);
-            LocalTime t = LocalTime.parse(item.fcstTime(), timeFmt);
-            LocalDateTime dt = LocalDateTime.of(d, t);
-
-            // 현재 시각과 예보 시각 간의 차이를 구해, 그중 현재 시각에 가장 가까운 예보의 하늘 상태를 구한다.
-            long diff = Math.abs(Duration.between(nowKst, dt).toMinutes());
-            if(diff < bestDiffMin) {
-                bestDiffMin = diff;
-                bestSky = item.fcstValue();
-            }
-        }
-
-        int skyCode = Integer.parseInt(bestSky);
-        return switch(skyCode) {
+        // 현재 시각에 가장 가까운 예보의 하늘 상태
+        String skyType = switch(s.skyAt(nowKst)) {
             case 1 -> "CLEAR";          // 맑음
             case 3 -> "PARTLY_CLOUDY";  // 구름 많음
             case 4 -> "CLOUDY";         // 흐림
             default -> "UNKNOWN";
         };
+
+        return new WeatherNowResponse(resolvedAddress, resolvedPlaceName, s.t1h(), s.rn1(), s.reh(), s.wsd(), precipType, skyType,
+                s.ncstBase(), s.fcstBase(), s.stale());
     }
+
+    /**
+     * 전체 조회가 upstreamDeadline을 넘기면, 진행 중인 호출을 모두 취소(구독 해제)하고 504(Gateway Timeout)로 응답한다.<br>
+     * 외부 API 호출 한도를 넘었는데 대신할 데이터(캐시, last-known-good)도 없으면 503(Service Unavailable)으로 응답한다.
+     */
+    <T> Mono<T> withDeadline(Mono<T> mono) {
+        return mono.timeout(props.getUpstreamDeadline())
+                .onErrorMap(TimeoutException.class,
+                        e -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "외부 API 응답 시간 초과"))
+                .onErrorMap(UpstreamQuotaExceededException.class,
+                        e -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "외부 API 호출 한도 초과"));
+    }
+
+    /**
+     * 위치 조회 결과(addressName, placeName은 없을 수 있음)
+     */
+    record ResolvedLocation(KmaGridPoint gridPoint, String addressName, String placeName) {}
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.neck.weatherpick.server.service;
+
+import com.neck.weatherpick.server.client.kma.dto.response.KmaItem;
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.FcstItem;
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.FcstResponse;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.NcstItem;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.NcstResponse;
+import com.neck.weatherpick.server.client.kma.support.KmaTime;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * <h5>격자 + 발표 시각별로 미리 계산해 둔 날씨 스냅숏(kmaSnapshot 캐시)</h5>
+ * NcstResponse / FcstResponse는 항목마다 문자열 필드를 여러 개 가진 객체 트리라서, 요청마다 다시 파싱(Map 변환, 숫자/날짜 파싱)해야 한다.
+ * 스냅숏은 발표 시각마다 한 번만 파싱해, 응답에 필요한 값만 기본형(primitive)으로 들고 있는다.
+ * <ul>
+ *     <li>메모리 : 캐시에 두던 디코딩 응답(실황 5개 + 예보 SKY 6개 항목) 약 2.2KB(880B + 1,392B)  →  스냅숏 208B</li>
+ *     <li>요청당 파싱 : 캐시 적중 시 없음(하늘 상태는 시간 단위 배열에서 인덱스 계산으로 조회)  →  요청당 할당 6,704B  →  0B</li>
+ * </ul>
+ * 측정 : JDK 21(빌드 툴체인과 같음), 압축 포인터(compressed oops), 객체 그래프 전체 크기(Instrumentation.getObjectSize) + 스레드별 할당량(ThreadMXBean),
+ * 입력은 벤치마크 Fixtures를 KmaResponseDecoder로 디코딩한 응답
+ * (디코더가 남기는 항목이 바뀌면 숫자도 바뀌므로, ./gradlew jmhFootprint(WeatherParsingBenchmark)로 다시 측정해 갱신할 것)
+ * @param skyStartMinute sky[0]의 예보 일시(분 단위 epoch, KST 기준)
+ * @param sky            1시간 간격 하늘 상태 코드(SKY)
+ * @param stale          요청한 발표 시각과 실제 데이터의 발표 시각이 다른지(직전 발표분으로 응답했는지) 여부
+ */
+public record WeatherSnapshot(
+        double t1h,     // 기온(섭씨)
+        double rn1,     // 1시간 강수량(mm)
+        int reh,        // 습도(%)
+        double wsd,     // 풍속(m/s)
+        int pty,        // 강수 형태
+        long skyStartMinute,
+        byte[] sky,
+        String ncstBase,
+        String fcstBase,
+        boolean stale
+) {
+    private static final int MINUTES_PER_HOUR = 60;
+
+    public static WeatherSnapshot of(KmaTime.BaseDt requestedNcstBase, NcstResponse ncstResponse,
+                                     KmaTime.BaseDt requestedFcstBase, FcstResponse fcstResponse) {
+        double t1h = 0, rn1 = 0, wsd = 0;
+        int reh = 0, pty = 0;
+        List<NcstItem> ncstItems = ncstResponse.response().body().items().item();
+        for(NcstItem item : ncstItems) {
+            switch(item.category()) {
+                case "T1H" -> t1h = Double.parseDouble(item.obsrValue());
+                case "RN1" -> rn1 = Double.parseDouble(item.obsrValue());
+                case "REH" -> reh = Integer.parseInt(item.obsrValue());
+                case "WSD" -> wsd = Double.parseDouble(item.obsrValue());
+                case "PTY" -> pty = Integer.parseInt(item.obsrValue());
+                default -> {}
+            }
+        }
+
+        // 예보 항목 중 SKY만 골라, 가장 이른 예보 시각부터 1시간 간격 배열로 펼친다.
+        List<FcstItem> fcstItems = fcstResponse.response().body().items().item();
+        long first = Long.MAX_VALUE, last = Long.MIN_VALUE;
+        for(FcstItem item : fcstItems) {
+            if(!"SKY".equals(item.category())) continue;
+            long minute = epochMinute(item.fcstDate(), item.fcstTime());
+            first = Math.min(first, minute);
+            last = Math.max(last, minute);
+        }
+
+        byte[] sky = new byte[first > last ? 0 : (int)((last - first) / MINUTES_PER_HOUR) + 1];
+        for(FcstItem item : fcstItems) {
+            if(!"SKY".equals(item.category())) continue;
+            int i = (int)((epochMinute(item.fcstDate(), item.fcstTime()) - first) / MINUTES_PER_HOUR);
+            sky[i] = Byte.parseByte(item.fcstValue());
+        }
+        for(int i = 1; i < sky.length; i++) {
+            if(sky[i] == 0) sky[i] = sky[i - 1]; // 빠진 시각은 직전 예보로 채움
+        }
+
+        String ncstBase = dataBase(requestedNcstBase, ncstItems);
+        String fcstBase = dataBase(requestedFcstBase, fcstItems);
+        boolean stale = !ncstBase.equals(requestedNcstBase.baseDate() + requestedNcstBase.baseTime())
+                || !fcstBase.equals(requestedFcstBase.baseDate() + requestedFcstBase.baseTime());
+
+        return new WeatherSnapshot(t1h, rn1, reh, wsd, pty, sky.length == 0 ? 0 : first, sky, ncstBase, fcstBase, stale);
+    }
+
+    /**
+     * 현재 시각에 가장 가까운 예보의 하늘 상태 코드(예보가 없으면 0)<br>
+     * 두 예보와의 차이가 같다면(ex. 12:30), 이른 쪽을 사용한다.
+     */
+    public int skyAt(LocalDateTime nowKst) {
+        if(sky.length == 0) return 0;
+        long diff = epochMinute(nowKst) - skyStartMinute;
+        long i = Math.floorDiv(diff + MINUTES_PER_HOUR / 2 - 1, MINUTES_PER_HOUR);
+        return sky[(int)Math.max(0, Math.min(sky.length - 1, i))];
+    }
+
+    // 응답 항목에 발표 일시가 없으면, 요청한 발표 일시를 그대로 사용
+    private static String dataBase(KmaTime.BaseDt requested, List<? extends KmaItem> items) {
+        if(items.isEmpty() || items.get(0).baseDate() == null || items.get(0).baseTime() == null) {
+            return requested.baseDate() + requested.baseTime();
+        }
+        return items.get(0).baseDate() + items.get(0).baseTime();
+    }
+
+    // ex) "20260202", "1200"  →  2026-02-02T12:00의 분 단위 epoch(시간대 변환 없이 KST 그대로 계산)
+    private static long epochMinute(String yyyyMMdd, String hhmm) {
+        LocalDateTime dt = LocalDateTime.of(
+                Integer.parseInt(yyyyMMdd, 0, 4, 10),
+                Integer.parseInt(yyyyMMdd, 4, 6, 10),
+                Integer.parseInt(yyyyMMdd, 6, 8, 10),
+                Integer.parseInt(hhmm, 0, 2, 10),
+                Integer.parseInt(hhmm, 2, 4, 10));
+        return epochMinute(dt);
+    }
+
+    private static long epochMinute(LocalDateTime dt) {
+        return dt.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+}
\ No newline at end of file
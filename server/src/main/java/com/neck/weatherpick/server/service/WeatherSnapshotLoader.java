@@ -0,0 +1,37 @@
+package com.neck.weatherpick.server.service;
+
+import com.neck.weatherpick.server.client.kma.KmaClient;
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import com.neck.weatherpick.server.client.kma.support.KmaTime;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * 초단기 실황 + 초단기 예보를 함께 조회해, 파싱이 끝난 WeatherSnapshot으로 캐싱한다.
+ * <br><br>
+ * 원본 응답 캐시(kmaNcst, kmaFcst)는 그대로 유지된다.(single-flight, stale-while-revalidate, refresh-ahead가 사용)
+ * 스냅숏 캐시가 미스되더라도 원본 응답은 대부분 캐시에 있으므로, 외부 API 호출 없이 파싱만 다시 한다.
+ * @see WeatherSnapshot
+ */
+@Component
+public class WeatherSnapshotLoader {
+    private final KmaClient kmaClient;
+
+    public WeatherSnapshotLoader(KmaClient kmaClient) {
+        this.kmaClient = kmaClient;
+    }
+
+    @Cacheable(
+            cacheNames = "kmaSnapshot",
+            key = "T(com.neck.weatherpick.server.cache.CacheKeys).kmaSnapshotKey(#p0, #p1, #p2)",
+            sync = true
+    )
+    public Mono<WeatherSnapshot> load(KmaTime.BaseDt ncstBase, KmaTime.BaseDt fcstBase, KmaGridPoint kmaGridPoint) {
+        // 실황과 예보는 서로 의존하지 않으므로 동시에 조회한다.
+        return Mono.zip(
+                kmaClient.getUltraSrtNcst(ncstBase.baseDate(), ncstBase.baseTime(), kmaGridPoint),
+                kmaClient.getUltraSrtFcst(fcstBase.baseDate(), fcstBase.baseTime(), kmaGridPoint)
+        ).map(t -> WeatherSnapshot.of(ncstBase, t.getT1(), fcstBase, t.getT2()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+-- 서버 간 공유 캐시(SharedCacheStore, SharedCacheEntry)  →  MySQL 8
+-- cache_key : 255자를 넘는 Key는 애플리케이션이 SHA-256 값으로 바꿔 저장(SharedCacheEntry.Id.of 참고)
+CREATE TABLE IF NOT EXISTS shared_cache (
+    cache_name  VARCHAR(32)   NOT NULL,
+    cache_key   VARCHAR(255)  NOT NULL,
+    cache_value VARCHAR(4000) NOT NULL,
+    expires_at  TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (cache_name, cache_key),
+    INDEX idx_shared_cache_expires_at (expires_at)
+) DEFAULT CHARSET = utf8mb4;
\ No newline at end of file
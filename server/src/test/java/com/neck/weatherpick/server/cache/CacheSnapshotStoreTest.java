@@ -0,0 +1,116 @@
+package com.neck.weatherpick.server.cache;
+
+import com.neck.weatherpick.server.cache.CacheSnapshotStore.LoadResult;
+import com.neck.weatherpick.server.client.geo.dto.request.LonLat;
+import com.neck.weatherpick.server.client.http.UpstreamHttpClients;
+import com.neck.weatherpick.server.client.kma.KmaClient;
+import com.neck.weatherpick.server.client.kma.KmaLastKnownStore;
+import com.neck.weatherpick.server.client.kma.KmaProperties;
+import com.neck.weatherpick.server.client.kma.KmaPublicationLagTracker;
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import com.neck.weatherpick.server.config.CacheConfig;
+import com.neck.weatherpick.server.metrics.UpstreamMetrics;
+import com.neck.weatherpick.server.service.WeatherSnapshot;
+import com.neck.weatherpick.server.support.MutableClock;
+import com.neck.weatherpick.server.support.StubUpstreamServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static com.neck.weatherpick.server.support.StubUpstreamServer.FCST;
+import static com.neck.weatherpick.server.support.StubUpstreamServer.NCST;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheSnapshotStoreTest {
+	private static final int GRIDS = 20;
+	private static final String AI_KEY = "t=-8|h=40|ws=3|rn=0|pty=NONE|sky=CLEAR";
+
+	@TempDir
+	private Path dir;
+
+	@Test
+	void restartedServerIsWarmWithoutCallingUpstream() throws Exception {
+		try(StubUpstreamServer stub = StubUpstreamServer.start()) {
+			stub.setDelay(Duration.ofMillis(20));
+			MutableClock clock = new MutableClock(LocalDateTime.parse("2026-02-02T12:15"));
+			KmaProperties kmaProps = new KmaProperties();
+			kmaProps.setBaseUrl(stub.baseUrl());
+			kmaProps.setServiceKey("test");
+			CacheSnapshotProperties props = new CacheSnapshotProperties();
+			props.setPath(dir.resolve("cache-snapshot.bin"));
+
+			// 재시작 전 : 빈 캐시  →  작업 집합(격자 20개의 실황 + 예보)을 모두 외부 API로 조회
+			SimpleCacheManager before = cacheManager(clock, kmaProps);
+			long cold = timeToWarm(before, kmaClient(kmaProps, before, clock));
+			assertThat(stub.calls(NCST) + stub.calls(FCST)).isEqualTo(GRIDS * 2);
+
+			before.getCache("aiReco").put(AI_KEY, "- 옷차림 : 패딩\n- 준비물 : 장갑");
+			before.getCache("kakaoLonLat").put("서울 종로구", new LonLat("서울 종로구", "종로구청", 126.9794, 37.5735));
+			before.getCache("kmaSnapshot").put("202602021200:202602021130:60:127",
+					new WeatherSnapshot(-8.4, 0, 44, 2.5, 0, 29_000_000L, new byte[]{1, 3, 4}, "202602021200", "202602021130", false));
+			assertThat(new CacheSnapshotStore(before, props, clock).save()).isEqualTo(GRIDS * 2 + 3);
+
+			// 재시작 후 : 스냅숏 복원  →  외부 API 호출 없이 모두 캐시 적중
+			clock.advance(Duration.ofMinutes(1)); // 재시작에 걸린 시간
+			SimpleCacheManager after = cacheManager(clock, kmaProps);
+			LoadResult loaded = new CacheSnapshotStore(after, props, clock).load();
+			long warm = loaded.took().toNanos() + timeToWarm(after, kmaClient(kmaProps, after, clock));
+
+			assertThat(loaded.restored()).isEqualTo(GRIDS * 2 + 3);
+			assertThat(stub.calls(NCST) + stub.calls(FCST)).isEqualTo(GRIDS * 2);
+			assertThat(warm)
+					.as("time-to-warm : 빈 캐시 %dms / 스냅숏 복원 %dms(복원 %dms)",
+							Duration.ofNanos(cold).toMillis(), Duration.ofNanos(warm).toMillis(), loaded.took().toMillis())
+					.isLessThan(cold / 5);
+
+			// 값과 남은 유효 시간(1일 - 재시작에 걸린 시간)도 그대로
+			CaffeineCache aiReco = (CaffeineCache)after.getCache("aiReco");
+			assertThat(aiReco.getAsyncCache().getIfPresent(AI_KEY).join()).isEqualTo("- 옷차림 : 패딩\n- 준비물 : 장갑");
+			assertThat(aiReco.getAsyncCache().synchronous().policy().expireVariably().orElseThrow().getExpiresAfter(AI_KEY).orElseThrow())
+					.isLessThanOrEqualTo(Duration.ofDays(1).minusMinutes(1));
+			CaffeineCache snapshots = (CaffeineCache)after.getCache("kmaSnapshot");
+			WeatherSnapshot s = (WeatherSnapshot)snapshots.getAsyncCache().getIfPresent("202602021200:202602021130:60:127").join();
+			assertThat(s.sky()).isEqualTo(new byte[]{1, 3, 4});
+			assertThat(s.t1h()).isEqualTo(-8.4);
+
+			// 예보(11:30 발표분)는 12:45에 만료  →  그 이후에 시작하면 버림
+			clock.set(LocalDateTime.parse("2026-02-02T12:50"));
+			LoadResult late = new CacheSnapshotStore(cacheManager(clock, kmaProps), props, clock).load();
+			assertThat(late.restored()).isEqualTo(GRIDS + 3);
+			assertThat(late.expired()).isEqualTo(GRIDS);
+		}
+	}
+
+	// 작업 집합을 모두 캐시에서 응답할 수 있을 때까지 걸린 시간(@Cacheable(sync = true)와 같은 방식으로 조회)
+	private static long timeToWarm(SimpleCacheManager cacheManager, KmaClient kmaClient) {
+		CaffeineCache ncst = (CaffeineCache)cacheManager.getCache("kmaNcst");
+		CaffeineCache fcst = (CaffeineCache)cacheManager.getCache("kmaFcst");
+
+		long start = System.nanoTime();
+		for(int i = 0; i < GRIDS; i++) {
+			KmaGridPoint p = new KmaGridPoint(50 + i, 127);
+			ncst.retrieve(CacheKeys.kmaKey("20260202", "1200", p), () -> kmaClient.requestUltraSrtNcst("20260202", "1200", p).toFuture()).join();
+			fcst.retrieve(CacheKeys.kmaKey("20260202", "1130", p), () -> kmaClient.requestUltraSrtFcst("20260202", "1130", p).toFuture()).join();
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static SimpleCacheManager cacheManager(Clock clock, KmaProperties kmaProps) {
+		SimpleCacheManager cacheManager = (SimpleCacheManager)new CacheConfig().cacheManager(clock, kmaProps, Optional.empty());
+		cacheManager.afterPropertiesSet();
+		return cacheManager;
+	}
+
+	private static KmaClient kmaClient(KmaProperties kmaProps, SimpleCacheManager cacheManager, Clock clock) {
+		return new KmaClient(kmaProps, new KmaLastKnownStore(kmaProps), new KmaPublicationLagTracker(kmaProps, clock, new SimpleMeterRegistry()), cacheManager,
+				new UpstreamHttpClients(new SimpleMeterRegistry(), clock), new UpstreamMetrics(new SimpleMeterRegistry()));
+	}
+}
\ No newline at end of file
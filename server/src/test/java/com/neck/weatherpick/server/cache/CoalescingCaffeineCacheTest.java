@@ -0,0 +1,61 @@
+package com.neck.weatherpick.server.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CoalescingCaffeineCacheTest {
+	@Test
+	void concurrentMissesShareOneLoad() {
+		CoalescingCaffeineCache cache = new CoalescingCaffeineCache("kmaNcst", Caffeine.newBuilder().buildAsync());
+		CompletableFuture<String> upstream = new CompletableFuture<>();
+		AtomicInteger upstreamCalls = new AtomicInteger();
+
+		List<CompletableFuture<String>> callers = new ArrayList<>();
+		for(int i = 0; i < 10; i++) {
+			callers.add(cache.retrieve("20260202:1200:60:127", () -> {
+				upstreamCalls.incrementAndGet();
+				return upstream;
+			}));
+		}
+		upstream.complete("ncst");
+
+		assertThat(callers).allSatisfy(f -> assertThat(f.join()).isEqualTo("ncst"));
+		assertThat(upstreamCalls).hasValue(1);
+		assertThat(cache.loadCount()).isEqualTo(1);
+		assertThat(cache.coalescedCount()).isEqualTo(9);
+	}
+
+	@Test
+	void eachRetrieveIsCountedOnceInCacheStats() {
+		CoalescingCaffeineCache cache = new CoalescingCaffeineCache("kmaNcst", Caffeine.newBuilder().recordStats().buildAsync());
+		CompletableFuture<String> upstream = new CompletableFuture<>();
+
+		cache.retrieve("k", () -> upstream);                                       // 미스
+		cache.retrieve("k", () -> CompletableFuture.completedFuture("other"));     // 진행 중인 호출에 합류(적중)
+		upstream.complete("v");
+		cache.retrieve("k", () -> CompletableFuture.completedFuture("other")).join(); // 적중
+
+		CacheStats stats = cache.getAsyncCache().synchronous().stats();
+		assertThat(stats.requestCount()).isEqualTo(3);
+		assertThat(stats.missCount()).isEqualTo(1);
+		assertThat(cache.coalescedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void emptyResultIsNotCached() {
+		CoalescingCaffeineCache cache = new CoalescingCaffeineCache("kmaNcst", Caffeine.newBuilder().buildAsync());
+
+		cache.retrieve("k", () -> CompletableFuture.completedFuture(null)).join();
+		cache.retrieve("k", () -> CompletableFuture.completedFuture("v")).join();
+
+		assertThat(cache.loadCount()).isEqualTo(2);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.neck.weatherpick.server.cache;
+
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KmaPublicationExpiryTest {
+	private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+	@Test
+	void freshEntryLivesUntilNextBaseIsPublished() {
+		KmaPublicationExpiry expiry = expiryAt("2026-02-02T12:05");
+
+		Duration ttl = expiry.timeToLive("20260202:1200:60:127", ncst("20260202", "1200"));
+
+		// 13:00 발표분이 13:10에 반영될 때까지
+		assertThat(ttl).isEqualTo(Duration.ofMinutes(65));
+	}
+
+	@Test
+	void fallbackEntryLivesUntilExpectedPublication() {
+		KmaPublicationExpiry expiry = expiryAt("2026-02-02T12:03");
+
+		Duration ttl = expiry.timeToLive("20260202:1200:60:127", ncst("20260202", "1100"));
+
+		assertThat(ttl).isEqualTo(Duration.ofMinutes(7));
+	}
+
+	@Test
+	void lateFallbackEntryIsRetriedAfterMinimumInterval() {
+		KmaPublicationExpiry expiry = expiryAt("2026-02-02T12:20");
+
+		Duration ttl = expiry.timeToLive("20260202:1200:60:127", ncst("20260202", "1100"));
+
+		assertThat(ttl).isEqualTo(Duration.ofMinutes(1));
+	}
+
+	private static KmaPublicationExpiry expiryAt(String now) {
+		Clock clock = Clock.fixed(LocalDateTime.parse(now).atZone(KST).toInstant(), KST);
+		return new KmaPublicationExpiry(clock, Duration.ofMinutes(10), Duration.ofMinutes(1));
+	}
+
+	private static NcstResponse ncst(String baseDate, String baseTime) {
+		List<NcstItem> items = List.of(new NcstItem("T1H", "-8.4", baseDate, baseTime));
+		return new NcstResponse(new NcstInnerResponse(new NcstBody(new NcstItems(items))));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.neck.weatherpick.server.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neck.weatherpick.server.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 조회는 별도 스레드에서 하므로, 저장한 항목이 커밋되어야 보임
+class SharedCacheStoreTest {
+	@Autowired
+	private SharedCacheRepository repository;
+
+	@Autowired
+	private PlatformTransactionManager txManager;
+
+	private final MutableClock clock = new MutableClock(LocalDateTime.parse("2026-02-02T12:00"));
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void oneBadEntryDoesNotDiscardTheRestOfTheBatch() {
+		SharedCacheStore store = store();
+		String longKey = "서울 종로구 ".repeat(50); // 컬럼 길이(255자)를 넘는 사용자 입력
+
+		store.write("kakaoLonLat", longKey, "서울특별시 종로구", Duration.ofDays(1));
+		store.write("kakaoAddr", "55:125", "인천광역시 부평구", Duration.ofDays(1));
+		store.write("kakaoAddr", "60:127", "가".repeat(SharedCacheEntry.MAX_VALUE_LENGTH), Duration.ofDays(1)); // JSON(따옴표 포함)이 컬럼 길이를 넘음
+		store.write("k".repeat(40), "60:127", "서울특별시 종로구", Duration.ofDays(1)); // cache_name 길이(32자) 초과  →  트랜잭션 실패
+
+		// 실패한 항목만 버리고, 나머지는 저장
+		assertThat(store.flush()).isEqualTo(2);
+		assertThat(repository.count()).isEqualTo(2);
+		assertThat(registry.get("cache.shared.writes").tag("result", "written").counter().count()).isEqualTo(2);
+		assertThat(registry.get("cache.shared.writes").tag("result", "dropped").counter().count()).isEqualTo(2);
+
+		// 긴 Key는 해시로 저장되지만, 같은 Key로 조회 가능
+		assertThat(store.find("kakaoLonLat", longKey, String.class).join()).isEqualTo("서울특별시 종로구");
+		assertThat(store.find("kakaoAddr", "55:125", String.class).join()).isEqualTo("인천광역시 부평구");
+		assertThat(repository.findAll()).allSatisfy(e -> assertThat(e.getId().getCacheKey().length()).isLessThanOrEqualTo(SharedCacheEntry.MAX_KEY_LENGTH));
+	}
+
+	@Test
+	void fullReadQueueIsAMissAndTimedOutReadsNeverRun() throws Exception {
+		// DB가 응답하지 않는 상황 : 조회가 release 전까지 멈춤
+		CountDownLatch release = new CountDownLatch(1);
+		SharedCacheRepository stuck = mock(SharedCacheRepository.class);
+		when(stuck.findById(any())).thenAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			return Optional.empty();
+		});
+
+		SharedCacheProperties props = new SharedCacheProperties();
+		props.setReadThreads(1);
+		props.setReadQueueSize(1);
+		props.setReadTimeout(Duration.ofMillis(200));
+		SharedCacheStore store = new SharedCacheStore(stuck, new TransactionTemplate(txManager), new ObjectMapper(), props, clock, registry);
+
+		CompletableFuture<String> running = store.find("kakaoAddr", "55:125", String.class); // 스레드에서 실행 중(멈춤)
+		CompletableFuture<String> queued = store.find("kakaoAddr", "60:127", String.class);  // 대기열
+		CompletableFuture<String> rejected = store.find("kakaoAddr", "61:128", String.class); // 대기열이 가득 참  →  바로 캐시 미스
+
+		assertThat(rejected).isCompletedWithValue(null);
+		assertThat(registry.get("cache.shared.gets").tag("result", "error").counter().count()).isEqualTo(1);
+
+		// 제한 시간이 지나면 캐시 미스
+		assertThat(running.get(2, TimeUnit.SECONDS)).isNull();
+		assertThat(queued.get(2, TimeUnit.SECONDS)).isNull();
+		assertThat(registry.get("cache.shared.gets").tag("result", "error").counter().count()).isEqualTo(3);
+
+		// DB가 회복되더라도, 제한 시간이 지난 조회(queued)는 실행하지 않음
+		release.countDown();
+		verify(stuck, after(300).times(1)).findById(any());
+		store.shutdown();
+	}
+
+	private SharedCacheStore store() {
+		SharedCacheProperties props = new SharedCacheProperties();
+		props.setReadTimeout(Duration.ofSeconds(5)); // 첫 조회(JIT 등)가 느려 캐시 미스로 처리되지 않도록
+		return new SharedCacheStore(repository, new TransactionTemplate(txManager), new ObjectMapper(), props, clock, registry);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.neck.weatherpick.server.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.neck.weatherpick.server.client.geo.dto.request.LonLat;
+import com.neck.weatherpick.server.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// H2(메모리 DB)로 공유 캐시 테이블 생성
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 조회는 별도 스레드에서 하므로, 저장한 항목이 커밋되어야 보임
+class TwoTierCaffeineCacheTest {
+	private static final List<String> REGIONS = List.of("서울 종로구", "인천 부평구", "부산 해운대구");
+
+	@Autowired
+	private SharedCacheRepository repository;
+
+	@Autowired
+	private PlatformTransactionManager txManager;
+
+	private final MutableClock clock = new MutableClock(LocalDateTime.parse("2026-02-02T12:00"));
+
+	@Test
+	void secondNodeReusesWhatTheFirstNodeLoaded() {
+		AtomicInteger upstreamCalls = new AtomicInteger();
+
+		// 서버 A : 캐시 미스  →  외부 API 호출, 공유 캐시에는 바로 저장하지 않음(write-behind)
+		SharedCacheStore storeA = store();
+		TwoTierCaffeineCache nodeA = cache(storeA);
+		for(String region : REGIONS) {
+			assertThat(nodeA.retrieve(region, () -> upstream(region, upstreamCalls)).join()).isEqualTo(lonLat(region));
+		}
+		assertThat(upstreamCalls).hasValue(REGIONS.size());
+		assertThat(storeA.pendingCount()).isEqualTo(REGIONS.size());
+		assertThat(repository.count()).isZero();
+
+		// 모아서 한 번에 저장
+		assertThat(storeA.flush()).isEqualTo(REGIONS.size());
+		assertThat(repository.count()).isEqualTo(REGIONS.size());
+
+		// 서버 B(서버 캐시는 비어 있음)  →  외부 API 대신 공유 캐시
+		TwoTierCaffeineCache nodeB = cache(store());
+		for(String region : REGIONS) {
+			assertThat(nodeB.retrieve(region, () -> upstream(region, upstreamCalls)).join()).isEqualTo(lonLat(region));
+		}
+		assertThat(upstreamCalls).hasValue(REGIONS.size());
+		assertThat(nodeB.sharedHitCount()).isEqualTo(REGIONS.size());
+		assertThat(nodeB.loadCount()).isZero();
+
+		// 공유 캐시도 만료되면  →  다시 외부 API 호출, 만료된 항목은 삭제
+		clock.advance(Duration.ofDays(2));
+		TwoTierCaffeineCache nodeC = cache(store());
+		nodeC.retrieve(REGIONS.get(0), () -> upstream(REGIONS.get(0), upstreamCalls)).join();
+		assertThat(upstreamCalls).hasValue(REGIONS.size() + 1);
+
+		storeA.purge();
+		assertThat(repository.count()).isZero();
+	}
+
+	private SharedCacheStore store() {
+		SharedCacheProperties props = new SharedCacheProperties();
+		props.setReadTimeout(Duration.ofSeconds(5)); // 첫 조회(JIT 등)가 느려 캐시 미스로 처리되지 않도록
+		return new SharedCacheStore(repository, new TransactionTemplate(txManager), new ObjectMapper(), props, clock, new SimpleMeterRegistry());
+	}
+
+	private static TwoTierCaffeineCache cache(SharedCacheStore store) {
+		return new TwoTierCaffeineCache("kakaoLonLat", Caffeine.newBuilder().buildAsync(), store, LonLat.class, Duration.ofDays(1));
+	}
+
+	private static CompletableFuture<LonLat> upstream(String region, AtomicInteger calls) {
+		calls.incrementAndGet();
+		return CompletableFuture.completedFuture(lonLat(region));
+	}
+
+	private static LonLat lonLat(String region) {
+		return new LonLat(region, region + " 주민센터", 126.97, 37.57);
+	}
+}
\ No newline at end of file
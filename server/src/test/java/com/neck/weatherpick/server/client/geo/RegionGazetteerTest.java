@@ -0,0 +1,56 @@
+package com.neck.weatherpick.server.client.geo;
+
+import com.neck.weatherpick.server.client.geo.dto.request.LonLat;
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegionGazetteerTest {
+	private final RegionGazetteer gazetteer = new RegionGazetteer();
+
+	@Test
+	void findsByOfficialNameAliasAndStem() {
+		assertThat(name("서울특별시 종로구")).isEqualTo("서울특별시 종로구");
+		assertThat(name("서울 종로구")).isEqualTo("서울특별시 종로구");
+		assertThat(name("  서울종로구 ")).isEqualTo("서울특별시 종로구");
+		assertThat(name("종로구")).isEqualTo("서울특별시 종로구");
+		assertThat(name("종로")).isEqualTo("서울특별시 종로구");
+		assertThat(name("수원")).isEqualTo("경기도 수원시");
+		assertThat(name("강원도")).isEqualTo("강원특별자치도");
+	}
+
+	@Test
+	void normalizesDecomposedHangul() {
+		String nfd = Normalizer.normalize("부산 해운대구", Normalizer.Form.NFD);
+		assertThat(name(nfd)).isEqualTo("부산광역시 해운대구");
+	}
+
+	@Test
+	void prefersProvinceAliasOverSameNamedCity() {
+		// 광주광역시 vs 경기도 광주시
+		assertThat(name("광주")).isEqualTo("광주광역시");
+		assertThat(name("경기 광주시")).isEqualTo("경기도 광주시");
+	}
+
+	@Test
+	void leavesAmbiguousAndUnknownNamesToKakao() {
+		assertThat(gazetteer.find("중구")).isEmpty();      // 서울, 부산, 대구, 인천, 대전, 울산
+		assertThat(gazetteer.find("고성군")).isEmpty();    // 강원, 경남
+		assertThat(gazetteer.find("부평문화의거리")).isEmpty();
+		assertThat(name("인천 중구")).isEqualTo("인천광역시 중구");
+	}
+
+	@Test
+	void nearestResolvesCoordinateToClosestDistrict() {
+		assertThat(gazetteer.nearest(126.7242, 37.4941, 20)).contains("인천광역시 부평구");
+		assertThat(gazetteer.nearest(129.1604, 35.1587, 20)).contains("부산광역시 해운대구");  // 해운대 해수욕장
+		assertThat(gazetteer.nearest(127.2600, 36.5000, 20)).contains("세종특별자치시");      // 시/군/구가 없는 시/도
+		assertThat(gazetteer.nearest(124.5, 36.0, 20)).isEmpty();                             // 서해 먼바다
+	}
+
+	private String name(String region) {
+		return gazetteer.find(region).map(LonLat::addressName).orElse(null);
+	}
+}
\ No newline at end of file
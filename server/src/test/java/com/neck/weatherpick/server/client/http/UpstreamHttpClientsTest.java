@@ -0,0 +1,151 @@
+package com.neck.weatherpick.server.client.http;
+
+import com.neck.weatherpick.server.support.StubUpstreamServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static com.neck.weatherpick.server.support.StubUpstreamServer.FCST;
+import static com.neck.weatherpick.server.support.StubUpstreamServer.KEYWORD;
+import static com.neck.weatherpick.server.support.StubUpstreamServer.NCST;
+import static com.neck.weatherpick.server.support.StubUpstreamServer.RESPONSES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamHttpClientsTest {
+	private static final Clock CLOCK = Clock.system(ZoneId.of("Asia/Seoul"));
+
+	@Test
+	void slowUpstreamFailsAtResponseTimeoutInsteadOfHanging() throws Exception {
+		try(StubUpstreamServer stub = StubUpstreamServer.start()) {
+			UpstreamHttpProperties props = new UpstreamHttpProperties();
+			props.setResponseTimeout(Duration.ofMillis(200));
+			WebClient webClient = webClient(new UpstreamHttpClients(new SimpleMeterRegistry(), CLOCK), "kakao", props, stub);
+
+			stub.setDelay(Duration.ofSeconds(2));
+			long start = System.nanoTime();
+			assertThatThrownBy(() -> keyword(webClient).block()).isInstanceOf(RuntimeException.class);
+			assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+		}
+	}
+
+	@Test
+	void tricklingResponseFailsAtOverallTimeout() throws Exception {
+		try(StubUpstreamServer stub = StubUpstreamServer.start()) {
+			UpstreamHttpProperties props = new UpstreamHttpProperties();
+			props.setResponseTimeout(Duration.ofSeconds(1));    // 조각 사이 간격(300ms)보다 길어서 걸리지 않음
+			props.setOverallTimeout(Duration.ofMillis(400));
+			WebClient webClient = webClient(new UpstreamHttpClients(new SimpleMeterRegistry(), CLOCK), "openai", props, stub);
+
+			stub.setStreamChunkDelay(Duration.ofMillis(300));   // 전체 약 600ms
+			Flux<String> events = webClient.post()
+					.uri(RESPONSES)
+					.bodyValue("{\"stream\":true}")
+					.retrieve()
+					.bodyToFlux(String.class);
+			assertThatThrownBy(() -> events.collectList().block()).hasRootCauseInstanceOf(TimeoutException.class);
+
+			// 마감 안에 끝나는 응답은 그대로
+			stub.setStreamChunkDelay(Duration.ZERO);
+			assertThat(events.collectList().block()).isNotEmpty();
+		}
+	}
+
+	@Test
+	void poolLimitsConnectionsAndPendingRequestsAndExposesGauges() throws Exception {
+		try(StubUpstreamServer stub = StubUpstreamServer.start()) {
+			UpstreamHttpProperties props = new UpstreamHttpProperties();
+			props.setMaxConnections(2);
+			props.setPendingAcquireMaxCount(1);
+			SimpleMeterRegistry registry = new SimpleMeterRegistry();
+			WebClient webClient = webClient(new UpstreamHttpClients(registry, CLOCK), "kma", props, stub);
+
+			// 연결 2개 + 대기 1개까지만 받고, 나머지는 기다리지 않고 바로 실패
+			stub.setDelay(Duration.ofMillis(300));
+			List<Boolean> results = Flux.range(0, 5)
+					.flatMap(i -> keyword(webClient).map(body -> true).onErrorResume(e -> Mono.just(false)))
+					.collectList()
+					.block();
+			assertThat(results).contains(false);
+			assertThat(results).filteredOn(ok -> ok).hasSizeBetween(2, 3);
+			assertThat(stub.calls(KEYWORD)).isLessThanOrEqualTo(3);
+
+			assertThat(registry.get("upstream.pool.max").tag("upstream", "kma").gauge().value()).isEqualTo(2.0);
+			assertThat(registry.find("upstream.pool.connections").tag("upstream", "kma").tag("state", "idle").gauge()).isNotNull();
+		}
+	}
+
+	@Test
+	void quotaRejectsWithoutCallingUpstreamAndTellsPriority() throws Exception {
+		try(StubUpstreamServer stub = StubUpstreamServer.start()) {
+			UpstreamHttpProperties props = new UpstreamHttpProperties();
+			props.getQuota().setDailyLimit(2);
+			props.getQuota().setUserReserve(0.5);
+			WebClient webClient = webClient(new UpstreamHttpClients(new SimpleMeterRegistry(), CLOCK), "kakao", props, stub);
+
+			// 백그라운드 갱신은 하루 한도의 절반(1회)까지만
+			assertThat(keyword(webClient).contextWrite(UpstreamQuota::background).block()).isNotNull();
+			assertThatThrownBy(() -> keyword(webClient).contextWrite(UpstreamQuota::background).block())
+					.isInstanceOfSatisfying(UpstreamQuotaExceededException.class,
+							e -> assertThat(e.getPriority()).isEqualTo(UpstreamQuota.Priority.BACKGROUND));
+
+			// 사용자 요청은 남은 한도까지
+			assertThat(keyword(webClient).block()).isNotNull();
+			assertThatThrownBy(() -> keyword(webClient).block())
+					.isInstanceOfSatisfying(UpstreamQuotaExceededException.class,
+							e -> assertThat(e.getPriority()).isEqualTo(UpstreamQuota.Priority.USER));
+			assertThat(stub.calls(KEYWORD)).isEqualTo(2);
+		}
+	}
+
+	@Test
+	void perEndpointQuotaCountsEachApiSeparately() throws Exception {
+		try(StubUpstreamServer stub = StubUpstreamServer.start()) {
+			UpstreamHttpProperties props = new UpstreamHttpProperties();
+			props.getQuota().setDailyLimit(2);
+			props.getQuota().setPerEndpoint(true);
+			SimpleMeterRegistry registry = new SimpleMeterRegistry();
+			WebClient webClient = webClient(new UpstreamHttpClients(registry, CLOCK), "kma", props, stub);
+
+			// 실황이 한도를 다 써도, 예보는 자기 한도만큼 호출 가능
+			assertThat(kma(webClient, NCST).block()).isNotNull();
+			assertThat(kma(webClient, NCST).block()).isNotNull();
+			assertThatThrownBy(() -> kma(webClient, NCST).block()).isInstanceOf(UpstreamQuotaExceededException.class);
+			assertThat(kma(webClient, FCST).block()).isNotNull();
+			assertThat(stub.calls(NCST)).isEqualTo(2);
+			assertThat(stub.calls(FCST)).isEqualTo(1);
+
+			assertThat(registry.get("upstream.quota.remaining").tag("endpoint", "getUltraSrtNcst").tag("window", "day").gauge().value()).isZero();
+			assertThat(registry.get("upstream.quota.remaining").tag("endpoint", "getUltraSrtFcst").tag("window", "day").gauge().value()).isEqualTo(1);
+		}
+	}
+
+	private static WebClient webClient(UpstreamHttpClients httpClients, String upstream, UpstreamHttpProperties props, StubUpstreamServer stub) {
+		return WebClient.builder()
+				.apply(httpClients.configure(upstream, props))
+				.baseUrl(stub.baseUrl())
+				.build();
+	}
+
+	private static Mono<String> keyword(WebClient webClient) {
+		return webClient.get()
+				.uri(uriBuilder -> uriBuilder.path(KEYWORD).queryParam("query", "광화문").build())
+				.retrieve()
+				.bodyToMono(String.class);
+	}
+
+	private static Mono<String> kma(WebClient webClient, String path) {
+		return webClient.get()
+				.uri(uriBuilder -> uriBuilder.path(path).queryParam("base_date", "20260202").queryParam("base_time", "1200").build())
+				.retrieve()
+				.bodyToMono(String.class);
+	}
+}
\ No newline at end of file
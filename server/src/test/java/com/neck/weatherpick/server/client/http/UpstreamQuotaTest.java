@@ -0,0 +1,67 @@
+package com.neck.weatherpick.server.client.http;
+
+import com.neck.weatherpick.server.client.http.UpstreamQuota.Priority;
+import com.neck.weatherpick.server.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamQuotaTest {
+	@Test
+	void backgroundLeavesUserReserveOfBurst() {
+		UpstreamHttpProperties.Quota props = new UpstreamHttpProperties.Quota();
+		props.setPerSecond(10);
+		props.setBurst(5);
+		props.setUserReserve(0.2);
+		AtomicLong nanos = new AtomicLong();
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		UpstreamQuota quota = new UpstreamQuota("kma", UpstreamQuota.ALL_ENDPOINTS, props, new MutableClock(LocalDateTime.parse("2026-02-02T12:00")), registry, nanos::get);
+
+		// 백그라운드는 burst의 80%(4회)까지만, 남은 1회는 사용자 요청 몫
+		assertThat(acquire(quota, Priority.BACKGROUND, 10)).isEqualTo(4);
+		assertThat(acquire(quota, Priority.USER, 10)).isEqualTo(1);
+		assertThat(registry.get("upstream.quota.remaining").tag("upstream", "kma").tag("window", "second").gauge().value()).isZero();
+
+		// 100ms(초당 10회)마다 1회씩 회복
+		nanos.addAndGet(Duration.ofMillis(100).toNanos());
+		assertThat(acquire(quota, Priority.BACKGROUND, 10)).isZero();
+		assertThat(acquire(quota, Priority.USER, 10)).isEqualTo(1);
+
+		nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+		assertThat(registry.get("upstream.quota.remaining").tag("window", "second").gauge().value()).isEqualTo(5);
+		assertThat(registry.get("upstream.quota.rejected").tag("priority", "background").counter().count()).isEqualTo(16);
+		assertThat(registry.get("upstream.quota.rejected").tag("priority", "user").counter().count()).isEqualTo(18);
+	}
+
+	@Test
+	void dailyLimitResetsAtMidnightKst() {
+		UpstreamHttpProperties.Quota props = new UpstreamHttpProperties.Quota();
+		props.setDailyLimit(10);
+		props.setUserReserve(0.2);
+		MutableClock clock = new MutableClock(LocalDateTime.parse("2026-02-02T23:59"));
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		UpstreamQuota quota = new UpstreamQuota("openai", props, clock, registry);
+
+		assertThat(acquire(quota, Priority.BACKGROUND, 20)).isEqualTo(8);
+		assertThat(acquire(quota, Priority.USER, 20)).isEqualTo(2);
+		assertThat(registry.get("upstream.quota.remaining").tag("window", "day").gauge().value()).isZero();
+
+		clock.advance(Duration.ofMinutes(1)); // 다음 날 00:00
+		assertThat(registry.get("upstream.quota.remaining").tag("window", "day").gauge().value()).isEqualTo(10);
+		assertThat(quota.tryAcquire(Priority.USER)).isTrue();
+		assertThat(registry.find("upstream.quota.remaining").tag("window", "second").gauge()).isNull(); // 초당 한도 없음
+	}
+
+	private static int acquire(UpstreamQuota quota, Priority priority, int attempts) {
+		int acquired = 0;
+		for(int i = 0; i < attempts; i++) {
+			if(quota.tryAcquire(priority)) acquired++;
+		}
+		return acquired;
+	}
+}
\ No newline at end of file
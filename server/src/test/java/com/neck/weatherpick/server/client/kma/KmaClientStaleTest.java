@@ -0,0 +1,75 @@
+package com.neck.weatherpick.server.client.kma;
+
+import com.neck.weatherpick.server.client.http.UpstreamHttpClients;
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.NcstResponse;
+import com.neck.weatherpick.server.config.CacheConfig;
+import com.neck.weatherpick.server.metrics.UpstreamMetrics;
+import com.neck.weatherpick.server.support.MutableClock;
+import com.neck.weatherpick.server.support.StubUpstreamServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static com.neck.weatherpick.server.support.StubUpstreamServer.NCST;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KmaClientStaleTest {
+	private static final KmaGridPoint SEOUL = new KmaGridPoint(60, 127);
+	private static final KmaGridPoint BUSAN = new KmaGridPoint(98, 76);
+
+	@Test
+	void servesLastKnownGoodAndRevalidatesInBackground() throws Exception {
+		try(StubUpstreamServer stub = StubUpstreamServer.start()) {
+			KmaProperties props = new KmaProperties();
+			props.setBaseUrl(stub.baseUrl());
+			props.setServiceKey("test");
+			props.getStale().setNotPublishedTtl(Duration.ofMillis(500));
+
+			MutableClock clock = new MutableClock(LocalDateTime.parse("2026-02-02T12:05"));
+			SimpleCacheManager cacheManager = (SimpleCacheManager)new CacheConfig().cacheManager(clock, props, Optional.empty());
+			cacheManager.afterPropertiesSet();
+			SimpleMeterRegistry registry = new SimpleMeterRegistry();
+			KmaClient kmaClient = new KmaClient(props, new KmaLastKnownStore(props), new KmaPublicationLagTracker(props, clock, registry), cacheManager,
+					new UpstreamHttpClients(registry, clock), new UpstreamMetrics(registry));
+
+			// 11:00 발표분까지만 반영된 상태
+			stub.setLatestPublished(LocalDateTime.parse("2026-02-02T11:00"));
+			kmaClient.getUltraSrtNcst("20260202", "1100", SEOUL).block();
+			assertThat(stub.calls(NCST)).isEqualTo(1);
+
+			// last-known-good이 있는 격자  →  2차 시도 없이 11:00 데이터로 곧바로 응답
+			NcstResponse stale = kmaClient.getUltraSrtNcst("20260202", "1200", SEOUL).block();
+			assertThat(stale.response().body().items().item().get(0).baseTime()).isEqualTo("1100");
+			assertThat(stub.calls(NCST)).isEqualTo(2);
+
+			// last-known-good이 없는 격자  →  '발표 전'으로 기억된 1차 시도는 생략하고, 2차 시도만 호출
+			NcstResponse fallback = kmaClient.getUltraSrtNcst("20260202", "1200", BUSAN).block();
+			assertThat(fallback.response().body().items().item().get(0).baseTime()).isEqualTo("1100");
+			assertThat(stub.calls(NCST)).isEqualTo(3);
+
+			// 그사이 12:00 발표분이 반영되면, 백그라운드 재검증이 캐시를 새 데이터로 갱신
+			stub.setLatestPublished(LocalDateTime.parse("2026-02-02T12:00"));
+			CaffeineCache ncstCache = (CaffeineCache)cacheManager.getCache("kmaNcst");
+			long deadline = System.nanoTime() + Duration.ofSeconds(3).toNanos();
+			String cachedBaseTime = null;
+			while(!"1200".equals(cachedBaseTime) && System.nanoTime() < deadline) {
+				Thread.sleep(50);
+				CompletableFuture<Object> cached = ncstCache.getAsyncCache().getIfPresent("20260202:1200:60:127");
+				if(cached != null) cachedBaseTime = ((NcstResponse)cached.join()).response().body().items().item().get(0).baseTime();
+			}
+			assertThat(cachedBaseTime).isEqualTo("1200");
+			assertThat(stub.calls(NCST)).isEqualTo(4);
+
+			assertThat(registry.get("kma.stale.served").tag("product", "getUltraSrtNcst").counter().count()).isEqualTo(1);
+			assertThat(registry.get("kma.second.attempts").tag("product", "getUltraSrtNcst").counter().count()).isEqualTo(1);
+			assertThat(registry.get("upstream.requests").tag("endpoint", "getUltraSrtNcst").tag("outcome", "SUCCESS").timer().count()).isEqualTo(4);
+		}
+	}
+}
\ No newline at end of file
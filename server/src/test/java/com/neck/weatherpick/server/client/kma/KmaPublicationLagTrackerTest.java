@@ -0,0 +1,61 @@
+package com.neck.weatherpick.server.client.kma;
+
+import com.neck.weatherpick.server.client.http.UpstreamHttpClients;
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import com.neck.weatherpick.server.client.kma.support.KmaTime;
+import com.neck.weatherpick.server.metrics.UpstreamMetrics;
+import com.neck.weatherpick.server.support.MutableClock;
+import com.neck.weatherpick.server.support.StubUpstreamServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KmaPublicationLagTrackerTest {
+	private static final KmaGridPoint SEOUL = new KmaGridPoint(60, 127);
+	private static final int ACTUAL_LAG_MIN = 20; // 설정값(10분)보다 늦게 반영
+
+	@Test
+	void learnsLatePublicationAndStopsRequestingUnpublishedBaseTimes() throws Exception {
+		try(StubUpstreamServer stub = StubUpstreamServer.start()) {
+			MutableClock clock = new MutableClock(LocalDateTime.parse("2026-02-02T09:00"));
+			KmaProperties props = new KmaProperties();
+			props.setBaseUrl(stub.baseUrl());
+			props.setServiceKey("test");
+
+			SimpleMeterRegistry registry = new SimpleMeterRegistry();
+			KmaPublicationLagTracker tracker = new KmaPublicationLagTracker(props, clock, registry);
+			KmaClient kmaClient = new KmaClient(props, new KmaLastKnownStore(props), tracker, null,
+					new UpstreamHttpClients(registry, clock), new UpstreamMetrics(registry));
+
+			// 09시 ~ 12시, 1분마다 요청 1건(정각 + 20분에 반영)
+			int[] wasted = new int[4];
+			for(int h = 0; h < 4; h++) {
+				LocalDateTime hour = LocalDateTime.parse("2026-02-02T09:00").plusHours(h);
+				for(int m = 0; m < 60; m++) {
+					LocalDateTime now = hour.plusMinutes(m);
+					clock.set(now);
+					stub.setLatestPublished(m >= ACTUAL_LAG_MIN ? hour : hour.minusHours(1));
+
+					KmaTime.BaseDt base = tracker.ncstBase(now);
+					if(!KmaClient.isValid(kmaClient.requestUltraSrtNcst(base.baseDate(), base.baseTime(), SEOUL).block())) wasted[h]++;
+
+					// 학습 후 : 반영되자마자 새 발표 시각으로 전환
+					if(h == 3 && m >= ACTUAL_LAG_MIN) assertThat(base).isEqualTo(KmaTime.latestUltraSrtNcstBase(now));
+				}
+			}
+
+			// 학습 전(설정값 10분)  →  반영 전 요청(확인 요청 + 10 ~ 19분 1차 시도)이 매시간 20건
+			assertThat(wasted[0]).isEqualTo(ACTUAL_LAG_MIN);
+			// 표본 3개(minSamples) 이후  →  반영 직전 확인 요청 1건뿐
+			assertThat(wasted[3]).isLessThanOrEqualTo(1);
+
+			assertThat(tracker.ncstLag()).isEqualTo(Duration.ofMinutes(ACTUAL_LAG_MIN));
+			assertThat(registry.get("kma.publication.lag").tag("product", "getUltraSrtNcst").gauge().value())
+					.isEqualTo(ACTUAL_LAG_MIN * 60.0);
+		}
+	}
+}
\ No newline at end of file
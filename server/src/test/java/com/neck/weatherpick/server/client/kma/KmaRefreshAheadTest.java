@@ -0,0 +1,117 @@
+package com.neck.weatherpick.server.client.kma;
+
+import com.neck.weatherpick.server.client.http.UpstreamHttpClients;
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import com.neck.weatherpick.server.config.CacheConfig;
+import com.neck.weatherpick.server.metrics.UpstreamMetrics;
+import com.neck.weatherpick.server.support.MutableClock;
+import com.neck.weatherpick.server.support.StubUpstreamServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.neck.weatherpick.server.support.StubUpstreamServer.FCST;
+import static com.neck.weatherpick.server.support.StubUpstreamServer.NCST;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KmaRefreshAheadTest {
+	private static final KmaGridPoint SEOUL = new KmaGridPoint(60, 127);
+	private static final KmaGridPoint BUSAN = new KmaGridPoint(98, 76);
+	private static final KmaGridPoint JEJU = new KmaGridPoint(52, 38);
+
+	@Test
+	void prefetchesTopCellsOncePerPublication() throws Exception {
+		try(StubUpstreamServer stub = StubUpstreamServer.start()) {
+			MutableClock clock = new MutableClock(LocalDateTime.parse("2026-02-02T12:11"));
+
+			KmaProperties props = new KmaProperties();
+			props.setBaseUrl(stub.baseUrl());
+			props.setServiceKey("test");
+			props.getPrefetch().setTopN(2);
+
+			KmaGridPopularity popularity = new KmaGridPopularity();
+			record(popularity, SEOUL, 10);
+			record(popularity, BUSAN, 5);
+			record(popularity, JEJU, 1);
+
+			SimpleCacheManager cacheManager = (SimpleCacheManager)new CacheConfig().cacheManager(clock, props, Optional.empty());
+			cacheManager.afterPropertiesSet();
+			KmaPublicationLagTracker lagTracker = new KmaPublicationLagTracker(props, clock, new SimpleMeterRegistry());
+			KmaClient kmaClient = new KmaClient(props, new KmaLastKnownStore(props), lagTracker, cacheManager,
+					new UpstreamHttpClients(new SimpleMeterRegistry(), clock), new UpstreamMetrics(new SimpleMeterRegistry()));
+			KmaRefreshAhead refreshAhead = new KmaRefreshAhead(kmaClient, props, lagTracker, popularity, clock, cacheManager);
+
+			// 12:11  →  12:00 실황 / 11:30 예보를 상위 2개 격자에 대해서만 미리 조회
+			refreshAhead.refresh();
+			assertThat(stub.queries(NCST)).extracting(KmaRefreshAheadTest::baseAndGrid)
+					.containsExactlyInAnyOrder("1200@60,127", "1200@98,76");
+			assertThat(stub.queries(FCST)).extracting(KmaRefreshAheadTest::baseAndGrid)
+					.containsExactlyInAnyOrder("1130@60,127", "1130@98,76");
+			CaffeineCache ncstCache = (CaffeineCache)cacheManager.getCache("kmaNcst");
+			assertThat(ncstCache.getAsyncCache().getIfPresent("20260202:1200:60:127")).isNotNull();
+
+			// 같은 발표분은 다시 조회하지 않음
+			clock.advance(Duration.ofMinutes(1));
+			refreshAhead.refresh();
+			assertThat(stub.calls(NCST)).isEqualTo(2);
+			assertThat(stub.calls(FCST)).isEqualTo(2);
+
+			// 13:00 발표분이 반영될 시각(13:10) 이후
+			clock.set(LocalDateTime.parse("2026-02-02T13:11"));
+			refreshAhead.refresh();
+			assertThat(stub.calls(NCST)).isEqualTo(4);
+			assertThat(stub.queries(NCST).subList(2, 4)).extracting(KmaRefreshAheadTest::baseAndGrid)
+					.containsExactlyInAnyOrder("1300@60,127", "1300@98,76");
+		}
+	}
+
+	@Test
+	void givesUpAfterTimeoutAndRetriesOnTheNextRun() throws Exception {
+		try(StubUpstreamServer stub = StubUpstreamServer.start()) {
+			MutableClock clock = new MutableClock(LocalDateTime.parse("2026-02-02T12:11"));
+
+			KmaProperties props = new KmaProperties();
+			props.setBaseUrl(stub.baseUrl());
+			props.setServiceKey("test");
+			props.getPrefetch().setTopN(1);
+			props.getPrefetch().setTimeout(Duration.ofMillis(300));
+
+			KmaGridPopularity popularity = new KmaGridPopularity();
+			record(popularity, SEOUL, 1);
+
+			SimpleCacheManager cacheManager = (SimpleCacheManager)new CacheConfig().cacheManager(clock, props, Optional.empty());
+			cacheManager.afterPropertiesSet();
+			KmaPublicationLagTracker lagTracker = new KmaPublicationLagTracker(props, clock, new SimpleMeterRegistry());
+			KmaClient kmaClient = new KmaClient(props, new KmaLastKnownStore(props), lagTracker, cacheManager,
+					new UpstreamHttpClients(new SimpleMeterRegistry(), clock), new UpstreamMetrics(new SimpleMeterRegistry()));
+			KmaRefreshAhead refreshAhead = new KmaRefreshAhead(kmaClient, props, lagTracker, popularity, clock, cacheManager);
+
+			// 외부 API가 느려도 prefetch.timeout(실황 + 예보)만큼만 스케줄러 스레드를 사용
+			stub.setDelay(Duration.ofSeconds(2));
+			long start = System.nanoTime();
+			refreshAhead.refresh();
+			assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1500));
+			CaffeineCache ncstCache = (CaffeineCache)cacheManager.getCache("kmaNcst");
+			assertThat(ncstCache.getAsyncCache().getIfPresent("20260202:1200:60:127")).isNull();
+
+			// 불러오지 못한 발표분은 다음 주기에 다시 시도
+			stub.setDelay(Duration.ZERO);
+			refreshAhead.refresh();
+			assertThat(ncstCache.getAsyncCache().getIfPresent("20260202:1200:60:127")).isNotNull();
+		}
+	}
+
+	private static void record(KmaGridPopularity popularity, KmaGridPoint p, int times) {
+		for(int i = 0; i < times; i++) popularity.record(p);
+	}
+
+	private static String baseAndGrid(Map<String, String> q) {
+		return q.get("base_time") + "@" + q.get("nx") + "," + q.get("ny");
+	}
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.neck.weatherpick.server.client.kma.support;
+
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class KmaGridConverterTest {
+	@Test
+	void matchesPreviousImplementationAcrossKorea() {
+		// 위도 33 ~ 39, 경도 124 ~ 132를 0.01도(약 1km) 간격으로 비교  →  48만 개 좌표
+		int mismatches = 0;
+		for(int i = 0; i <= 800; i++) {
+			for(int j = 0; j <= 600; j++) {
+				double lon = 124.0 + i * 0.01, lat = 33.0 + j * 0.01;
+				if(!KmaGridConverter.convert(lon, lat).equals(previousConvert(lon, lat))) mismatches++;
+			}
+		}
+		assertThat(mismatches).isZero();
+	}
+
+	@Test
+	void convertAllMatchesConvert() {
+		double[] lons = {126.9780, 129.0756, 126.5312, 126.7242};
+		double[] lats = {37.5665, 35.1796, 33.4996, 37.4941};
+		int[] nx = new int[lons.length], ny = new int[lons.length];
+
+		KmaGridConverter.convertAll(lons, lats, nx, ny);
+
+		for(int i = 0; i < lons.length; i++) {
+			assertThat(new KmaGridPoint(nx[i], ny[i])).isEqualTo(KmaGridConverter.convert(lons[i], lats[i]));
+		}
+	}
+
+	@Test
+	void inverseReturnsCellCenter() {
+		KmaGridConverter.Coord seoul = KmaGridConverter.toLonLat(new KmaGridPoint(60, 127));
+		assertThat(seoul.lon()).isCloseTo(126.98, within(0.03));
+		assertThat(seoul.lat()).isCloseTo(37.57, within(0.03));
+
+		// 모든 격자의 중심을 다시 변환하면 같은 격자가 나와야 함
+		for(int nx = 1; nx <= KmaGridConverter.MAX_NX; nx++) {
+			for(int ny = 1; ny <= KmaGridConverter.MAX_NY; ny++) {
+				KmaGridPoint p = new KmaGridPoint(nx, ny);
+				KmaGridConverter.Coord c = KmaGridConverter.toLonLat(p);
+				assertThat(KmaGridConverter.convert(c.lon(), c.lat())).isEqualTo(p);
+			}
+		}
+	}
+
+	@Test
+	void tableHoldsCenterInsideBounds() {
+		KmaGridTable table = KmaGridTable.get();
+		KmaGridPoint p = new KmaGridPoint(60, 127);
+		KmaGridConverter.Coord center = KmaGridConverter.toLonLat(p);
+
+		assertThat(table.centerLon(p)).isCloseTo(center.lon(), within(1e-4));
+		assertThat(table.centerLat(p)).isCloseTo(center.lat(), within(1e-4));
+
+		double[] b = table.bounds(p);
+		assertThat(center.lon()).isBetween(b[0], b[2]);
+		assertThat(center.lat()).isBetween(b[1], b[3]);
+		assertThat(b[3] - b[1]).isCloseTo(5.0 / 111, within(0.01)); // 한 칸 ≒ 5km
+	}
+
+	// 상수 항을 매번 다시 계산하던 기존 구현
+	private static KmaGridPoint previousConvert(double lon, double lat) {
+		double DEGRAD = Math.PI / 180.0;
+
+		double re = 6371.00877 / 5.0;
+		double slat1 = 30.0 * DEGRAD;
+		double slat2 = 60.0 * DEGRAD;
+		double olon = 126.0 * DEGRAD;
+		double olat = 38.0 * DEGRAD;
+
+		double sn = Math.tan(Math.PI * 0.25 + slat2 * 0.5) /
+					Math.tan(Math.PI * 0.25 + slat1 * 0.5);
+		sn = Math.log(Math.cos(slat1) / Math.cos(slat2)) / Math.log(sn);
+
+		double sf = Math.tan(Math.PI * 0.25 + slat1 * 0.5);
+		sf = Math.pow(sf, sn) * Math.cos(slat1) / sn;
+
+		double ro = Math.tan(Math.PI * 0.25 + olat * 0.5);
+		ro = re * sf / Math.pow(ro, sn);
+
+		double ra = Math.tan(Math.PI * 0.25 + lat * DEGRAD * 0.5);
+		ra = re * sf / Math.pow(ra, sn);
+
+		double theta = lon * DEGRAD - olon;
+		if(theta > Math.PI) theta -= 2.0 * Math.PI;
+		if(theta < -Math.PI) theta += 2.0 * Math.PI;
+		theta *= sn;
+
+		int x = (int)Math.floor(ra * Math.sin(theta) + 43 + 0.5);
+		int y = (int)Math.floor(ro - ra * Math.cos(theta) + 136 + 0.5);
+
+		return new KmaGridPoint(x, y);
+	}
+}
\ No newline at end of file
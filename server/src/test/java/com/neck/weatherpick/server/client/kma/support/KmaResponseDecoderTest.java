@@ -0,0 +1,88 @@
+package com.neck.weatherpick.server.client.kma.support;
+
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.FcstItem;
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.FcstResponse;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.NcstItem;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.NcstResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KmaResponseDecoderTest {
+	private static final String NCST = """
+			{"response":{"header":{"resultCode":"00","resultMsg":"NORMAL_SERVICE"},
+			"body":{"dataType":"JSON","items":{"item":[
+			{"baseDate":"20260202","baseTime":"1200","category":"T1H","nx":60,"ny":127,"obsrValue":"-8.4"},
+			{"baseDate":"20260202","baseTime":"1200","category":"RN1","nx":60,"ny":127,"obsrValue":"0"},
+			{"baseDate":"20260202","baseTime":"1200","category":"UUU","nx":60,"ny":127,"obsrValue":"1.2"},
+			{"baseDate":"20260202","baseTime":"1200","category":"REH","nx":60,"ny":127,"obsrValue":"44"},
+			{"baseDate":"20260202","baseTime":"1200","category":"PTY","nx":60,"ny":127,"obsrValue":"0"},
+			{"baseDate":"20260202","baseTime":"1200","category":"VEC","nx":60,"ny":127,"obsrValue":"270"},
+			{"baseDate":"20260202","baseTime":"1200","category":"WSD","nx":60,"ny":127,"obsrValue":2.5}
+			]},"pageNo":1,"numOfRows":20,"totalCount":7}}}
+			""";
+
+	private static final String FCST = """
+			{"response":{"header":{"resultCode":"00","resultMsg":"NORMAL_SERVICE"},
+			"body":{"dataType":"JSON","items":{"item":[
+			{"baseDate":"20260202","baseTime":"1130","category":"T1H","fcstDate":"20260202","fcstTime":"1200","fcstValue":"-1","nx":60,"ny":127},
+			{"baseDate":"20260202","baseTime":"1130","category":"SKY","fcstDate":"20260202","fcstTime":"1200","fcstValue":"1","nx":60,"ny":127},
+			{"baseDate":"20260202","baseTime":"1130","category":"SKY","fcstDate":"20260202","fcstTime":"1300","fcstValue":"3","nx":60,"ny":127},
+			{"category":"SKY","fcstValue":"4","fcstDate":"20260203","fcstTime":"0000","baseDate":"20260202","baseTime":"1130"},
+			{"baseDate":"20260202","baseTime":"1130","category":"LGT","fcstDate":"20260202","fcstTime":"1200","fcstValue":"0","nx":60,"ny":127}
+			]},"pageNo":1,"numOfRows":60,"totalCount":5}}}
+			""";
+
+	@Test
+	void keepsOnlyUsedCategoriesWhenSplitIntoSmallChunks() {
+		NcstResponse ncst = KmaResponseDecoder.ncst(chunks(NCST, 7)).block();
+
+		List<NcstItem> items = ncst.response().body().items().item();
+		assertThat(items).extracting(NcstItem::category).containsExactly("T1H", "RN1", "REH", "PTY", "WSD");
+		assertThat(items).extracting(NcstItem::obsrValue).containsExactly("-8.4", "0", "44", "0", "2.5"); // 숫자 값도 문자열로
+		assertThat(items.get(0).baseDate()).isEqualTo("20260202");
+		assertThat(items.get(0).baseTime()).isEqualTo("1200");
+		assertThat(items.get(4).baseDate()).isSameAs(items.get(0).baseDate()); // 발표 일자는 한 번만 생성
+	}
+
+	@Test
+	void fcstKeepsSkyItemsInOrderRegardlessOfFieldOrder() throws Exception {
+		FcstResponse fcst = KmaResponseDecoder.fcst(chunks(FCST, 3)).block();
+
+		List<FcstItem> items = fcst.response().body().items().item();
+		assertThat(items).containsExactly(
+				new FcstItem("SKY", "1", "20260202", "1200", "20260202", "1130"),
+				new FcstItem("SKY", "3", "20260202", "1300", "20260202", "1130"),
+				new FcstItem("SKY", "4", "20260203", "0000", "20260202", "1130")
+		);
+		assertThat(KmaResponseDecoder.fcst(FCST.getBytes(StandardCharsets.UTF_8))).isEqualTo(fcst);
+	}
+
+	@Test
+	void noDataAndEmptyBodyMatchRecordBinding() throws Exception {
+		// 발표 전(NO_DATA) : body 없음  →  KmaClient.isValid에서 걸러짐
+		String noData = "{\"response\":{\"header\":{\"resultCode\":\"03\",\"resultMsg\":\"NO_DATA\"}}}";
+		NcstResponse ncst = KmaResponseDecoder.ncst(noData.getBytes(StandardCharsets.UTF_8));
+		assertThat(ncst.response()).isNotNull();
+		assertThat(ncst.response().body()).isNull();
+
+		assertThat(KmaResponseDecoder.ncst(Flux.empty()).blockOptional()).isEmpty();
+	}
+
+	private static Flux<DataBuffer> chunks(String json, int size) {
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		List<DataBuffer> buffers = new ArrayList<>();
+		for(int i = 0; i < bytes.length; i += size) {
+			buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + size))));
+		}
+		return Flux.fromIterable(buffers);
+	}
+}
\ No newline at end of file
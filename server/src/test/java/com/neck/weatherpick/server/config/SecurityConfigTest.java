@@ -0,0 +1,30 @@
+package com.neck.weatherpick.server.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.header.HeaderWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecurityConfigTest {
+	private final HeaderWriter writer = SecurityConfig.cacheControlExceptWeatherNow();
+
+	@Test
+	void onlyWeatherNowLeavesCacheControlToTheController() {
+		// /api/weather/now  →  컨트롤러가 정한 Cache-Control(WeatherHttpCache)을 그대로
+		assertThat(cacheControl("/api/weather/now")).isNull();
+
+		// 나머지(actuator, 스트리밍 등)  →  기본값(no-store)
+		assertThat(cacheControl("/actuator/metrics")).contains("no-store");
+		assertThat(cacheControl("/api/weather/now/stream")).contains("no-store");
+		assertThat(cacheControl("/api/weather/batch")).contains("no-store");
+	}
+
+	private String cacheControl(String uri) {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		writer.writeHeaders(new MockHttpServletRequest("GET", uri), response);
+		return response.getHeader(HttpHeaders.CACHE_CONTROL);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.neck.weatherpick.server.controller;
+
+import com.neck.weatherpick.server.cache.WeatherHttpCache;
+import com.neck.weatherpick.server.client.kma.KmaProperties;
+import com.neck.weatherpick.server.client.kma.KmaPublicationLagTracker;
+import com.neck.weatherpick.server.dto.WeatherNowResponse;
+import com.neck.weatherpick.server.dto.WeatherRecommendationResponse;
+import com.neck.weatherpick.server.service.*;
+import com.neck.weatherpick.server.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class WeatherControllerTest {
+	@Test
+	void answers304WithoutRecommendingWhenETagMatches() {
+		WeatherService weatherService = mock(WeatherService.class);
+		OutfitRecommendationService recommendationService = mock(OutfitRecommendationService.class);
+		when(recommendationService.recommend(any())).thenReturn(Mono.just("- 옷차림 : 패딩\n- 준비물 : 장갑"));
+
+		MutableClock clock = new MutableClock(LocalDateTime.parse("2026-02-02T12:20"));
+		WeatherHttpCache httpCache = new WeatherHttpCache(new KmaPublicationLagTracker(new KmaProperties(), clock, new SimpleMeterRegistry()),
+				new RecommendationProperties(), new OutfitRules(), clock);
+		WeatherController controller = new WeatherController(weatherService, recommendationService, mock(WeatherBatchService.class),
+				mock(WeatherLiveService.class), httpCache, new SimpleMeterRegistry());
+
+		when(weatherService.getNowByRegion("서울 종로구")).thenReturn(Mono.just(weather("202602021200", "202602021130")));
+		ResponseEntity<WeatherRecommendationResponse> first = controller.now("서울 종로구", null).block();
+		String etag = first.getHeaders().getETag();
+		assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(etag).startsWith("\"");
+		// 가장 이른 변경 : 하늘 상태(12:31)  →  11분
+		assertThat(first.getHeaders().getCacheControl()).isEqualTo("max-age=660, public");
+
+		// 같은 날씨  →  추천 없이 304
+		ResponseEntity<WeatherRecommendationResponse> revalidated = controller.now("서울 종로구", "W/" + etag).block();
+		assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(revalidated.getBody()).isNull();
+		assertThat(revalidated.getHeaders().getETag()).isEqualTo(etag);
+		verify(recommendationService, times(1)).recommend(any());
+
+		// 새 발표분  →  ETag가 바뀌어 다시 200
+		when(weatherService.getNowByRegion("서울 종로구")).thenReturn(Mono.just(weather("202602021300", "202602021230")));
+		ResponseEntity<WeatherRecommendationResponse> updated = controller.now("서울 종로구", etag).block();
+		assertThat(updated.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(updated.getHeaders().getETag()).isNotEqualTo(etag);
+		verify(recommendationService, times(2)).recommend(any());
+	}
+
+	@Test
+	void richModeUsesWeakETagThatStillRevalidates() {
+		WeatherService weatherService = mock(WeatherService.class);
+		OutfitRecommendationService recommendationService = mock(OutfitRecommendationService.class);
+		when(recommendationService.recommend(any())).thenReturn(Mono.just("- 옷차림 : 패딩, 목도리\n- 준비물 : 장갑"));
+
+		MutableClock clock = new MutableClock(LocalDateTime.parse("2026-02-02T12:20"));
+		RecommendationProperties recommendationProps = new RecommendationProperties();
+		recommendationProps.setMode(RecommendationProperties.Mode.RICH);
+		WeatherHttpCache httpCache = new WeatherHttpCache(new KmaPublicationLagTracker(new KmaProperties(), clock, new SimpleMeterRegistry()),
+				recommendationProps, new OutfitRules(), clock);
+		WeatherController controller = new WeatherController(weatherService, recommendationService, mock(WeatherBatchService.class),
+				mock(WeatherLiveService.class), httpCache, new SimpleMeterRegistry());
+
+		// 추천 문장(OpenAI)은 ETag에 포함되지 않으므로  →  약한 검증자
+		when(weatherService.getNowByRegion("서울 종로구")).thenReturn(Mono.just(weather("202602021200", "202602021130")));
+		String etag = controller.now("서울 종로구", null).block().getHeaders().getETag();
+		assertThat(etag).startsWith("W/\"");
+
+		// 약한 비교  →  W/ 유무와 관계없이 304
+		assertThat(controller.now("서울 종로구", etag).block().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(controller.now("서울 종로구", etag.substring(2)).block().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		verify(recommendationService, times(1)).recommend(any());
+	}
+
+	@Test
+	void rulesModeUsesWeakETagForBucketsTheRulesDoNotCover() {
+		WeatherService weatherService = mock(WeatherService.class);
+		OutfitRecommendationService recommendationService = mock(OutfitRecommendationService.class);
+		when(recommendationService.recommend(any())).thenReturn(Mono.just("- 옷차림 : 민소매, 반팔 티셔츠\n- 준비물 : 물, 선크림"));
+
+		MutableClock clock = new MutableClock(LocalDateTime.parse("2026-02-02T12:20"));
+		WeatherHttpCache httpCache = new WeatherHttpCache(new KmaPublicationLagTracker(new KmaProperties(), clock, new SimpleMeterRegistry()),
+				new RecommendationProperties(), new OutfitRules(), clock);
+		WeatherController controller = new WeatherController(weatherService, recommendationService, mock(WeatherBatchService.class),
+				mock(WeatherLiveService.class), httpCache, new SimpleMeterRegistry());
+
+		// 테이블 범위(최고 45도)를 벗어난 기온  →  rules 모드라도 OpenAI가 추천하므로 약한 검증자
+		WeatherNowResponse extreme = new WeatherNowResponse("서울특별시 종로구", null, 47.0, 0, 20, 1.0, "NONE", "CLEAR",
+				"202602021200", "202602021130", false);
+		when(weatherService.getNowByRegion("서울 종로구")).thenReturn(Mono.just(extreme));
+		String etag = controller.now("서울 종로구", null).block().getHeaders().getETag();
+		assertThat(etag).startsWith("W/\"");
+		assertThat(controller.now("서울 종로구", etag).block().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+		// 테이블이 다루는 구간  →  강한 검증자
+		when(weatherService.getNowByRegion("서울 종로구")).thenReturn(Mono.just(weather("202602021200", "202602021130")));
+		assertThat(controller.now("서울 종로구", null).block().getHeaders().getETag()).startsWith("\"");
+	}
+
+	private static WeatherNowResponse weather(String ncstBase, String fcstBase) {
+		return new WeatherNowResponse("서울특별시 종로구", null, -8.4, 0, 44, 2.5, "NONE", "CLEAR", ncstBase, fcstBase, false);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.neck.weatherpick.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.neck.weatherpick.server.cache.CacheKeys;
+import com.neck.weatherpick.server.cache.CoalescingCaffeineCache;
+import com.neck.weatherpick.server.client.ai.OpenAiProperties;
+import com.neck.weatherpick.server.client.ai.OpenAiResponsesClient;
+import com.neck.weatherpick.server.client.http.UpstreamHttpClients;
+import com.neck.weatherpick.server.client.kma.KmaProperties;
+import com.neck.weatherpick.server.config.CacheConfig;
+import com.neck.weatherpick.server.dto.WeatherNowResponse;
+import com.neck.weatherpick.server.metrics.UpstreamMetrics;
+import com.neck.weatherpick.server.support.StubUpstreamServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static com.neck.weatherpick.server.support.StubUpstreamServer.RESPONSES;
+import static com.neck.weatherpick.server.support.StubUpstreamServer.RESPONSE_DELTAS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OpenAiOutfitRecommenderTest {
+	private static final long CHUNK_DELAY_MS = 300;
+
+	private final WeatherNowResponse weather = new WeatherNowResponse("서울특별시 종로구", null, -8.4, 0, 44, 2.5, "NONE", "CLEAR",
+			"202602021200", "202602021130", false);
+
+	@Test
+	void streamsDeltasAsTheyArriveAndCachesTheCompletedText() throws Exception {
+		try(StubUpstreamServer stub = StubUpstreamServer.start()) {
+			stub.setStreamChunkDelay(Duration.ofMillis(CHUNK_DELAY_MS));
+
+			SimpleCacheManager cacheManager = cacheManager();
+			OpenAiOutfitRecommender service = new OpenAiOutfitRecommender(client(stub, new SimpleMeterRegistry()), cacheManager);
+
+			// 조각이 도착한 시각(ms)
+			List<String> deltas = new CopyOnWriteArrayList<>();
+			List<Long> arrivals = new CopyOnWriteArrayList<>();
+			long start = System.nanoTime();
+			service.streamRecommend(weather)
+					.doOnNext(delta -> {
+						deltas.add(delta);
+						arrivals.add(Duration.ofNanos(System.nanoTime() - start).toMillis());
+					})
+					.blockLast();
+
+			// 응답 전체를 기다렸다가 한꺼번에 받았다면, 조각들이 거의 동시에 도착했을 것이다.
+			assertThat(deltas).containsExactlyElementsOf(RESPONSE_DELTAS);
+			assertThat(arrivals.get(arrivals.size() - 1) - arrivals.get(0)).isGreaterThanOrEqualTo(CHUNK_DELAY_MS * (RESPONSE_DELTAS.size() - 1) - 50);
+
+			// 완성된 텍스트는 aiReco 캐시에 저장  →  다시 요청하면 외부 API 호출 없이 한 번에
+			String full = String.join("", RESPONSE_DELTAS);
+			CoalescingCaffeineCache aiReco = (CoalescingCaffeineCache)cacheManager.getCache("aiReco");
+			assertThat(aiReco.getAsyncCache().asMap().get(CacheKeys.aiKey(weather)).join()).isEqualTo(full); // asMap : 아래 캐시 통계에 집계되지 않도록
+			assertThat(service.streamRecommend(weather).collectList().block()).containsExactly(full);
+			assertThat(stub.calls(RESPONSES)).isEqualTo(1);
+
+			// 캐시 통계도 recommend(@Cacheable)와 같이 집계  →  미스 1번(호출 1번) + 적중 1번
+			CacheStats stats = aiReco.getAsyncCache().synchronous().stats();
+			assertThat(stats.missCount()).isEqualTo(1);
+			assertThat(stats.hitCount()).isEqualTo(1);
+			assertThat(aiReco.loadCount()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void blankStreamFailsAndIsNotCached() throws Exception {
+		try(StubUpstreamServer stub = StubUpstreamServer.start()) {
+			stub.setStreamDeltas(List.of()); // 조각 없이 response.completed만 옴
+
+			SimpleCacheManager cacheManager = cacheManager();
+			OpenAiOutfitRecommender service = new OpenAiOutfitRecommender(client(stub, new SimpleMeterRegistry()), cacheManager);
+
+			assertThatThrownBy(() -> service.streamRecommend(weather).blockLast()).isInstanceOf(IllegalStateException.class);
+
+			// 빈 추천은 캐시에 남지 않으므로, 다음 요청은 다시 호출해 정상 추천을 받음
+			stub.setStreamDeltas(RESPONSE_DELTAS);
+			assertThat(String.join("", service.streamRecommend(weather).collectList().block())).isEqualTo(String.join("", RESPONSE_DELTAS));
+			assertThat(stub.calls(RESPONSES)).isEqualTo(2);
+		}
+	}
+
+	@Test
+	void firstStreamerCancellingDoesNotFailOthersWaitingForTheSameBucket() throws Exception {
+		try(StubUpstreamServer stub = StubUpstreamServer.start()) {
+			stub.setStreamChunkDelay(Duration.ofMillis(CHUNK_DELAY_MS));
+
+			SimpleMeterRegistry registry = new SimpleMeterRegistry();
+			SimpleCacheManager cacheManager = cacheManager();
+			OpenAiOutfitRecommender service = new OpenAiOutfitRecommender(client(stub, registry), cacheManager);
+
+			// 첫 번째 구독자 : 첫 조각을 받은 뒤 연결을 끊음
+			List<String> firstDeltas = new CopyOnWriteArrayList<>();
+			Disposable first = service.streamRecommend(weather).subscribe(firstDeltas::add);
+			for(int i = 0; i < 40 && firstDeltas.isEmpty(); i++) Thread.sleep(50);
+			assertThat(firstDeltas).isNotEmpty();
+
+			// 두 번째 구독자 : 진행 중인 호출에 합류
+			CompletableFuture<List<String>> second = service.streamRecommend(weather).collectList().toFuture();
+			first.dispose();
+
+			String full = String.join("", RESPONSE_DELTAS);
+			assertThat(second.get(5, TimeUnit.SECONDS)).containsExactly(full);
+
+			// 호출은 끝까지 진행되어 캐시에 저장됨(외부 API 호출 1번)
+			CoalescingCaffeineCache aiReco = (CoalescingCaffeineCache)cacheManager.getCache("aiReco");
+			assertThat(aiReco.getAsyncCache().getIfPresent(CacheKeys.aiKey(weather)).join()).isEqualTo(full);
+			assertThat(stub.calls(RESPONSES)).isEqualTo(1);
+			assertThat(registry.get("upstream.requests").tags("endpoint", "responses-stream", "outcome", "SUCCESS").timer().count()).isEqualTo(1);
+			assertThat(aiReco.loadCount()).isEqualTo(1);
+			assertThat(aiReco.coalescedCount()).isEqualTo(1); // 두 번째 구독자는 진행 중인 호출에 합류
+		}
+	}
+
+	private static OpenAiResponsesClient client(StubUpstreamServer stub, SimpleMeterRegistry registry) {
+		OpenAiProperties props = new OpenAiProperties();
+		props.setBaseUrl(stub.baseUrl());
+		props.setApiKey("test");
+		props.setModel("test");
+		return new OpenAiResponsesClient(props, new ObjectMapper(), WebClient.builder(),
+				new UpstreamHttpClients(new SimpleMeterRegistry(), Clock.system(ZoneId.of("Asia/Seoul"))), new UpstreamMetrics(registry));
+	}
+
+	private static SimpleCacheManager cacheManager() {
+		SimpleCacheManager cacheManager = (SimpleCacheManager)new CacheConfig().cacheManager(Clock.system(ZoneId.of("Asia/Seoul")), new KmaProperties(), Optional.empty());
+		cacheManager.afterPropertiesSet();
+		return cacheManager;
+	}
+}
\ No newline at end of file
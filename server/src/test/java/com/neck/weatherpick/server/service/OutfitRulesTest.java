@@ -0,0 +1,51 @@
+package com.neck.weatherpick.server.service;
+
+import com.neck.weatherpick.server.cache.WeatherBucket;
+import com.neck.weatherpick.server.dto.WeatherNowResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class OutfitRulesTest {
+	private final OutfitRules rules = new OutfitRules();
+
+	@Test
+	void coversTheWholeBucketSpaceWithoutViolations() {
+		Map<String, Integer> counts = new HashMap<>();
+
+		assertThat(OutfitRulesTool.validate(rules, counts)).isEmpty();
+		assertThat(counts).containsKey("(OpenAI)");	// 범위 밖 구간은 OpenAI로
+		assertThat(counts.size()).isGreaterThan(10);
+	}
+
+	@Test
+	void recommendsFromTheTableAndFallsBackToOpenAiOutsideIt() {
+		OpenAiOutfitRecommender openAi = mock(OpenAiOutfitRecommender.class);
+		when(openAi.recommend(any())).thenReturn(Mono.just("- 옷차림 : 방한복\n- 준비물 : 핫팩"));
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		OutfitRecommendationService service = new OutfitRecommendationService(rules, openAi, new RecommendationProperties(), registry);
+
+		WeatherNowResponse cold = weather(-8.4, 0, 2.5, "NONE");
+		assertThat(service.recommend(cold).block()).isEqualTo(rules.recommend(WeatherBucket.of(cold)).orElseThrow());
+		assertThat(service.recommend(weather(12, 3.2, 1, "RAIN")).block()).contains("우산");
+		verifyNoInteractions(openAi);
+
+		// 테이블 범위 밖(극한 기온)  →  OpenAI
+		assertThat(service.recommend(weather(-40, 0, 3, "NONE")).block()).isEqualTo("- 옷차림 : 방한복\n- 준비물 : 핫팩");
+		verify(openAi, times(1)).recommend(any());
+
+		assertThat(registry.get("weather.recommendations").tag("source", "rules").counter().count()).isEqualTo(2);
+		assertThat(registry.get("weather.recommendations").tag("source", "openai").counter().count()).isEqualTo(1);
+	}
+
+	private static WeatherNowResponse weather(double tempC, double rn1, double windSpeedMs, String precipType) {
+		return new WeatherNowResponse("서울특별시 종로구", null, tempC, rn1, 44, windSpeedMs, precipType, "CLEAR",
+				"202602021200", "202602021130", false);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.neck.weatherpick.server.service;
+
+import com.neck.weatherpick.server.client.geo.KakaoLocalClient;
+import com.neck.weatherpick.server.client.geo.RegionGazetteer;
+import com.neck.weatherpick.server.client.kma.KmaClient;
+import com.neck.weatherpick.server.client.kma.KmaGridPopularity;
+import com.neck.weatherpick.server.client.kma.KmaProperties;
+import com.neck.weatherpick.server.client.kma.KmaPublicationLagTracker;
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import com.neck.weatherpick.server.client.kma.support.KmaGridConverter;
+import com.neck.weatherpick.server.dto.WeatherBatchRequest.Location;
+import com.neck.weatherpick.server.dto.WeatherBatchResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.neck.weatherpick.server.support.KmaFixtures.fcst;
+import static com.neck.weatherpick.server.support.KmaFixtures.ncst;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WeatherBatchServiceTest {
+	@Test
+	void fetchesEachDistinctGridOnceAndKeepsRequestOrder() {
+		KmaClient kmaClient = mock(KmaClient.class);
+		KakaoLocalClient kakaoLocalClient = mock(KakaoLocalClient.class);
+		OutfitRecommendationService recommendationService = mock(OutfitRecommendationService.class);
+
+		// 동시에 진행 중인 실황 조회 수의 최댓값을 기록
+		AtomicInteger inFlight = new AtomicInteger(), maxInFlight = new AtomicInteger();
+		when(kmaClient.getUltraSrtNcst(anyString(), anyString(), any())).thenAnswer(inv -> Mono.defer(() -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			return Mono.just(ncst()).delayElement(Duration.ofMillis(50)).doFinally(s -> inFlight.decrementAndGet());
+		}));
+		when(kmaClient.getUltraSrtFcst(anyString(), anyString(), any())).thenReturn(Mono.just(fcst()));
+		when(kakaoLocalClient.keywordToLonLat("없는 장소")).thenReturn(Mono.empty());
+		when(recommendationService.recommend(any())).thenReturn(Mono.just("- 옷차림 : 패딩\n- 준비물 : 장갑"));
+
+		WeatherProperties props = new WeatherProperties();
+		props.getBatch().setConcurrency(2);
+		Clock clock = Clock.system(ZoneId.of("Asia/Seoul"));
+		WeatherService weatherService = new WeatherService(new WeatherSnapshotLoader(kmaClient), kakaoLocalClient, new RegionGazetteer(),
+				new KmaGridPopularity(), new KmaPublicationLagTracker(new KmaProperties(), clock, new SimpleMeterRegistry()), props, clock);
+		WeatherBatchService batchService = new WeatherBatchService(weatherService, recommendationService, props);
+
+		List<Location> locations = List.of(
+				new Location("서울 종로구", null, null),
+				new Location("종로구", null, null),                 // 같은 행정구역
+				new Location(null, 126.7242, 37.4941),              // 인천 부평구
+				new Location("부산 해운대구", null, null),
+				new Location(null, 126.9794, 37.5735),              // 종로구 대표 좌표  →  같은 격자
+				new Location("없는 장소", null, null)
+		);
+		Set<KmaGridPoint> distinctGrids = Set.of(
+				KmaGridConverter.convert(126.9794, 37.5735),
+				KmaGridConverter.convert(126.7242, 37.4941),
+				KmaGridConverter.convert(129.1636, 35.1631)
+		);
+
+		WeatherBatchResponse res = batchService.getNow(locations).block();
+
+		// 외부 API(공공데이터포털) 호출 수 = 서로 다른 격자 수
+		verify(kmaClient, times(distinctGrids.size())).getUltraSrtNcst(anyString(), anyString(), any());
+		verify(kmaClient, times(distinctGrids.size())).getUltraSrtFcst(anyString(), anyString(), any());
+		assertThat(res.gridCount()).isEqualTo(distinctGrids.size());
+		assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+
+		// 모든 위치의 날씨가 같으므로(같은 aiKey 구간), 추천은 한 번만
+		verify(recommendationService, times(1)).recommend(any());
+		assertThat(res.recommendationCount()).isEqualTo(1);
+
+		// 요청 순서 그대로
+		assertThat(res.results()).hasSize(locations.size());
+		assertThat(res.results().subList(0, 5)).extracting(item -> item.weather().resolvedAddress())
+				.containsExactly("서울특별시 종로구", "서울특별시 종로구", "인천광역시 부평구", "부산광역시 해운대구", "서울특별시 종로구");
+		assertThat(res.results().get(0).message()).startsWith("- 옷차림");
+		assertThat(res.results().get(5).weather()).isNull();
+		assertThat(res.results().get(5).error()).isEqualTo("위치를 찾을 수 없습니다.");
+
+		// 행정구역 이름, 지명 사전 근처의 좌표는 카카오맵 API를 호출하지 않음
+		verify(kakaoLocalClient).keywordToLonLat("없는 장소");
+		verifyNoMoreInteractions(kakaoLocalClient);
+	}
+
+	@Test
+	void rejectsLocationWithPartialCoordinate() {
+		KmaClient kmaClient = mock(KmaClient.class);
+		KakaoLocalClient kakaoLocalClient = mock(KakaoLocalClient.class);
+		WeatherProperties props = new WeatherProperties();
+		Clock clock = Clock.system(ZoneId.of("Asia/Seoul"));
+		WeatherService weatherService = new WeatherService(new WeatherSnapshotLoader(kmaClient), kakaoLocalClient, new RegionGazetteer(),
+				new KmaGridPopularity(), new KmaPublicationLagTracker(new KmaProperties(), clock, new SimpleMeterRegistry()), props, clock);
+		WeatherBatchService batchService = new WeatherBatchService(weatherService, mock(OutfitRecommendationService.class), props);
+
+		// region + lon(lat 없음)  →  조회 도중 NPE(배치 전체 실패)가 아니라, 조회 전에 400
+		List<Location> locations = List.of(
+				new Location("서울 종로구", null, null),
+				new Location("부산 해운대구", 129.1636, null)
+		);
+
+		assertThatThrownBy(() -> batchService.getNow(locations).block())
+				.isInstanceOfSatisfying(ResponseStatusException.class, e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+		verifyNoInteractions(kmaClient, kakaoLocalClient);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.neck.weatherpick.server.service;
+
+import com.neck.weatherpick.server.client.geo.KakaoLocalClient;
+import com.neck.weatherpick.server.client.geo.RegionGazetteer;
+import com.neck.weatherpick.server.client.kma.KmaClient;
+import com.neck.weatherpick.server.client.kma.KmaGridPopularity;
+import com.neck.weatherpick.server.client.kma.KmaProperties;
+import com.neck.weatherpick.server.client.kma.KmaPublicationLagTracker;
+import com.neck.weatherpick.server.dto.WeatherRecommendationResponse;
+import com.neck.weatherpick.server.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.neck.weatherpick.server.support.KmaFixtures.fcst;
+import static com.neck.weatherpick.server.support.KmaFixtures.ncst;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WeatherLiveServiceTest {
+	@Test
+	void sharesOneFeedPerGridAndPushesOnlyWhenBaseTimeAdvances() throws Exception {
+		KmaClient kmaClient = mock(KmaClient.class);
+		KakaoLocalClient kakaoLocalClient = mock(KakaoLocalClient.class);
+		OutfitRecommendationService recommendationService = mock(OutfitRecommendationService.class);
+
+		when(kmaClient.getUltraSrtNcst(anyString(), anyString(), any())).thenReturn(Mono.just(ncst()));
+		when(kmaClient.getUltraSrtFcst(anyString(), anyString(), any())).thenReturn(Mono.just(fcst(LocalDateTime.parse("2026-02-02T12:00"))));
+		when(recommendationService.recommend(any())).thenReturn(Mono.just("- 옷차림 : 패딩\n- 준비물 : 장갑"));
+
+		MutableClock clock = new MutableClock(LocalDateTime.parse("2026-02-02T12:11"));
+		WeatherProperties props = new WeatherProperties();
+		WeatherService weatherService = new WeatherService(new WeatherSnapshotLoader(kmaClient), kakaoLocalClient, new RegionGazetteer(),
+				new KmaGridPopularity(), new KmaPublicationLagTracker(new KmaProperties(), clock, new SimpleMeterRegistry()), props, clock);
+		WeatherLiveService liveService = new WeatherLiveService(weatherService, recommendationService, props, new SimpleMeterRegistry());
+
+		// 같은 격자를 지역 이름, 위ㆍ경도로 각각 구독
+		List<WeatherRecommendationResponse> byRegion = new CopyOnWriteArrayList<>();
+		List<WeatherRecommendationResponse> byCoord = new CopyOnWriteArrayList<>();
+		Disposable a = liveService.subscribeByRegion("서울 종로구").subscribe(byRegion::add);
+		Disposable b = liveService.subscribeByCoord(126.9794, 37.5735).subscribe(byCoord::add);
+
+		waitUntilSize(byRegion, 1);
+		waitUntilSize(byCoord, 1);
+		assertThat(liveService.gridCount()).isEqualTo(1);
+		assertThat(liveService.subscriberCount()).isEqualTo(2);
+		verify(kmaClient, times(1)).getUltraSrtNcst(anyString(), anyString(), any());
+		verify(recommendationService, times(1)).recommend(any());
+		assertThat(byRegion.get(0).weather().resolvedAddress()).isEqualTo("서울특별시 종로구");
+		assertThat(byRegion.get(0).weather().ncstBase()).isEqualTo("202602021200");
+
+		// 같은 발표 시각  →  보내지 않음
+		clock.set(LocalDateTime.parse("2026-02-02T12:25"));
+		liveService.refreshAll();
+		Thread.sleep(100);
+		assertThat(byRegion).hasSize(1);
+		assertThat(byCoord).hasSize(1);
+
+		// 새 발표 시각(13:00)  →  두 구독자 모두에게 한 번씩
+		clock.set(LocalDateTime.parse("2026-02-02T13:11"));
+		liveService.refreshAll();
+		waitUntilSize(byRegion, 2);
+		waitUntilSize(byCoord, 2);
+		assertThat(byCoord.get(1).weather().ncstBase()).isEqualTo("202602021300");
+		verify(recommendationService, times(2)).recommend(any());
+
+		// 마지막 구독자가 나가면 피드 제거
+		a.dispose();
+		assertThat(liveService.gridCount()).isEqualTo(1);
+		b.dispose();
+		assertThat(liveService.gridCount()).isZero();
+		assertThat(liveService.subscriberCount()).isZero();
+		verifyNoInteractions(kakaoLocalClient);
+	}
+
+	@Test
+	void blockedClientIsCutOffWithoutDelayingOtherSubscribers() throws Exception {
+		WeatherProperties props = new WeatherProperties();
+		props.getLive().setHeartbeat(Duration.ofMillis(20));
+		props.getLive().setWriteThreads(2);
+		props.getLive().setWriteTimeout(Duration.ofMillis(300));
+		WeatherLiveService liveService = new WeatherLiveService(mock(WeatherService.class), mock(OutfitRecommendationService.class), props, new SimpleMeterRegistry());
+
+		// 첫 신호를 보내다가 멈춘 클라이언트(응답이 막힌 SseEmitter.send)
+		CountDownLatch stalled = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Throwable> cutOff = new CompletableFuture<>();
+		Disposable blocked = liveService.deliver(liveService.heartbeats(), tick -> {
+			stalled.countDown();
+			try {
+				release.await();
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}).subscribe(null, cutOff::complete);
+
+		// 나머지 구독자들 : 보내기 전용 스레드 2개를 함께 사용
+		int subscribers = 200;
+		List<AtomicInteger> ticks = new ArrayList<>();
+		List<Disposable> others = new ArrayList<>();
+		for(int i = 0; i < subscribers; i++) {
+			AtomicInteger count = new AtomicInteger();
+			ticks.add(count);
+			others.add(liveService.deliver(liveService.heartbeats(), tick -> count.incrementAndGet()).subscribe());
+		}
+
+		assertThat(stalled.await(1, TimeUnit.SECONDS)).isTrue();
+		for(int i = 0; i < 40 && ticks.stream().anyMatch(c -> c.get() < 5); i++) Thread.sleep(50);
+		assertThat(ticks).allSatisfy(c -> assertThat(c.get()).isGreaterThanOrEqualTo(5)); // 멈춘 클라이언트와 관계없이 모두 계속 받음
+
+		// 보내기가 write-timeout을 넘은 구독자는 끊김
+		assertThat(cutOff.get(2, TimeUnit.SECONDS)).isInstanceOf(TimeoutException.class);
+
+		release.countDown();
+		blocked.dispose();
+		others.forEach(Disposable::dispose);
+		liveService.shutdown();
+	}
+
+	private static void waitUntilSize(List<?> list, int size) throws InterruptedException {
+		for(int i = 0; i < 40 && list.size() < size; i++) Thread.sleep(50);
+		assertThat(list).hasSize(size);
+	}
+}
\ No newline at end of file
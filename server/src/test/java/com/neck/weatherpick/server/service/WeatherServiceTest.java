@@ -0,0 +1,119 @@
+package com.neck.weatherpick.server.service;
+
+import com.neck.weatherpick.server.client.geo.KakaoLocalClient;
+import com.neck.weatherpick.server.client.geo.RegionGazetteer;
+import com.neck.weatherpick.server.client.kma.KmaClient;
+import com.neck.weatherpick.server.client.kma.KmaGridPopularity;
+import com.neck.weatherpick.server.client.kma.KmaProperties;
+import com.neck.weatherpick.server.client.kma.KmaPublicationLagTracker;
+import com.neck.weatherpick.server.client.kma.dto.request.KmaGridPoint;
+import com.neck.weatherpick.server.dto.WeatherNowResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+
+import static com.neck.weatherpick.server.support.KmaFixtures.fcst;
+import static com.neck.weatherpick.server.support.KmaFixtures.ncst;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WeatherServiceTest {
+	private static final long DELAY_MS = 300;
+	private static final Clock KST = Clock.system(ZoneId.of("Asia/Seoul"));
+
+	@Test
+	void getNowByCoord_callsUpstreamsConcurrently() {
+		KmaClient kmaClient = mock(KmaClient.class);
+		KakaoLocalClient kakaoLocalClient = mock(KakaoLocalClient.class);
+
+		when(kmaClient.getUltraSrtNcst(anyString(), anyString(), any())).thenReturn(delayed(ncst()));
+		when(kmaClient.getUltraSrtFcst(anyString(), anyString(), any())).thenReturn(delayed(fcst()));
+		when(kakaoLocalClient.coordToAddress(anyDouble(), anyDouble())).thenReturn(delayed("인천 부평구 부평동"));
+
+		// 지명 사전의 가장 가까운 시/군/구를 사용하지 않음  →  항상 카카오맵 API로 주소 조회(기상청 2개 + 카카오맵 1개)
+		WeatherProperties props = new WeatherProperties();
+		props.getReverseGeocoding().setMaxDistanceKm(0);
+
+		WeatherService weatherService = new WeatherService(new WeatherSnapshotLoader(kmaClient), kakaoLocalClient, new RegionGazetteer(),
+				new KmaGridPopularity(), lagTracker(KST), props, KST);
+
+		long start = System.nanoTime();
+		WeatherNowResponse res = weatherService.getNowByCoord(126.7242, 37.4941).block();
+		long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+		// 3개의 호출이 차례대로 실행됐다면 최소 900ms가 걸렸을 것이다.
+		assertThat(elapsedMs).isLessThan(DELAY_MS * 2);
+		assertThat(res.resolvedAddress()).isEqualTo("인천 부평구 부평동");
+		assertThat(res.tempC()).isEqualTo(-8.4);
+		assertThat(res.precipType()).isEqualTo("NONE");
+		assertThat(res.skyType()).isEqualTo("CLEAR");
+	}
+
+	@Test
+	void getNowByCoord_fallsBackToKakaoWhenNoDistrictIsNear() {
+		KmaClient kmaClient = mock(KmaClient.class);
+		KakaoLocalClient kakaoLocalClient = mock(KakaoLocalClient.class);
+
+		when(kmaClient.getUltraSrtNcst(anyString(), anyString(), any())).thenReturn(Mono.just(ncst()));
+		when(kmaClient.getUltraSrtFcst(anyString(), anyString(), any())).thenReturn(Mono.just(fcst()));
+		when(kakaoLocalClient.coordToAddress(anyDouble(), anyDouble())).thenReturn(Mono.just("충청남도 태안군 근흥면"));
+
+		WeatherService weatherService = new WeatherService(new WeatherSnapshotLoader(kmaClient), kakaoLocalClient, new RegionGazetteer(),
+				new KmaGridPopularity(), lagTracker(KST), new WeatherProperties(), KST);
+
+		// 지명 사전에서 찾지 못하는 좌표(서해 먼바다)  →  카카오맵 API로 주소 조회
+		WeatherNowResponse res = weatherService.getNowByCoord(124.5, 36.0).block();
+
+		assertThat(res.resolvedAddress()).isEqualTo("충청남도 태안군 근흥면");
+		verify(kakaoLocalClient).coordToAddress(124.5, 36.0);
+	}
+
+	@Test
+	void getNowByCoord_resolvesAddressFromLocalIndexWithoutKakao() {
+		KmaClient kmaClient = mock(KmaClient.class);
+		KakaoLocalClient kakaoLocalClient = mock(KakaoLocalClient.class);
+
+		when(kmaClient.getUltraSrtNcst(anyString(), anyString(), any())).thenReturn(Mono.just(ncst()));
+		when(kmaClient.getUltraSrtFcst(anyString(), anyString(), any())).thenReturn(Mono.just(fcst()));
+
+		WeatherService weatherService = new WeatherService(new WeatherSnapshotLoader(kmaClient), kakaoLocalClient, new RegionGazetteer(),
+				new KmaGridPopularity(), lagTracker(KST), new WeatherProperties(), KST);
+
+		WeatherNowResponse res = weatherService.getNowByCoord(126.7242, 37.4941).block();
+
+		assertThat(res.resolvedAddress()).isEqualTo("인천광역시 부평구");
+		verifyNoInteractions(kakaoLocalClient);
+	}
+
+	@Test
+	void getNowByRegion_resolvesAdministrativeRegionWithoutKakao() {
+		KmaClient kmaClient = mock(KmaClient.class);
+		KakaoLocalClient kakaoLocalClient = mock(KakaoLocalClient.class);
+
+		when(kmaClient.getUltraSrtNcst(anyString(), anyString(), any())).thenReturn(Mono.just(ncst()));
+		when(kmaClient.getUltraSrtFcst(anyString(), anyString(), any())).thenReturn(Mono.just(fcst()));
+
+		WeatherService weatherService = new WeatherService(new WeatherSnapshotLoader(kmaClient), kakaoLocalClient, new RegionGazetteer(),
+				new KmaGridPopularity(), lagTracker(KST), new WeatherProperties(), KST);
+
+		WeatherNowResponse res = weatherService.getNowByRegion("서울 종로구").block();
+
+		assertThat(res.resolvedAddress()).isEqualTo("서울특별시 종로구");
+		verify(kmaClient).getUltraSrtNcst(anyString(), anyString(), eq(new KmaGridPoint(60, 127)));
+		verifyNoInteractions(kakaoLocalClient);
+	}
+
+	// 학습 전 : 설정값(kma.ncst-publication-lag 등) 기준으로 발표 시각을 고름
+	private static KmaPublicationLagTracker lagTracker(Clock clock) {
+		return new KmaPublicationLagTracker(new KmaProperties(), clock, new SimpleMeterRegistry());
+	}
+
+	private static <T> Mono<T> delayed(T value) {
+		return Mono.just(value).delayElement(Duration.ofMillis(DELAY_MS));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.neck.weatherpick.server.service;
+
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.*;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.*;
+import com.neck.weatherpick.server.client.kma.support.KmaTime;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeatherSnapshotTest {
+	private static final KmaTime.BaseDt NCST_BASE = new KmaTime.BaseDt("20260202", "1200");
+	private static final KmaTime.BaseDt FCST_BASE = new KmaTime.BaseDt("20260202", "1130");
+
+	@Test
+	void parsesOnceIntoPrimitiveFields() {
+		WeatherSnapshot s = WeatherSnapshot.of(NCST_BASE, ncst("1200"), FCST_BASE, fcst());
+
+		assertThat(s.t1h()).isEqualTo(-8.4);
+		assertThat(s.rn1()).isEqualTo(0.5);
+		assertThat(s.reh()).isEqualTo(44);
+		assertThat(s.wsd()).isEqualTo(2.5);
+		assertThat(s.pty()).isEqualTo(1);
+		assertThat(s.sky()).containsExactly(1, 1, 3, 4);
+		assertThat(s.ncstBase()).isEqualTo("202602021200");
+		assertThat(s.stale()).isFalse();
+	}
+
+	@Test
+	void skyAtPicksNearestForecastHour() {
+		WeatherSnapshot s = WeatherSnapshot.of(NCST_BASE, ncst("1200"), FCST_BASE, fcst());
+
+		assertThat(s.skyAt(LocalDateTime.parse("2026-02-02T11:00"))).isEqualTo(1); // 첫 예보 이전
+		assertThat(s.skyAt(LocalDateTime.parse("2026-02-02T13:30"))).isEqualTo(1); // 13:00과 14:00의 중간  →  이른 쪽
+		assertThat(s.skyAt(LocalDateTime.parse("2026-02-02T13:31"))).isEqualTo(3);
+		assertThat(s.skyAt(LocalDateTime.parse("2026-02-02T18:00"))).isEqualTo(4); // 마지막 예보 이후
+	}
+
+	@Test
+	void marksStaleWhenDataBaseDiffersFromRequestedBase() {
+		WeatherSnapshot s = WeatherSnapshot.of(NCST_BASE, ncst("1100"), FCST_BASE, fcst());
+
+		assertThat(s.ncstBase()).isEqualTo("202602021100");
+		assertThat(s.stale()).isTrue();
+	}
+
+	private static NcstResponse ncst(String baseTime) {
+		List<NcstItem> items = List.of(
+				new NcstItem("T1H", "-8.4", "20260202", baseTime),
+				new NcstItem("RN1", "0.5", "20260202", baseTime),
+				new NcstItem("REH", "44", "20260202", baseTime),
+				new NcstItem("WSD", "2.5", "20260202", baseTime),
+				new NcstItem("PTY", "1", "20260202", baseTime)
+		);
+		return new NcstResponse(new NcstInnerResponse(new NcstBody(new NcstItems(items))));
+	}
+
+	// 12:00 ~ 15:00 예보(SKY 외 항목은 무시)
+	private static FcstResponse fcst() {
+		List<FcstItem> items = List.of(
+				new FcstItem("T1H", "-1", "20260202", "1200", "20260202", "1130"),
+				new FcstItem("SKY", "1", "20260202", "1200", "20260202", "1130"),
+				new FcstItem("SKY", "1", "20260202", "1300", "20260202", "1130"),
+				new FcstItem("SKY", "3", "20260202", "1400", "20260202", "1130"),
+				new FcstItem("SKY", "4", "20260202", "1500", "20260202", "1130")
+		);
+		return new FcstResponse(new FcstInnerResponse(new FcstBody(new FcstItems(items))));
+	}
+}
\ No newline at end of file
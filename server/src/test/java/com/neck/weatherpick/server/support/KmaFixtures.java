@@ -0,0 +1,45 @@
+package com.neck.weatherpick.server.support;
+
+import com.neck.weatherpick.server.client.kma.dto.response.fcst.*;
+import com.neck.weatherpick.server.client.kma.dto.response.ncst.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * 테스트용 기상청 응답(영하 8.4도, 강수 없음, 맑음)
+ */
+public final class KmaFixtures {
+	private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("yyyyMMdd");
+	private static final DateTimeFormatter TIME_FMT = DateTimeFormatter.ofPattern("HHmm");
+
+	private KmaFixtures() {}
+
+	public static NcstResponse ncst() {
+		List<NcstItem> items = List.of(
+				new NcstItem("T1H", "-8.4", null, null),
+				new NcstItem("RN1", "0", null, null),
+				new NcstItem("REH", "44", null, null),
+				new NcstItem("WSD", "2.5", null, null),
+				new NcstItem("PTY", "0", null, null)
+		);
+		return new NcstResponse(new NcstInnerResponse(new NcstBody(new NcstItems(items))));
+	}
+
+	/**
+	 * 현재 시각(KST)의 정시 예보
+	 */
+	public static FcstResponse fcst() {
+		return fcst(LocalDateTime.now(ZoneId.of("Asia/Seoul")).withMinute(0));
+	}
+
+	/**
+	 * @param hour 예보 시각(맑음)
+	 */
+	public static FcstResponse fcst(LocalDateTime hour) {
+		List<FcstItem> items = List.of(new FcstItem("SKY", "1", hour.format(DATE_FMT), hour.format(TIME_FMT), null, null));
+		return new FcstResponse(new FcstInnerResponse(new FcstBody(new FcstItems(items))));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.neck.weatherpick.server.support;
+
+import java.time.*;
+
+/**
+ * 테스트에서 시각을 원하는 대로 옮길 수 있는 가짜 시계(한국 표준시)
+ */
+public class MutableClock extends Clock {
+	private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+	private volatile Instant now;
+
+	public MutableClock(LocalDateTime nowKst) {
+		set(nowKst);
+	}
+
+	public void set(LocalDateTime nowKst) {
+		this.now = nowKst.atZone(KST).toInstant();
+	}
+
+	public void advance(Duration duration) {
+		this.now = now.plus(duration);
+	}
+
+	@Override
+	public ZoneId getZone() {
+		return KST;
+	}
+
+	@Override
+	public Clock withZone(ZoneId zone) {
+		return Clock.fixed(now, zone);
+	}
+
+	@Override
+	public Instant instant() {
+		return now;
+	}
+}
\ No newline at end of file
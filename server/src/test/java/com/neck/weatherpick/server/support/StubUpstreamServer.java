@@ -0,0 +1,315 @@
+package com.neck.weatherpick.server.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * <h5>공공데이터포털 / 카카오맵 / OpenAI를 흉내 내는 테스트용 HTTP 서버</h5>
+ * 실제 API를 호출하지 않고도, 외부 API가 느리거나 실패하는 상황을 재현할 수 있다.
+ * <ul>
+ *     <li>지연 시간 : 모든 API 고정(setDelay) 또는 API별 분포(setLatency, 로그 정규 분포)</li>
+ *     <li>오류 : API별 실패 비율(setErrorRate)  →  500 응답</li>
+ *     <li>발표 전 : 지정한 시각 이후(setLatestPublished) 또는 발표 지연이 지나기 전(setPublicationLag)의 발표 시각은 NO_DATA</li>
+ * </ul>
+ * 모든 API를 루트 경로에서 제공하므로, kma.base-url / kakao.base-url / openai.base-url을 모두 {@link #baseUrl()}로 지정하면 된다.
+ */
+public class StubUpstreamServer implements AutoCloseable {
+	public static final String NCST = "/getUltraSrtNcst";
+	public static final String FCST = "/getUltraSrtFcst";
+	public static final String KEYWORD = "/v2/local/search/keyword.json";
+	public static final String COORD = "/v2/local/geo/coord2address.json";
+	public static final String RESPONSES = "/responses";
+
+	private static final DateTimeFormatter DT_FMT = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+
+	// 아직 반영되지 않은 발표 시각을 요청했을 때의 응답(body 없음)
+	private static final String NO_DATA = """
+			{"response":{"header":{"resultCode":"03","resultMsg":"NO_DATA"}}}
+			""";
+
+	// 스트리밍 응답 조각(이어 붙이면 responsesJson의 text와 같음)
+	public static final List<String> RESPONSE_DELTAS = List.of("- 옷차림 : ", "패딩, 히트텍", "\n- 준비물 : 장갑");
+
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+	private final Map<String, List<Map<String, String>>> queries = new ConcurrentHashMap<>();
+	private final Map<String, AtomicInteger> errors = new ConcurrentHashMap<>();
+	private final Map<String, Latency> latencies = new ConcurrentHashMap<>();
+	private final Map<String, Double> errorRates = new ConcurrentHashMap<>();
+	private volatile Duration delay = Duration.ZERO;
+	private volatile Duration streamChunkDelay = Duration.ZERO;
+	private volatile List<String> streamDeltas = RESPONSE_DELTAS;
+	private volatile LocalDateTime latestPublished = LocalDateTime.MAX;
+	private volatile Duration publicationLag; // null : 발표 지연 없음
+
+	private StubUpstreamServer(HttpServer server) {
+		this.server = server;
+	}
+
+	public static StubUpstreamServer start() throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+		StubUpstreamServer stub = new StubUpstreamServer(server);
+
+		server.createContext(NCST, ex -> stub.handle(ex, NCST, q -> stub.isPublished(q) ? ncstJson(q) : NO_DATA));
+		server.createContext(FCST, ex -> stub.handle(ex, FCST, q -> stub.isPublished(q) ? fcstJson(q) : NO_DATA));
+		server.createContext(KEYWORD, ex -> stub.handle(ex, KEYWORD, q -> keywordJson(q.get("query"))));
+		server.createContext(COORD, ex -> stub.handle(ex, COORD, q -> coordJson()));
+		server.createContext(RESPONSES, ex -> {
+			// 요청 바디에 stream : true가 있으면, 실제 API처럼 Server-Sent Events로 조금씩 응답
+			String request = new String(ex.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+			if(request.contains("\"stream\":true")) stub.stream(ex, RESPONSES, stub.streamDeltas);
+			else stub.handle(ex, RESPONSES, q -> responsesJson());
+		});
+
+		server.setExecutor(stub.executor);
+		server.start();
+		return stub;
+	}
+
+	public String baseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	public void setDelay(Duration delay) {
+		this.delay = delay;
+	}
+
+	// 스트리밍 응답에서 조각 사이의 지연 시간(첫 조각은 바로 보냄)
+	public void setStreamChunkDelay(Duration streamChunkDelay) {
+		this.streamChunkDelay = streamChunkDelay;
+	}
+
+	// 스트리밍 응답으로 보낼 조각(기본 : RESPONSE_DELTAS)
+	public void setStreamDeltas(List<String> streamDeltas) {
+		this.streamDeltas = streamDeltas;
+	}
+
+	/**
+	 * 이 시각보다 늦은 발표 시각(base_date + base_time)을 요청하면, 아직 반영되지 않은 것처럼 NO_DATA로 응답한다.
+	 */
+	public void setLatestPublished(LocalDateTime latestPublished) {
+		this.latestPublished = latestPublished;
+	}
+
+	/**
+	 * 해당 API의 지연 시간 분포(setDelay보다 우선)
+	 */
+	public void setLatency(String path, Latency latency) {
+		latencies.put(path, latency);
+	}
+
+	/**
+	 * 해당 API 요청 중 이 비율(0 ~ 1)만큼을 500으로 응답한다.
+	 */
+	public void setErrorRate(String path, double rate) {
+		errorRates.put(path, rate);
+	}
+
+	/**
+	 * 실제 API처럼, 발표 시각 + 발표 지연이 지나야(현재 시각, KST) 반영된 것으로 응답한다.
+	 */
+	public void setPublicationLag(Duration publicationLag) {
+		this.publicationLag = publicationLag;
+	}
+
+	public int calls(String path) {
+		AtomicInteger count = calls.get(path);
+		return count == null ? 0 : count.get();
+	}
+
+	// 해당 API에서 주입된 오류(500) 수
+	public int errors(String path) {
+		AtomicInteger count = errors.get(path);
+		return count == null ? 0 : count.get();
+	}
+
+	// 해당 API로 들어온 요청들의 쿼리 파라미터(도착 순서)
+	public List<Map<String, String>> queries(String path) {
+		return List.copyOf(queries.getOrDefault(path, List.of()));
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange ex, String path, Function<Map<String, String>, String> body) throws IOException {
+		calls.computeIfAbsent(path, k -> new AtomicInteger()).incrementAndGet();
+		Map<String, String> q = query(ex);
+		queries.computeIfAbsent(path, k -> new CopyOnWriteArrayList<>()).add(q);
+		try {
+			Thread.sleep(delay(path).toMillis());
+			if(injectError(ex, path)) return;
+
+			byte[] bytes = body.apply(q).getBytes(StandardCharsets.UTF_8);
+			ex.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+			ex.sendResponseHeaders(200, bytes.length);
+			try(OutputStream os = ex.getResponseBody()) {
+				os.write(bytes);
+			}
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			ex.close();
+		}
+	}
+
+	private void stream(HttpExchange ex, String path, List<String> deltas) throws IOException {
+		calls.computeIfAbsent(path, k -> new AtomicInteger()).incrementAndGet();
+		queries.computeIfAbsent(path, k -> new CopyOnWriteArrayList<>()).add(query(ex));
+		try {
+			Thread.sleep(delay(path).toMillis());
+			if(injectError(ex, path)) return;
+
+			ex.getResponseHeaders().add("Content-Type", "text/event-stream;charset=UTF-8");
+			ex.sendResponseHeaders(200, 0); // 0 : 길이를 알 수 없음(chunked)
+			try(OutputStream os = ex.getResponseBody()) {
+				writeEvent(os, "response.created", "{\"type\":\"response.created\"}");
+				for(int i = 0; i < deltas.size(); i++) {
+					if(i > 0) Thread.sleep(streamChunkDelay.toMillis());
+					String delta = deltas.get(i).replace("\n", "\\n");
+					writeEvent(os, "response.output_text.delta", "{\"type\":\"response.output_text.delta\",\"delta\":\"" + delta + "\"}");
+				}
+				writeEvent(os, "response.completed", "{\"type\":\"response.completed\"}");
+			}
+		} catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			ex.close();
+		}
+	}
+
+	private Duration delay(String path) {
+		Latency latency = latencies.get(path);
+		return latency != null ? latency.sample() : delay;
+	}
+
+	private boolean injectError(HttpExchange ex, String path) throws IOException {
+		double rate = errorRates.getOrDefault(path, 0.0);
+		if(rate <= 0 || ThreadLocalRandom.current().nextDouble() >= rate) return false;
+
+		errors.computeIfAbsent(path, k -> new AtomicInteger()).incrementAndGet();
+		ex.sendResponseHeaders(500, -1); // -1 : 본문 없음
+		return true;
+	}
+
+	private static void writeEvent(OutputStream os, String event, String data) throws IOException {
+		os.write(("event: " + event + "\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+		os.flush();
+	}
+
+	private boolean isPublished(Map<String, String> q) {
+		LocalDateTime base = LocalDateTime.parse(q.get("base_date") + q.get("base_time"), DT_FMT);
+		Duration lag = publicationLag;
+		if(lag != null && base.plus(lag).isAfter(LocalDateTime.now(ZoneId.of("Asia/Seoul")))) return false;
+		return !base.isAfter(latestPublished);
+	}
+
+	private static Map<String, String> query(HttpExchange ex) {
+		Map<String, String> q = new HashMap<>();
+		String raw = ex.getRequestURI().getRawQuery();
+		if(raw == null) return q;
+
+		for(String pair : raw.split("&")) {
+			int i = pair.indexOf('=');
+			if(i < 0) continue;
+			q.put(URLDecoder.decode(pair.substring(0, i), StandardCharsets.UTF_8),
+					URLDecoder.decode(pair.substring(i + 1), StandardCharsets.UTF_8));
+		}
+		return q;
+	}
+
+	private static String ncstJson(Map<String, String> q) {
+		return """
+				{"response":{"body":{"items":{"item":[
+				{"baseDate":"%1$s","baseTime":"%2$s","category":"T1H","obsrValue":"-8.4"},
+				{"baseDate":"%1$s","baseTime":"%2$s","category":"RN1","obsrValue":"0"},
+				{"baseDate":"%1$s","baseTime":"%2$s","category":"REH","obsrValue":"44"},
+				{"baseDate":"%1$s","baseTime":"%2$s","category":"WSD","obsrValue":"2.5"},
+				{"baseDate":"%1$s","baseTime":"%2$s","category":"PTY","obsrValue":"0"}
+				]}}}}
+				""".formatted(q.get("base_date"), q.get("base_time"));
+	}
+
+	// 초단기 예보는 발표 시각(base_time) 이후 6시간 동안의 예보를 제공한다.
+	private static String fcstJson(Map<String, String> q) {
+		LocalDateTime base = LocalDateTime.parse(q.get("base_date") + q.get("base_time"), DT_FMT);
+
+		StringBuilder items = new StringBuilder();
+		for(int h = 1; h <= 6; h++) {
+			String dt = base.plusHours(h).withMinute(0).format(DT_FMT);
+			if(!items.isEmpty()) items.append(',');
+			items.append("{\"baseDate\":\"").append(q.get("base_date"))
+					.append("\",\"baseTime\":\"").append(q.get("base_time"))
+					.append("\",\"category\":\"SKY\",\"fcstValue\":\"1\",\"fcstDate\":\"")
+					.append(dt, 0, 8)
+					.append("\",\"fcstTime\":\"")
+					.append(dt, 8, 12)
+					.append("\"}");
+		}
+		return "{\"response\":{\"body\":{\"items\":{\"item\":[" + items + "]}}}}";
+	}
+
+	private static String keywordJson(String query) {
+		return """
+				{"documents":[{"address_name":"서울 중구 태평로1가 31","place_name":"%s","x":"126.9780","y":"37.5665"}]}
+				""".formatted(query);
+	}
+
+	private static String coordJson() {
+		return """
+				{"documents":[{"address":{"address_name":"서울 중구 태평로1가 31"}}]}
+				""";
+	}
+
+	private static String responsesJson() {
+		return """
+				{"output":[{"content":[{"type":"output_text","text":"- 옷차림 : 패딩, 히트텍\\n- 준비물 : 장갑"}]}]}
+				""";
+	}
+
+	/**
+	 * 지연 시간 분포(로그 정규 분포) : 외부 API 응답 시간은 대부분 중앙값 근처이고, 드물게 훨씬 느린(오른쪽 꼬리가 긴) 분포를 보인다.
+	 * 중앙값(median)과 99번째 백분위수(p99)로 지정한다.  →  sigma = ln(p99 / median) / 2.326(표준 정규 분포의 99번째 백분위수)
+	 */
+	public record Latency(Duration median, Duration p99) {
+		public static Latency fixed(Duration delay) {
+			return new Latency(delay, delay);
+		}
+
+		// ex) "80,400"  →  중앙값 80ms, p99 400ms / "200"  →  항상 200ms
+		public static Latency parse(String millis) {
+			String[] parts = millis.split(",");
+			Duration median = Duration.ofMillis(Long.parseLong(parts[0].trim()));
+			return parts.length < 2 ? fixed(median) : new Latency(median, Duration.ofMillis(Long.parseLong(parts[1].trim())));
+		}
+
+		Duration sample() {
+			if(median.isZero() || p99.compareTo(median) <= 0) return median;
+			double sigma = Math.log((double)p99.toNanos() / median.toNanos()) / 2.326;
+			return Duration.ofNanos((long)(median.toNanos() * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian())));
+		}
+	}
+}
\ No newline at end of file
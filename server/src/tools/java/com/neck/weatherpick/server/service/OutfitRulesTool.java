@@ -0,0 +1,111 @@
+package com.neck.weatherpick.server.service;
+
+import com.neck.weatherpick.server.cache.WeatherBucket;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * <h5>규칙 테이블 검증(오프라인)</h5>
+ * aiKey 구간 전체(테이블 범위 밖, 알 수 없는 강수 형태/하늘 상태 포함)를 순회하며 규칙 테이블(OutfitRules)을 검증하고,
+ * 추천 문장별 구간 수를 TSV로 저장한다.(위반이 있으면 종료 코드 1)<br>
+ * 빌드 도구(src/tools)이므로 서버 jar에는 포함되지 않는다.<br>
+ * 구간은 약 600만 개지만 추천 문장은 최대 8 × 256개이므로, 구간별이 아닌 문장별로 저장해 리뷰할 수 있는 크기로 유지한다.
+ * <pre>./gradlew outfitRules  →  build/reports/outfit-rules.tsv</pre>
+ */
+public final class OutfitRulesTool {
+	// 테이블 범위보다 조금 넓게(범위 밖 구간은 추천하지 않아야 함)
+	static final int MIN_TEMP = OutfitRules.MIN_TEMP - 5, MAX_TEMP = OutfitRules.MAX_TEMP + 5;
+	static final int MAX_WIND = OutfitRules.MAX_WIND + 5;
+	static final String UNKNOWN = "UNKNOWN";
+
+	private static final Pattern FORMAT = Pattern.compile("- 옷차림 : ([^,\\n]+)(, [^,\\n]+){0,3}\\n- 준비물 : ([^,\\n]+)(, [^,\\n]+){0,3}");
+
+	private OutfitRulesTool() {}
+
+	public static void main(String[] args) throws IOException {
+		Path out = Path.of(args.length > 0 ? args[0] : "build/reports/outfit-rules.tsv");
+		if(out.getParent() != null) Files.createDirectories(out.getParent());
+
+		Map<String, Integer> counts = new HashMap<>();
+		List<String> violations = validate(new OutfitRules(), counts);
+		try(BufferedWriter writer = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+			writer.write("buckets\tmessage\n");
+			for(Map.Entry<String, Integer> e : new TreeMap<>(counts).entrySet()) {
+				writer.write(e.getValue() + "\t" + e.getKey().replace("\n", "\\n") + "\n");
+			}
+		}
+
+		System.out.println("규칙 테이블 : " + out.toAbsolutePath() + " (추천 문장 " + counts.size() + "개)");
+		violations.stream().limit(20).forEach(v -> System.out.println("위반 : " + v));
+		System.out.println("위반 : " + violations.size() + "건");
+		if(!violations.isEmpty()) System.exit(1);
+	}
+
+	/**
+     * 전체 구간을 검증한다.
+     * @param counts 추천 문장별 구간 수를 기록할 대상(범위 밖 구간은 "(OpenAI)")
+     * @return 위반 목록(비어 있으면 통과)
+     */
+	static List<String> validate(OutfitRules rules, Map<String, Integer> counts) {
+		List<String> violations = new ArrayList<>();
+
+		String[] precipTypes = append(OutfitRules.PRECIP_TYPES, UNKNOWN);
+		String[] skyTypes = append(OutfitRules.SKY_TYPES, UNKNOWN);
+		for(int t = MIN_TEMP; t <= MAX_TEMP; t++) {
+			for(int h = 0; h <= 100; h += 5) {
+				for(int ws = 0; ws <= MAX_WIND; ws++) {
+					for(int rn = 0; rn < WeatherBucket.RAIN_BUCKETS; rn++) {
+						for(String pty : precipTypes) {
+							for(String sky : skyTypes) {
+								WeatherBucket b = new WeatherBucket(t, h, ws, rn, pty, sky);
+								Optional<String> message = rules.recommend(b);
+								check(b, message, violations);
+								counts.merge(message.orElse("(OpenAI)"), 1, Integer::sum);
+							}
+						}
+					}
+				}
+			}
+		}
+		return violations;
+	}
+
+	private static void check(WeatherBucket b, Optional<String> message, List<String> violations) {
+		boolean covered = b.tempC() >= OutfitRules.MIN_TEMP && b.tempC() <= OutfitRules.MAX_TEMP && b.windSpeedMs() <= OutfitRules.MAX_WIND
+				&& !UNKNOWN.equals(b.precipType()) && !UNKNOWN.equals(b.skyType());
+
+		// 범위 안의 구간은 모두 추천, 범위 밖은 추천하지 않음(OpenAI)
+		if(covered != message.isPresent()) {
+			violations.add(b.key() + " : " + (covered ? "추천 없음" : "범위 밖인데 추천함"));
+			return;
+		}
+		if(message.isEmpty()) return;
+
+		String m = message.get();
+		// 프롬프트와 같은 형식(2줄, 각 최대 4개)
+		if(!FORMAT.matcher(m).matches()) violations.add(b.key() + " : 형식 위반 " + m);
+		// 비가 오면 우산
+		boolean wet = b.rain() > 0 || b.precipType().startsWith("RAIN") || b.precipType().startsWith("DRIZZLE");
+		if(wet && !m.contains("우산")) violations.add(b.key() + " : 우산 누락");
+		// 영하의 체감 온도에 반팔 추천 금지
+		if(OutfitRules.feelsLike(b.tempC(), b.windSpeedMs()) <= 0 && m.contains("반팔")) violations.add(b.key() + " : 영하에 반팔");
+	}
+
+	private static String[] append(String[] values, String value) {
+		String[] result = new String[values.length + 1];
+		System.arraycopy(values, 0, result, 0, values.length);
+		result[values.length] = value;
+		return result;
+	}
+}
\ No newline at end of file